@@ -0,0 +1,104 @@
+package com.progressoft.clustereddata_warehouse.jmh;
+
+import com.progressoft.clustereddata_warehouse.Service.implementation.CurrencyVerifierImpl;
+import com.progressoft.clustereddata_warehouse.config.CurrencyProperties;
+import com.progressoft.clustereddata_warehouse.utils.CurrencyFileLoaderImpl;
+import com.progressoft.clustereddata_warehouse.utils.CurrencyValidatorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Currency checks against the bundled currency list. {@code check} should cost the same and
+ * allocate nothing whether the pair passes or not; the {@code validate} rejects add a
+ * stack-trace-free exception whose message is only built when read. Codes are read from
+ * non-final state fields so the JIT cannot fold the checks into constants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyVerifierBenchmark {
+
+    private CurrencyVerifierImpl currencyVerifier;
+    private String usd = "USD";
+    private String eur = "EUR";
+    private String unknown = "ABC";
+    private String malformed = "usd";
+
+    @Setup
+    public void setUp() {
+        CurrencyValidatorImpl currencyValidator = new CurrencyValidatorImpl(
+                new CurrencyFileLoaderImpl(new CurrencyProperties(null, false)));
+        currencyVerifier = new CurrencyVerifierImpl(currencyValidator);
+    }
+
+    @Benchmark
+    public boolean validPair() {
+        try {
+            currencyVerifier.validate(usd, eur);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public void unknownCurrency(Blackhole blackhole) {
+        try {
+            currencyVerifier.validate(usd, unknown);
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void malformedCurrency(Blackhole blackhole) {
+        try {
+            currencyVerifier.validate(malformed, eur);
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void sameCurrency(Blackhole blackhole) {
+        try {
+            currencyVerifier.validate(usd, usd);
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public int checkValidPair() {
+        return currencyVerifier.check(usd, eur);
+    }
+
+    @Benchmark
+    public int checkUnknownCurrency() {
+        return currencyVerifier.check(usd, unknown);
+    }
+
+    @Benchmark
+    public int checkMalformedCurrency() {
+        return currencyVerifier.check(malformed, eur);
+    }
+
+    @Benchmark
+    public int checkSameCurrency() {
+        return currencyVerifier.check(usd, usd);
+    }
+}
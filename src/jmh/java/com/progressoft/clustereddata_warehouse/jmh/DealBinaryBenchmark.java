@@ -0,0 +1,84 @@
+package com.progressoft.clustereddata_warehouse.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.progressoft.clustereddata_warehouse.codec.DealBinaryDecoder;
+import com.progressoft.clustereddata_warehouse.codec.DealBinaryEncoder;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU and allocation per deal when decoding a batch body as JSON versus the binary format,
+ * both ending in the same {@link FxDealRequestDto}s. Run with {@code -prof gc} (the default for
+ * the jmh profile) to compare bytes allocated per deal as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(DealBinaryBenchmark.DEALS)
+public class DealBinaryBenchmark {
+
+    static final int DEALS = 1_000;
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CHF", "AUD"};
+
+    private ObjectReader jsonReader;
+    private byte[] json;
+    private ByteBuffer binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jsonReader = objectMapper.readerForListOf(FxDealRequestDto.class);
+
+        List<FxDealRequestDto> deals = new ArrayList<>(DEALS);
+        LocalDateTime timestamp = LocalDateTime.of(2025, 3, 14, 9, 30, 15, 123_456_000);
+        for (int i = 0; i < DEALS; i++) {
+            deals.add(new FxDealRequestDto("DEAL-2025-" + String.format("%06d", i), CURRENCIES[i % CURRENCIES.length],
+                    CURRENCIES[(i + 1) % CURRENCIES.length], timestamp.plusSeconds(i), 1_000 + i + 0.25));
+        }
+        json = objectMapper.writeValueAsBytes(deals);
+
+        binary = ByteBuffer.allocate(deals.stream().mapToInt(deal -> DealBinaryEncoder.encodedLength(deal.id())).sum());
+        for (FxDealRequestDto deal : deals) {
+            DealBinaryEncoder.encode(binary, deal.id(), deal.fromCurrency(), deal.toCurrency(),
+                    deal.dealTimestamp(), deal.dealAmount());
+        }
+        binary.flip();
+    }
+
+    @Benchmark
+    public List<FxDealRequestDto> json() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public void binary(Blackhole blackhole) {
+        DealBinaryDecoder decoder = new DealBinaryDecoder(binary);
+        while (decoder.hasNext()) {
+            blackhole.consume(decoder.next());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.progressoft.clustereddata_warehouse.jmh;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.progressoft.clustereddata_warehouse.controller.FxDealController;
+import com.progressoft.clustereddata_warehouse.controller.GlobalExceptionHandler;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.exception.ApiErrorResponse;
+import com.progressoft.clustereddata_warehouse.exception.CurrencyErrors;
+import com.progressoft.clustereddata_warehouse.exception.CurrencyException;
+import com.progressoft.clustereddata_warehouse.exception.DuplicateDealException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error response construction for the common rejections, with and without writing the body,
+ * since a rejected deal pays for both. Each rejection includes creating its exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler exceptionHandler;
+    private WebRequest webRequest;
+    private MethodArgumentNotValidException validationException;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        exceptionHandler = new GlobalExceptionHandler();
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/v1/deals"));
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(ApiErrorResponse.class);
+
+        FxDealRequestDto invalid = new FxDealRequestDto("", "USD", "EUR", LocalDateTime.now(), -5.0);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalid, "requestDto");
+        bindingResult.addError(new FieldError("requestDto", "id", "Deal ID is required and cannot be blank"));
+        bindingResult.addError(new FieldError("requestDto", "dealAmount", "Deal amount must be a positive number"));
+        MethodParameter parameter = new MethodParameter(
+                FxDealController.class.getMethod("saveDeal", FxDealRequestDto.class, String.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ApiErrorResponse duplicate() {
+        return exceptionHandler.handleDuplicateId(
+                new DuplicateDealException("A deal with ID 'DEAL-2025-000123' already exists."), webRequest);
+    }
+
+    @Benchmark
+    public byte[] duplicateWithBody() throws IOException {
+        return writer.writeValueAsBytes(duplicate());
+    }
+
+    @Benchmark
+    public ApiErrorResponse unknownCurrency() {
+        return exceptionHandler.handleCurrency(
+                CurrencyException.of(CurrencyErrors.TO_UNKNOWN, "USD", "ABC"), webRequest);
+    }
+
+    @Benchmark
+    public byte[] unknownCurrencyWithBody() throws IOException {
+        return writer.writeValueAsBytes(unknownCurrency());
+    }
+
+    @Benchmark
+    public ApiErrorResponse invalidCurrencyPair() {
+        return exceptionHandler.handleCurrency(CurrencyException.of(
+                CurrencyErrors.FROM_MALFORMED | CurrencyErrors.TO_MISSING, "usd", ""), webRequest);
+    }
+
+    @Benchmark
+    public ApiErrorResponse validation() {
+        return exceptionHandler.handleValidation(validationException, webRequest);
+    }
+
+    @Benchmark
+    public byte[] validationWithBody() throws IOException {
+        return writer.writeValueAsBytes(validation());
+    }
+}
@@ -0,0 +1,58 @@
+package com.progressoft.clustereddata_warehouse.jmh;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.entity.FxDeal;
+import com.progressoft.clustereddata_warehouse.mapper.FxDealMapper;
+import com.progressoft.clustereddata_warehouse.mapper.FxDealMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions, including the Double to BigDecimal round trip of the deal amount.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FxDealMapperBenchmark {
+
+    private FxDealMapper fxDealMapper;
+    private FxDealRequestDto request;
+    private FxDeal entity;
+
+    @Setup
+    public void setUp() {
+        fxDealMapper = new FxDealMapperImpl();
+        request = new FxDealRequestDto("DEAL-2025-000123", "USD", "EUR", LocalDateTime.of(2025, 3, 14, 9, 30), 1_234_567.89);
+        entity = fxDealMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public FxDeal toEntity() {
+        return fxDealMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public FxDealResponseDto toResponseDto() {
+        return fxDealMapper.toResponseDto(entity);
+    }
+
+    @Benchmark
+    public FxDealResponseDto roundTrip() {
+        return fxDealMapper.toResponseDto(fxDealMapper.toEntity(request));
+    }
+}
@@ -2,8 +2,10 @@ package com.progressoft.clustereddata_warehouse;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class ClusteredDataWarehouseApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,12 @@
+package com.progressoft.clustereddata_warehouse.Service.api;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionStatusDto;
+
+import java.util.Optional;
+
+public interface AsyncDealIngestionService {
+    DealIngestionStatusDto submit(FxDealRequestDto requestDto);
+
+    Optional<DealIngestionStatusDto> status(String trackingId);
+}
@@ -1,5 +1,24 @@
 package com.progressoft.clustereddata_warehouse.Service.api;
 
+import com.progressoft.clustereddata_warehouse.exception.CurrencyErrors;
+import com.progressoft.clustereddata_warehouse.exception.CurrencyException;
+
 public interface CurrencyVerifier {
-    void validate(String from, String to);
+
+    /**
+     * @return {@link CurrencyErrors} flags for every problem with the pair, or
+     *         {@link CurrencyErrors#NONE} when it is valid
+     */
+    int check(CharSequence from, CharSequence to);
+
+    /**
+     * @throws com.progressoft.clustereddata_warehouse.exception.InvalidCurrencyException when a code is malformed or both are the same
+     * @throws com.progressoft.clustereddata_warehouse.exception.UnknownCurrencyException when a code is not in the currency list
+     */
+    default void validate(CharSequence from, CharSequence to) {
+        int errors = check(from, to);
+        if (errors != CurrencyErrors.NONE) {
+            throw CurrencyException.of(errors, from, to);
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.progressoft.clustereddata_warehouse.Service.api;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+
+import java.util.function.Supplier;
+
+public interface DealIdempotencyService {
+
+    /**
+     * Runs {@code save} at most once per {@code idempotencyKey} within the configured TTL and
+     * answers later requests with the same key from the stored response. Concurrent requests
+     * with the same key wait for the one already running.
+     *
+     * @throws com.progressoft.clustereddata_warehouse.exception.IdempotencyKeyReuseException
+     *         when the key was already used for a different request
+     */
+    Outcome execute(String idempotencyKey, FxDealRequestDto request, Supplier<FxDealResponseDto> save);
+
+    /**
+     * @param replayed {@code true} when the response was stored by an earlier request
+     */
+    record Outcome(FxDealResponseDto response, boolean replayed) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.progressoft.clustereddata_warehouse.Service.api;
+
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.dto.request.VolumeGranularity;
+import com.progressoft.clustereddata_warehouse.dto.response.DealVolumeDto;
+
+import java.util.List;
+
+public interface DealVolumeService {
+
+    List<DealVolumeDto> find(VolumeGranularity granularity, DealSearchCriteria criteria);
+}
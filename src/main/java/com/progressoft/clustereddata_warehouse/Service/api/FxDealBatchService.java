@@ -0,0 +1,15 @@
+package com.progressoft.clustereddata_warehouse.Service.api;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+
+import java.util.List;
+
+public interface FxDealBatchService {
+    BatchDealResponseDto saveAll(List<FxDealRequestDto> requests);
+
+    /**
+     * Same as {@link #saveAll} for rows that already passed {@code DealRequestValidator}.
+     */
+    BatchDealResponseDto saveValidated(List<FxDealRequestDto> requests);
+}
@@ -0,0 +1,34 @@
+package com.progressoft.clustereddata_warehouse.Service.api;
+
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface FxDealExportService {
+
+    /**
+     * Validates the request and reserves one of the export slots, so a rejected export fails
+     * before the response is committed. The slot is released when the export is written, or by
+     * {@link DealExport#release()} when it never will be.
+     */
+    DealExport prepare(DealSearchCriteria criteria, DealFileFormat format);
+
+    interface DealExport {
+
+        /**
+         * Streams the matching deals to {@code out} and closes it.
+         *
+         * @return the number of deals written
+         */
+        long writeTo(OutputStream out) throws IOException;
+
+        /**
+         * Gives the slot back when {@link #writeTo} has not started, e.g. because the request
+         * timed out or failed before the export ran; {@code writeTo} then refuses to run. Has no
+         * effect once {@code writeTo} has started, which releases the slot itself.
+         */
+        void release();
+    }
+}
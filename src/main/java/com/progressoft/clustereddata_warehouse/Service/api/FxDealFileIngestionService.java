@@ -0,0 +1,13 @@
+package com.progressoft.clustereddata_warehouse.Service.api;
+
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionSummaryDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealRejectDto;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface FxDealFileIngestionService {
+    DealIngestionSummaryDto ingest(InputStream in, DealFileFormat format, Consumer<DealRejectDto> rejects) throws IOException;
+}
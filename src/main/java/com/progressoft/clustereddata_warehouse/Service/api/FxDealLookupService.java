@@ -0,0 +1,13 @@
+package com.progressoft.clustereddata_warehouse.Service.api;
+
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+
+public interface FxDealLookupService {
+
+    /**
+     * @throws com.progressoft.clustereddata_warehouse.exception.DealNotFoundException when no deal has the ID
+     */
+    FxDealResponseDto findById(String id);
+
+    void recordSaved(FxDealResponseDto deal);
+}
@@ -0,0 +1,9 @@
+package com.progressoft.clustereddata_warehouse.Service.api;
+
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.dto.response.DealPageDto;
+
+public interface FxDealQueryService {
+
+    DealPageDto find(DealSearchCriteria criteria, String cursor, Integer limit);
+}
@@ -0,0 +1,218 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.Service.api.AsyncDealIngestionService;
+import com.progressoft.clustereddata_warehouse.Service.api.CurrencyVerifier;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.config.AsyncIngestionProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionStatusDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeDto;
+import com.progressoft.clustereddata_warehouse.dto.response.IngestionState;
+import com.progressoft.clustereddata_warehouse.exception.IngestionQueueFullException;
+import com.progressoft.clustereddata_warehouse.journal.DealJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind ingestion: validated deals are queued and acknowledged immediately, and a
+ * small pool of writers commits them in groups, flushing when a group reaches
+ * {@code flushSize} or when its oldest deal has waited {@code flushInterval}. Each writer
+ * drains its own queue and deals are routed by ID hash, so every copy of an ID goes through
+ * the same writer and two groups committed at once never race on the same ID.
+ * <p>
+ * With {@code fx-deals.journal.enabled} the in-memory queue is replaced by the
+ * {@link DealJournal}: a deal is acknowledged only after it has been journaled, so it survives
+ * a crash, and the journal applier commits it instead of the writers.
+ */
+@Service
+@Slf4j
+public class AsyncDealIngestionServiceImpl implements AsyncDealIngestionService {
+
+    private final FxDealBatchService fxDealBatchService;
+    private final CurrencyVerifier currencyVerifier;
+    private final IngestionTracker ingestionTracker;
+    private final AsyncIngestionProperties properties;
+    private final DealJournal journal;
+    private final List<BlockingQueue<PendingDeal>> queues;
+    private final List<Thread> writers = new ArrayList<>();
+
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+    private volatile boolean stopped;
+
+    public AsyncDealIngestionServiceImpl(FxDealBatchService fxDealBatchService, CurrencyVerifier currencyVerifier,
+                                         IngestionTracker ingestionTracker, AsyncIngestionProperties properties,
+                                         DealJournal journal) {
+        this.fxDealBatchService = fxDealBatchService;
+        this.currencyVerifier = currencyVerifier;
+        this.ingestionTracker = ingestionTracker;
+        this.properties = properties;
+        this.journal = journal;
+        int partitionCapacity = Math.max(1, Math.ceilDiv(properties.queueCapacity(), properties.writerThreads()));
+        this.queues = new ArrayList<>(properties.writerThreads());
+        for (int i = 0; i < properties.writerThreads(); i++) {
+            queues.add(new ArrayBlockingQueue<>(partitionCapacity));
+        }
+    }
+
+    @PostConstruct
+    public void startWriters() {
+        if (journal.isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < properties.writerThreads(); i++) {
+            BlockingQueue<PendingDeal> queue = queues.get(i);
+            writers.add(Thread.ofPlatform().name("deal-writer-" + i).start(() -> drain(queue)));
+        }
+    }
+
+    @Override
+    public DealIngestionStatusDto submit(FxDealRequestDto requestDto) {
+        currencyVerifier.validate(requestDto.fromCurrency(), requestDto.toCurrency());
+
+        if (!accepting) {
+            throw new IngestionQueueFullException("Deal ingestion is shutting down", properties.retryAfterSeconds());
+        }
+        if (journal.isEnabled()) {
+            return journal(requestDto);
+        }
+        DealIngestionStatusDto status = ingestionTracker.track(requestDto.id());
+        if (!queueOf(requestDto.id()).offer(new PendingDeal(status.trackingId(), requestDto))) {
+            ingestionTracker.forget(status.trackingId());
+            log.warn("Async ingestion queue full, rejecting deal ID: {}", requestDto.id());
+            throw new IngestionQueueFullException("Deal ingestion queue is full", properties.retryAfterSeconds());
+        }
+        return status;
+    }
+
+    /**
+     * The journal is bounded by the same {@code queueCapacity} as the queue: deals the applier
+     * has not caught up with count against it. A corrupt journal takes no new deals.
+     */
+    private DealIngestionStatusDto journal(FxDealRequestDto requestDto) {
+        if (journal.corruption() != null) {
+            throw new IngestionQueueFullException("Deal journal is corrupt, async ingestion is paused",
+                    properties.retryAfterSeconds());
+        }
+        if (journal.pending() >= properties.queueCapacity()) {
+            log.warn("Deal journal backlog full, rejecting deal ID: {}", requestDto.id());
+            throw new IngestionQueueFullException("Deal ingestion queue is full", properties.retryAfterSeconds());
+        }
+        DealIngestionStatusDto status = ingestionTracker.track(requestDto.id());
+        try {
+            journal.append(status.trackingId(), requestDto);
+        } catch (RuntimeException e) {
+            ingestionTracker.forget(status.trackingId());
+            throw e;
+        }
+        return status;
+    }
+
+    @Override
+    public Optional<DealIngestionStatusDto> status(String trackingId) {
+        return ingestionTracker.find(trackingId);
+    }
+
+    private BlockingQueue<PendingDeal> queueOf(String dealId) {
+        return queues.get(Math.floorMod(dealId.hashCode(), queues.size()));
+    }
+
+    /**
+     * Commits the writer's queue in groups until shutdown has drained it. A writer interrupted
+     * because the shutdown deadline passed stops at once, without committing its partial group,
+     * since the datasource is about to close.
+     */
+    private void drain(BlockingQueue<PendingDeal> queue) {
+        int flushSize = properties.flushSize();
+        long flushIntervalNanos = properties.flushInterval().toNanos();
+        List<PendingDeal> group = new ArrayList<>(flushSize);
+        while (!stopped && (running || !queue.isEmpty())) {
+            try {
+                PendingDeal first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (group.size() < flushSize) {
+                    queue.drainTo(group, flushSize - group.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (group.size() >= flushSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingDeal next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!group.isEmpty() && !stopped) {
+                commit(group);
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingDeal> group) {
+        try {
+            BatchDealResponseDto result = fxDealBatchService.saveAll(group.stream().map(PendingDeal::deal).toList());
+            for (DealOutcomeDto outcome : result.results()) {
+                ingestionTracker.update(group.get(outcome.index()).trackingId(), stateOf(outcome), outcome.reason());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to commit group of {} async deals", group.size(), e);
+            group.forEach(pending -> ingestionTracker.update(pending.trackingId(), IngestionState.FAILED,
+                    e.getClass().getSimpleName() + ": " + e.getMessage()));
+        }
+    }
+
+    private static IngestionState stateOf(DealOutcomeDto outcome) {
+        return switch (outcome.status()) {
+            case ACCEPTED -> IngestionState.COMMITTED;
+            case DUPLICATE -> IngestionState.DUPLICATE;
+            case INVALID -> IngestionState.REJECTED;
+        };
+    }
+
+    /**
+     * Stops accepting new deals and lets the writers commit everything already queued before
+     * the datasource is closed. Writers still busy at {@code shutdownTimeout} are stopped after
+     * their current commit; deals left in memory are lost, which only the journal prevents.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        accepting = false;
+        running = false;
+        long deadline = System.nanoTime() + properties.shutdownTimeout().toNanos();
+        for (Thread writer : writers) {
+            writer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        stopped = true;
+        for (Thread writer : writers) {
+            writer.interrupt();
+        }
+        int left = queues.stream().mapToInt(BlockingQueue::size).sum();
+        if (left > 0) {
+            log.warn("Async ingestion stopped at the shutdown deadline with {} deals still queued; "
+                    + "enable fx-deals.journal to keep them across restarts", left);
+        } else {
+            log.info("Async ingestion drained");
+        }
+    }
+
+    private record PendingDeal(String trackingId, FxDealRequestDto deal) {
+    }
+}
@@ -1,56 +1,44 @@
 package com.progressoft.clustereddata_warehouse.Service.implementation;
 
 import com.progressoft.clustereddata_warehouse.Service.api.CurrencyVerifier;
-import com.progressoft.clustereddata_warehouse.exception.InvalidCurrencyException;
-import com.progressoft.clustereddata_warehouse.exception.UnknownCurrencyException;
+import com.progressoft.clustereddata_warehouse.utils.CurrencyCodes;
 import com.progressoft.clustereddata_warehouse.utils.CurrencyValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.regex.Pattern;
+import static com.progressoft.clustereddata_warehouse.exception.CurrencyErrors.*;
 
 @Service
 @RequiredArgsConstructor
 public class CurrencyVerifierImpl implements CurrencyVerifier {
 
     private final CurrencyValidator currencyValidator;
-    private static final String CURRENCY_REGEX = "^[A-Z]{3}$";
-    private static final Pattern CURRENCY_PATTERN = Pattern.compile(CURRENCY_REGEX);
 
+    /**
+     * Works on packed 15-bit codes: the format check, the "must differ" rule and the lookup
+     * are char and int comparisons, and nothing is allocated whether the pair passes or not.
+     * Both sides are always checked so every problem is reported; a code that is malformed is
+     * not also looked up, and a pair that is the same is looked up once.
+     */
     @Override
-    public void validate(String from, String to) {
-        validateFormat(from, "fromCurrency");
-        validateFormat(to, "toCurrency");
-        ensureDifferent(from, to);
-        verifyExistence(from);
-        verifyExistence(to);
-    }
-
-    private void validateFormat(String value, String fieldName) {
-        if (value == null || value.trim().isEmpty()) {
-            throw new InvalidCurrencyException(fieldName + " cannot be null or empty");
-        }
-
-        if (!CURRENCY_PATTERN.matcher(value).matches()) {
-            throw new InvalidCurrencyException(
-                    String.format("%s format is invalid: %s. Expected 3 uppercase letters", fieldName, value)
-            );
+    public int check(CharSequence from, CharSequence to) {
+        int fromCode = CurrencyCodes.pack(from);
+        int toCode = CurrencyCodes.pack(to);
+        int errors = NONE;
+
+        if (fromCode == CurrencyCodes.INVALID) {
+            errors |= CurrencyCodes.isBlank(from) ? FROM_MISSING : FROM_MALFORMED;
+        } else if (!currencyValidator.isValid(fromCode)) {
+            errors |= FROM_UNKNOWN;
         }
-    }
-
-    private void ensureDifferent(String from, String to) {
-        if (from.equalsIgnoreCase(to)) {
-            throw new InvalidCurrencyException(
-                    String.format("fromCurrency and toCurrency must differ: %s", from)
-            );
-        }
-    }
 
-    private void verifyExistence(String code) {
-        if (!currencyValidator.isValid(code.toUpperCase())) {
-            throw new UnknownCurrencyException(
-                    String.format("Currency not recognized: %s", code)
-            );
+        if (toCode == CurrencyCodes.INVALID) {
+            errors |= CurrencyCodes.isBlank(to) ? TO_MISSING : TO_MALFORMED;
+        } else if (toCode == fromCode) {
+            errors |= SAME_CURRENCY;
+        } else if (!currencyValidator.isValid(toCode)) {
+            errors |= TO_UNKNOWN;
         }
+        return errors;
     }
 }
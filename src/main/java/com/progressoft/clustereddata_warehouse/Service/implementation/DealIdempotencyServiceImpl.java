@@ -0,0 +1,139 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.DealIdempotencyService;
+import com.progressoft.clustereddata_warehouse.config.IdempotencyProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.exception.DuplicateDealException;
+import com.progressoft.clustereddata_warehouse.exception.IdempotencyKeyReuseException;
+import com.progressoft.clustereddata_warehouse.exception.InvalidIdempotencyKeyException;
+import com.progressoft.clustereddata_warehouse.repository.IdempotencyKeyRepository;
+import com.progressoft.clustereddata_warehouse.repository.IdempotencyKeyRepository.StoredResponse;
+import com.progressoft.clustereddata_warehouse.utils.BoundedTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Keeps recent responses in memory and, when {@code persistent} is set, in
+ * {@code idempotency_keys} as well. A key is bound to a SHA-256 of the request body, so reusing
+ * it for a different deal is rejected rather than answered with someone else's response.
+ * <p>
+ * Without the persistent tier a retry that arrives after its key was evicted is processed again
+ * and ends as a duplicate, as it did before keys were supported.
+ */
+@Service
+@Slf4j
+public class DealIdempotencyServiceImpl implements DealIdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository repository;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final BoundedTtlCache<String, Stored> cache;
+
+    public DealIdempotencyServiceImpl(IdempotencyKeyRepository repository, IdempotencyProperties properties,
+                                      ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.cache = new BoundedTtlCache<>(properties.ttl(), properties.maxEntries());
+    }
+
+    @Override
+    public Outcome execute(String idempotencyKey, FxDealRequestDto request, Supplier<FxDealResponseDto> save) {
+        if (!properties.enabled()) {
+            return new Outcome(save.get(), false);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+        String requestHash = hash(request);
+        boolean[] executed = new boolean[1];
+        Stored stored = cache.get(idempotencyKey, () -> load(idempotencyKey, requestHash, save, executed));
+        if (!stored.requestHash().equals(requestHash)) {
+            log.warn("Idempotency key {} reused for a different request (deal ID {})", idempotencyKey, request.id());
+            throw new IdempotencyKeyReuseException(
+                    "Idempotency-Key '" + idempotencyKey + "' was already used for a different request.");
+        }
+        if (!executed[0]) {
+            log.info("Replaying stored response for idempotency key {} (deal ID {})", idempotencyKey, stored.response().id());
+        }
+        return new Outcome(stored.response(), !executed[0]);
+    }
+
+    @Scheduled(initialDelayString = "${fx-deals.idempotency.purge-interval:1h}",
+            fixedDelayString = "${fx-deals.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        if (properties.enabled() && properties.persistent()) {
+            int purged = repository.purgeExpired();
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Stored load(String idempotencyKey, String requestHash, Supplier<FxDealResponseDto> save, boolean[] executed) {
+        if (!properties.persistent()) {
+            FxDealResponseDto response = save.get();
+            executed[0] = true;
+            return new Stored(requestHash, response);
+        }
+        Optional<Stored> persisted = findPersisted(idempotencyKey);
+        if (persisted.isPresent()) {
+            return persisted.get();
+        }
+
+        FxDealResponseDto response;
+        try {
+            response = save.get();
+        } catch (DuplicateDealException e) {
+            // Another instance may have saved the deal for this key and stored its response meanwhile.
+            return findPersisted(idempotencyKey).orElseThrow(() -> e);
+        }
+        executed[0] = true;
+        Stored stored = new Stored(requestHash, response);
+        try {
+            repository.save(idempotencyKey, new StoredResponse(requestHash, objectMapper.writeValueAsString(response)),
+                    properties.ttl());
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Could not persist response for idempotency key {}; it stays in memory only", idempotencyKey, e);
+        }
+        return stored;
+    }
+
+    private Optional<Stored> findPersisted(String idempotencyKey) {
+        try {
+            Optional<StoredResponse> found = repository.find(idempotencyKey);
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+            FxDealResponseDto response = objectMapper.readValue(found.get().responseJson(), FxDealResponseDto.class);
+            return Optional.of(new Stored(found.get().requestHash(), response));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable stored response for idempotency key {}", idempotencyKey, e);
+            return Optional.empty();
+        }
+    }
+
+    private String hash(FxDealRequestDto request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint deal request " + request.id(), e);
+        }
+    }
+
+    private record Stored(String requestHash, FxDealResponseDto response) {
+    }
+}
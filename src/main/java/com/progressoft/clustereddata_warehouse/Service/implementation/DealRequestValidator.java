@@ -0,0 +1,54 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.Service.api.CurrencyVerifier;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.exception.CurrencyErrors;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Row-level validation shared by the bulk ingestion paths, which report rejects per row
+ * instead of failing the request. Every problem with a row goes into its reason, and the
+ * currency check returns flags rather than throwing, so a reject costs about what an accept does.
+ */
+@Component
+public class DealRequestValidator {
+
+    private final Validator validator;
+    private final CurrencyVerifier currencyVerifier;
+
+    public DealRequestValidator(Validator validator, CurrencyVerifier currencyVerifier) {
+        this.validator = validator;
+        this.currencyVerifier = currencyVerifier;
+    }
+
+    /**
+     * @return the reason the row is rejected, or {@code null} when it is valid
+     */
+    public String validate(FxDealRequestDto request) {
+        if (request == null) {
+            return "Deal is required";
+        }
+
+        Set<ConstraintViolation<FxDealRequestDto>> violations = validator.validate(request);
+        int currencyErrors = currencyVerifier.check(request.fromCurrency(), request.toCurrency());
+        if (violations.isEmpty()) {
+            return currencyErrors == CurrencyErrors.NONE ? null
+                    : CurrencyErrors.describe(currencyErrors, request.fromCurrency(), request.toCurrency());
+        }
+
+        String reason = violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+        // Blank codes are already reported by @NotBlank.
+        currencyErrors &= ~CurrencyErrors.MISSING;
+        return currencyErrors == CurrencyErrors.NONE ? reason
+                : reason + "; " + CurrencyErrors.describe(currencyErrors, request.fromCurrency(), request.toCurrency());
+    }
+}
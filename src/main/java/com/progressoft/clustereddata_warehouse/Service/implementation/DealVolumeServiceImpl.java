@@ -0,0 +1,107 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.Service.api.DealVolumeService;
+import com.progressoft.clustereddata_warehouse.config.DealVolumeProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.dto.request.VolumeGranularity;
+import com.progressoft.clustereddata_warehouse.dto.response.DealVolumeDto;
+import com.progressoft.clustereddata_warehouse.exception.InvalidDealQueryException;
+import com.progressoft.clustereddata_warehouse.repository.DealVolumeRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardContext;
+import com.progressoft.clustereddata_warehouse.sharding.ShardMerge;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@Slf4j
+public class DealVolumeServiceImpl implements DealVolumeService {
+
+    static final long MAX_BUCKETS = 10_080;
+
+    private static final Comparator<DealVolumeDto> BUCKET_ORDER = Comparator.comparing(DealVolumeDto::bucketStart)
+            .thenComparing(DealVolumeDto::fromCurrency)
+            .thenComparing(DealVolumeDto::toCurrency);
+
+    private final DealVolumeRepository dealVolumeRepository;
+    private final DealVolumeProperties properties;
+    private final ShardRouter shardRouter;
+
+    public DealVolumeServiceImpl(DealVolumeRepository dealVolumeRepository, DealVolumeProperties properties,
+                                 ShardRouter shardRouter) {
+        this.dealVolumeRepository = dealVolumeRepository;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public List<DealVolumeDto> find(VolumeGranularity granularity, DealSearchCriteria criteria) {
+        if (criteria.from() == null || criteria.to() == null) {
+            throw new InvalidDealQueryException("from and to are required");
+        }
+        if (!criteria.from().isBefore(criteria.to())) {
+            throw new InvalidDealQueryException("from must be before to");
+        }
+        Duration range = Duration.between(criteria.from(), criteria.to());
+        if (range.dividedBy(granularity.length()) > MAX_BUCKETS) {
+            throw new InvalidDealQueryException("at most " + MAX_BUCKETS + " " + granularity.name().toLowerCase()
+                    + " buckets can be requested at once");
+        }
+        List<List<DealVolumeDto>> perShard = shardRouter.scatter(() -> dealVolumeRepository.find(granularity, criteria));
+        if (perShard.size() == 1) {
+            return perShard.getFirst();
+        }
+        return sumSameBuckets(ShardMerge.mergeSorted(perShard, BUCKET_ORDER, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Every shard reports its own share of a bucket; after the merge those shares are adjacent.
+     */
+    private static List<DealVolumeDto> sumSameBuckets(List<DealVolumeDto> merged) {
+        List<DealVolumeDto> summed = new ArrayList<>(merged.size());
+        for (DealVolumeDto volume : merged) {
+            DealVolumeDto last = summed.isEmpty() ? null : summed.getLast();
+            if (last != null && BUCKET_ORDER.compare(last, volume) == 0) {
+                summed.set(summed.size() - 1, new DealVolumeDto(last.bucketStart(), last.fromCurrency(),
+                        last.toCurrency(), last.dealCount() + volume.dealCount(),
+                        last.totalAmount().add(volume.totalAmount())));
+            } else {
+                summed.add(volume);
+            }
+        }
+        return summed;
+    }
+
+    /**
+     * Folds pending deltas until none are left, one batch per transaction, on each shard in turn.
+     */
+    @Scheduled(fixedDelayString = "${fx-deals.volumes.aggregate-interval:1s}")
+    public void aggregate() {
+        if (properties.enabled()) {
+            shardRouter.forEachShard(this::aggregateShard);
+        }
+    }
+
+    private void aggregateShard() {
+        try {
+            long folded = 0;
+            int drained;
+            do {
+                drained = dealVolumeRepository.aggregate(properties.aggregateBatchSize());
+                folded += drained;
+            } while (drained == properties.aggregateBatchSize());
+            if (folded > 0) {
+                log.debug("Folded {} volume deltas into the rollups", folded);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Volume rollup aggregation failed on shard {}, retrying on the next run", ShardContext.current(), e);
+        }
+    }
+}
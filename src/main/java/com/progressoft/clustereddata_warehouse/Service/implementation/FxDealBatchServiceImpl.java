@@ -0,0 +1,114 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeDto;
+import com.progressoft.clustereddata_warehouse.entity.FxDeal;
+import com.progressoft.clustereddata_warehouse.mapper.FxDealMapper;
+import com.progressoft.clustereddata_warehouse.repository.FxDealRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class FxDealBatchServiceImpl implements FxDealBatchService {
+
+    private final FxDealRepository fxDealRepository;
+    private final FxDealMapper fxDealMapper;
+    private final DealRequestValidator dealRequestValidator;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public FxDealBatchServiceImpl(FxDealRepository fxDealRepository, FxDealMapper fxDealMapper,
+                                  DealRequestValidator dealRequestValidator, ShardRouter shardRouter,
+                                  PlatformTransactionManager transactionManager) {
+        this.fxDealRepository = fxDealRepository;
+        this.fxDealMapper = fxDealMapper;
+        this.dealRequestValidator = dealRequestValidator;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public BatchDealResponseDto saveAll(List<FxDealRequestDto> requests) {
+        return save(requests, true);
+    }
+
+    @Override
+    public BatchDealResponseDto saveValidated(List<FxDealRequestDto> requests) {
+        return save(requests, false);
+    }
+
+    private BatchDealResponseDto save(List<FxDealRequestDto> requests, boolean validate) {
+        log.info("Processing FX deal batch of {} rows", requests.size());
+
+        DealOutcomeDto[] outcomes = new DealOutcomeDto[requests.size()];
+        List<List<Integer>> candidatesByShard = new ArrayList<>(shardRouter.shardCount());
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            candidatesByShard.add(new ArrayList<>());
+        }
+        Set<String> seenIds = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            FxDealRequestDto request = requests.get(i);
+            String reason = validate ? dealRequestValidator.validate(request) : null;
+            if (reason != null) {
+                outcomes[i] = DealOutcomeDto.invalid(i, request == null ? null : request.id(), reason);
+            } else if (!seenIds.add(request.id())) {
+                outcomes[i] = DealOutcomeDto.duplicate(i, request.id(), "Deal ID repeated within the batch");
+            } else {
+                candidatesByShard.get(shardRouter.shardOf(request.id())).add(i);
+            }
+        }
+
+        shardRouter.onEveryShard(shard -> transactionTemplate.execute(status -> {
+            persistCandidates(requests, candidatesByShard.get(shard), outcomes);
+            return null;
+        }));
+
+        BatchDealResponseDto response = BatchDealResponseDto.of(Arrays.asList(outcomes));
+        log.info("FX deal batch processed: accepted={}, duplicates={}, invalid={}",
+                response.accepted(), response.duplicates(), response.invalid());
+        return response;
+    }
+
+    /**
+     * Persists the rows of one shard; runs with that shard as the current one. The insert
+     * skips conflicting IDs, so an ID already stored, or written concurrently by another
+     * request, instance or loader, is reported as a duplicate instead of failing the shard's
+     * transaction. Outcomes are taken from the IDs the insert returned.
+     */
+    private void persistCandidates(List<FxDealRequestDto> requests, List<Integer> candidates, DealOutcomeDto[] outcomes) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        List<FxDeal> toPersist = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            toPersist.add(fxDealMapper.toEntity(requests.get(i)));
+        }
+
+        Set<String> insertedIds = fxDealRepository.insertAllIfAbsent(toPersist);
+        for (int i : candidates) {
+            String dealId = requests.get(i).id();
+            if (insertedIds.contains(dealId)) {
+                outcomes[i] = DealOutcomeDto.accepted(i, dealId);
+            } else {
+                outcomes[i] = alreadyExists(i, dealId);
+            }
+        }
+    }
+
+    private static DealOutcomeDto alreadyExists(int index, String dealId) {
+        return DealOutcomeDto.duplicate(index, dealId, "A deal with ID '" + dealId + "' already exists.");
+    }
+}
@@ -0,0 +1,106 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBulkLoadService;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionSummaryDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeStatus;
+import com.progressoft.clustereddata_warehouse.dto.response.DealRejectDto;
+import com.progressoft.clustereddata_warehouse.mapper.FxDealMapper;
+import com.progressoft.clustereddata_warehouse.repository.FxDealBulkLoader;
+import com.progressoft.clustereddata_warehouse.sharding.ShardContext;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import com.progressoft.clustereddata_warehouse.utils.DealRecordReader;
+import com.progressoft.clustereddata_warehouse.utils.ParsedDealRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+@Slf4j
+public class FxDealBulkLoadServiceImpl implements FxDealBulkLoadService {
+
+    private final FxDealBulkLoader fxDealBulkLoader;
+    private final FxDealMapper fxDealMapper;
+    private final DealRequestValidator dealRequestValidator;
+    private final ObjectMapper objectMapper;
+    private final ShardRouter shardRouter;
+
+    public FxDealBulkLoadServiceImpl(FxDealBulkLoader fxDealBulkLoader, FxDealMapper fxDealMapper,
+                                     DealRequestValidator dealRequestValidator, ObjectMapper objectMapper,
+                                     ShardRouter shardRouter) {
+        this.fxDealBulkLoader = fxDealBulkLoader;
+        this.fxDealMapper = fxDealMapper;
+        this.dealRequestValidator = dealRequestValidator;
+        this.objectMapper = objectMapper;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Streams into one COPY session per shard and merges the shards in parallel; each shard
+     * commits on its own, so a failure on one shard leaves the others' rows in place.
+     */
+    @Override
+    public DealIngestionSummaryDto load(InputStream in, DealFileFormat format, Consumer<DealRejectDto> rejects)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        long total = 0;
+        long invalid = 0;
+
+        List<FxDealBulkLoader.Session> sessions = new ArrayList<>(shardRouter.shardCount());
+        try (DealRecordReader reader = DealRecordReader.open(format, in, objectMapper)) {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                sessions.add(ShardContext.call(shard, fxDealBulkLoader::open));
+            }
+            ParsedDealRecord record;
+            while ((record = reader.next()) != null) {
+                total++;
+                String reason = record.isParsed() ? dealRequestValidator.validate(record.deal()) : record.error();
+                if (reason != null) {
+                    invalid++;
+                    rejects.accept(new DealRejectDto(record.lineNumber(),
+                            record.isParsed() ? record.deal().id() : null, DealOutcomeStatus.INVALID, reason));
+                    continue;
+                }
+                sessions.get(shardRouter.shardOf(record.deal().id())).add(fxDealMapper.toEntity(record.deal()));
+            }
+
+            FxDealBulkLoader.Result result = shardRouter.onEveryShard(shard -> finish(sessions.get(shard)))
+                    .stream()
+                    .reduce((a, b) -> new FxDealBulkLoader.Result(a.staged() + b.staged(), a.inserted() + b.inserted()))
+                    .orElseThrow();
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            log.info("FX deal bulk load finished: format={}, total={}, accepted={}, duplicates={}, invalid={}, elapsedMs={}",
+                    format, total, result.inserted(), result.duplicates(), invalid, elapsedMillis);
+            return new DealIngestionSummaryDto(total, result.inserted(), result.duplicates(), invalid, elapsedMillis);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk load failed: " + e.getMessage(), e);
+        } finally {
+            closeAll(sessions);
+        }
+    }
+
+    private FxDealBulkLoader.Result finish(FxDealBulkLoader.Session session) {
+        try {
+            return session.finish();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk load failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static void closeAll(List<FxDealBulkLoader.Session> sessions) {
+        for (FxDealBulkLoader.Session session : sessions) {
+            try {
+                session.close();
+            } catch (SQLException e) {
+                log.warn("Failed to release bulk load session", e);
+            }
+        }
+    }
+}
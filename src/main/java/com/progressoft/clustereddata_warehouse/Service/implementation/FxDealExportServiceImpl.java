@@ -0,0 +1,223 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealExportService;
+import com.progressoft.clustereddata_warehouse.config.ExportProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.exception.DatabaseBusyException;
+import com.progressoft.clustereddata_warehouse.exception.InvalidDealQueryException;
+import com.progressoft.clustereddata_warehouse.repository.FxDealQueryRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardMerge;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import com.progressoft.clustereddata_warehouse.utils.DealRecordWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exports run in a read-only transaction so the query is served from a server-side cursor and
+ * rows go from the JDBC result set straight to the response; nothing passes through the
+ * persistence context. With several shards each shard streams into a small bounded queue and
+ * the queues are merged in {@code (deal_timestamp, id)} order, so memory stays constant.
+ */
+@Service
+@Slf4j
+public class FxDealExportServiceImpl implements FxDealExportService {
+
+    private static final int SHARD_QUEUE_CAPACITY = 1024;
+    private static final Comparator<Row> ROW_ORDER = Comparator.comparing(Row::dealTimestamp).thenComparing(Row::id, ShardMerge.ID_ORDER);
+    private static final Row END = new Row(null, null, null, null, null);
+
+    private final FxDealQueryRepository fxDealQueryRepository;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties properties;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore slots;
+
+    public FxDealExportServiceImpl(FxDealQueryRepository fxDealQueryRepository, ObjectMapper objectMapper,
+                                   ExportProperties properties, ShardRouter shardRouter,
+                                   PlatformTransactionManager transactionManager) {
+        this.fxDealQueryRepository = fxDealQueryRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.slots = new Semaphore(properties.maxConcurrent());
+    }
+
+    @Override
+    public DealExport prepare(DealSearchCriteria criteria, DealFileFormat format) {
+        if (criteria.from() != null && criteria.to() != null && !criteria.from().isBefore(criteria.to())) {
+            throw new InvalidDealQueryException("from must be before to");
+        }
+        if (!slots.tryAcquire()) {
+            throw new DatabaseBusyException("Too many exports in progress, at most " + properties.maxConcurrent()
+                    + " run at once", properties.retryAfterSeconds());
+        }
+        return new SlotExport(criteria, format);
+    }
+
+    private long export(DealSearchCriteria criteria, DealFileFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        try (DealRecordWriter writer = DealRecordWriter.open(format, out, objectMapper)) {
+            long rows = shardRouter.shardCount() == 1
+                    ? transactionTemplate.execute(status -> fxDealQueryRepository.stream(criteria, writer))
+                    : mergeShards(criteria, writer);
+            log.info("Exported {} deals as {} in {} ms", rows, format, (System.nanoTime() - start) / 1_000_000);
+            return rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long mergeShards(DealSearchCriteria criteria, DealRecordWriter writer) throws IOException {
+        List<BlockingQueue<Row>> queues = new ArrayList<>(shardRouter.shardCount());
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            queues.add(new ArrayBlockingQueue<>(SHARD_QUEUE_CAPACITY));
+        }
+        List<Future<Long>> producers = shardRouter.submitToEveryShard(shard -> {
+            BlockingQueue<Row> queue = queues.get(shard);
+            try {
+                return transactionTemplate.execute(status ->
+                        fxDealQueryRepository.stream(criteria, new QueueingWriter(queue)));
+            } finally {
+                queue.offer(END);
+            }
+        });
+        try {
+            PriorityQueue<ShardHead> heads = new PriorityQueue<>(Comparator.comparing(ShardHead::row, ROW_ORDER));
+            for (int shard = 0; shard < queues.size(); shard++) {
+                advance(shard, queues, producers, heads);
+            }
+            long rows = 0;
+            while (!heads.isEmpty()) {
+                ShardHead head = heads.poll();
+                Row row = head.row();
+                writer.write(row.id(), row.fromCurrency(), row.toCurrency(), row.dealTimestamp(), row.dealAmount());
+                rows++;
+                advance(head.shard(), queues, producers, heads);
+            }
+            return rows;
+        } finally {
+            producers.forEach(producer -> producer.cancel(true));
+        }
+    }
+
+    /**
+     * Takes the shard's next row into {@code heads}; when the shard is done, surfaces its
+     * failure if it had one. A producer that fails while the queue is full cannot enqueue
+     * {@code END}, so the wait is bounded by checking the producer as well.
+     */
+    private static void advance(int shard, List<BlockingQueue<Row>> queues, List<Future<Long>> producers,
+                                PriorityQueue<ShardHead> heads) throws IOException {
+        try {
+            Row row;
+            while ((row = queues.get(shard).poll(100, TimeUnit.MILLISECONDS)) == null) {
+                if (producers.get(shard).isDone() && queues.get(shard).isEmpty()) {
+                    ShardRouter.await(producers.get(shard));
+                    return;
+                }
+            }
+            if (row == END) {
+                ShardRouter.await(producers.get(shard));
+                return;
+            }
+            heads.add(new ShardHead(shard, row));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while merging shard exports");
+        }
+    }
+
+    /**
+     * Holds one export slot from {@link #prepare} until the export has been written or released
+     * without running, whichever comes first.
+     */
+    private final class SlotExport implements DealExport {
+
+        private static final int RESERVED = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+
+        private final DealSearchCriteria criteria;
+        private final DealFileFormat format;
+        private final AtomicInteger state = new AtomicInteger(RESERVED);
+
+        private SlotExport(DealSearchCriteria criteria, DealFileFormat format) {
+            this.criteria = criteria;
+            this.format = format;
+        }
+
+        @Override
+        public long writeTo(OutputStream out) throws IOException {
+            if (!state.compareAndSet(RESERVED, RUNNING)) {
+                throw new InterruptedIOException("Export was released before it started");
+            }
+            try {
+                return export(criteria, format, out);
+            } finally {
+                state.set(DONE);
+                slots.release();
+            }
+        }
+
+        @Override
+        public void release() {
+            if (state.compareAndSet(RESERVED, DONE)) {
+                slots.release();
+            }
+        }
+    }
+
+    private record Row(String id, String fromCurrency, String toCurrency, LocalDateTime dealTimestamp,
+                       BigDecimal dealAmount) {
+    }
+
+    private record ShardHead(int shard, Row row) {
+    }
+
+    private static final class QueueingWriter extends DealRecordWriter {
+
+        private final BlockingQueue<Row> queue;
+
+        private QueueingWriter(BlockingQueue<Row> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void write(String id, String fromCurrency, String toCurrency, LocalDateTime dealTimestamp,
+                          BigDecimal dealAmount) throws IOException {
+            try {
+                queue.put(new Row(id, fromCurrency, toCurrency, dealTimestamp, dealAmount));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Export cancelled");
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealFileIngestionService;
+import com.progressoft.clustereddata_warehouse.config.IngestionProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionSummaryDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeStatus;
+import com.progressoft.clustereddata_warehouse.dto.response.DealRejectDto;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import com.progressoft.clustereddata_warehouse.utils.DealRecordReader;
+import com.progressoft.clustereddata_warehouse.utils.ParsedDealRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+@Service
+@Slf4j
+public class FxDealFileIngestionServiceImpl implements FxDealFileIngestionService {
+
+    private final FxDealBatchService fxDealBatchService;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor ingestionExecutor;
+    private final IngestionProperties properties;
+
+    public FxDealFileIngestionServiceImpl(FxDealBatchService fxDealBatchService, ObjectMapper objectMapper,
+                                          @Qualifier("ingestionExecutor") AsyncTaskExecutor ingestionExecutor, IngestionProperties properties) {
+        this.fxDealBatchService = fxDealBatchService;
+        this.objectMapper = objectMapper;
+        this.ingestionExecutor = ingestionExecutor;
+        this.properties = properties;
+    }
+
+    /**
+     * Parses the stream chunk by chunk and hands each full chunk to a writer thread while the
+     * next one is parsed, so reading the upload overlaps with persistence. At most
+     * {@code maxInFlightChunks} chunks are held at once, which keeps the heap flat whatever the
+     * file size.
+     */
+    @Override
+    public DealIngestionSummaryDto ingest(InputStream in, DealFileFormat format, Consumer<DealRejectDto> rejects)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        Summary summary = new Summary();
+        Deque<PendingChunk> inFlight = new ArrayDeque<>();
+
+        try (DealRecordReader reader = DealRecordReader.open(format, in, objectMapper)) {
+            Chunk chunk = new Chunk(properties.chunkSize());
+            ParsedDealRecord record;
+            while ((record = reader.next()) != null) {
+                summary.total++;
+                if (!record.isParsed()) {
+                    summary.invalid++;
+                    rejects.accept(new DealRejectDto(record.lineNumber(), null, DealOutcomeStatus.INVALID, record.error()));
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.isFull()) {
+                    submit(chunk, inFlight, summary, rejects);
+                    chunk = new Chunk(properties.chunkSize());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk, inFlight, summary, rejects);
+            }
+            while (!inFlight.isEmpty()) {
+                complete(inFlight.poll(), summary, rejects);
+            }
+        } finally {
+            inFlight.forEach(pending -> pending.result.cancel(false));
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("FX deal file ingested: format={}, total={}, accepted={}, duplicates={}, invalid={}, elapsedMs={}",
+                format, summary.total, summary.accepted, summary.duplicates, summary.invalid, elapsedMillis);
+        return new DealIngestionSummaryDto(summary.total, summary.accepted, summary.duplicates, summary.invalid,
+                elapsedMillis);
+    }
+
+    private void submit(Chunk chunk, Deque<PendingChunk> inFlight, Summary summary, Consumer<DealRejectDto> rejects) {
+        Future<BatchDealResponseDto> result = ingestionExecutor.submit(() -> fxDealBatchService.saveAll(chunk.deals));
+        inFlight.add(new PendingChunk(chunk, result));
+        while (inFlight.size() >= Math.max(1, properties.maxInFlightChunks())) {
+            complete(inFlight.poll(), summary, rejects);
+        }
+    }
+
+    private void complete(PendingChunk pending, Summary summary, Consumer<DealRejectDto> rejects) {
+        BatchDealResponseDto result = await(pending.result);
+        summary.accepted += result.accepted();
+        summary.duplicates += result.duplicates();
+        summary.invalid += result.invalid();
+        for (DealOutcomeDto outcome : result.results()) {
+            if (outcome.status() != DealOutcomeStatus.ACCEPTED) {
+                rejects.accept(new DealRejectDto(pending.chunk.lineNumbers[outcome.index()], outcome.id(),
+                        outcome.status(), outcome.reason()));
+            }
+        }
+    }
+
+    private static BatchDealResponseDto await(Future<BatchDealResponseDto> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while persisting deal chunk", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to persist deal chunk", e.getCause());
+        }
+    }
+
+    private static final class Chunk {
+        private final List<FxDealRequestDto> deals;
+        private final long[] lineNumbers;
+
+        private Chunk(int capacity) {
+            this.deals = new ArrayList<>(capacity);
+            this.lineNumbers = new long[capacity];
+        }
+
+        private void add(ParsedDealRecord record) {
+            lineNumbers[deals.size()] = record.lineNumber();
+            deals.add(record.deal());
+        }
+
+        private boolean isFull() {
+            return deals.size() == lineNumbers.length;
+        }
+
+        private boolean isEmpty() {
+            return deals.isEmpty();
+        }
+    }
+
+    private record PendingChunk(Chunk chunk, Future<BatchDealResponseDto> result) {
+    }
+
+    private static final class Summary {
+        private long total;
+        private long accepted;
+        private long duplicates;
+        private long invalid;
+    }
+}
@@ -0,0 +1,109 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealLookupService;
+import com.progressoft.clustereddata_warehouse.codec.CompactDealCodec;
+import com.progressoft.clustereddata_warehouse.config.DealCacheProperties;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.exception.DealNotFoundException;
+import com.progressoft.clustereddata_warehouse.repository.FxDealQueryRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import com.progressoft.clustereddata_warehouse.utils.BoundedTtlCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+/**
+ * Read-through cache of deals by ID. Concurrent misses for one ID share a single query, and IDs
+ * that are not found are remembered for {@code negative-ttl} so repeated lookups of an unknown
+ * deal stay off the database. Deals saved through the single-deal path are cached as they are
+ * inserted, which also lifts any not-found entry for their ID since a not-found answer is only
+ * given while the deal cache holds nothing for it. With {@code compact} the cache holds {@link CompactDealCodec} arrays instead of DTOs.
+ * <p>
+ * Both caches publish {@code cache.gets}, {@code cache.evictions} and {@code cache.size},
+ * tagged {@code cache=deals} and {@code cache=deals.not-found}.
+ */
+@Service
+public class FxDealLookupServiceImpl implements FxDealLookupService {
+
+    private final FxDealQueryRepository fxDealQueryRepository;
+    private final ShardRouter shardRouter;
+    private final DealCacheProperties properties;
+    private final BoundedTtlCache<String, Object> deals;
+    private final BoundedTtlCache<String, Boolean> notFound;
+
+    public FxDealLookupServiceImpl(FxDealQueryRepository fxDealQueryRepository, ShardRouter shardRouter,
+                                   DealCacheProperties properties, MeterRegistry meterRegistry) {
+        this.fxDealQueryRepository = fxDealQueryRepository;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.deals = new BoundedTtlCache<>(properties.ttl(), properties.maxEntries());
+        this.notFound = new BoundedTtlCache<>(properties.negativeTtl(), properties.maxNegativeEntries());
+        if (properties.enabled()) {
+            bind(meterRegistry, "deals", deals);
+            bind(meterRegistry, "deals.not-found", notFound);
+        }
+    }
+
+    @Override
+    public FxDealResponseDto findById(String id) {
+        if (!properties.enabled()) {
+            return load(id);
+        }
+        // Answered before touching the deal cache, so a known 404 leaves no loading entry behind;
+        // a deal saved since the ID was recorded as missing still wins
+        if (notFound.getIfPresent(id) != null && deals.peek(id) == null) {
+            throw notFound(id);
+        }
+        return unpack(id, deals.get(id, () -> {
+            try {
+                return pack(load(id));
+            } catch (DealNotFoundException e) {
+                notFound.put(id, Boolean.TRUE);
+                throw e;
+            }
+        }));
+    }
+
+    @Override
+    public void recordSaved(FxDealResponseDto deal) {
+        if (properties.enabled()) {
+            deals.put(deal.id(), pack(deal));
+        }
+    }
+
+    private FxDealResponseDto load(String id) {
+        return shardRouter.onShard(id, () -> fxDealQueryRepository.findById(id)).orElseThrow(() -> notFound(id));
+    }
+
+    private Object pack(FxDealResponseDto deal) {
+        if (!properties.compact()) {
+            return deal;
+        }
+        byte[] encoded = CompactDealCodec.encode(deal);
+        return encoded != null ? encoded : deal;
+    }
+
+    private static FxDealResponseDto unpack(String id, Object value) {
+        return value instanceof byte[] encoded ? CompactDealCodec.decode(id, encoded) : (FxDealResponseDto) value;
+    }
+
+    private static DealNotFoundException notFound(String id) {
+        return new DealNotFoundException("No deal with ID '" + id + "' exists.");
+    }
+
+    private static void bind(MeterRegistry meterRegistry, String name, BoundedTtlCache<?, ?> cache) {
+        FunctionCounter.builder("cache.gets", cache, BoundedTtlCache::hits)
+                .tags("cache", name, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", cache, BoundedTtlCache::misses)
+                .tags("cache", name, "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", cache, BoundedTtlCache::evictions)
+                .tags("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", cache, BoundedTtlCache::size)
+                .tags("cache", name)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,91 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealQueryService;
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.dto.response.DealPageDto;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.exception.InvalidDealQueryException;
+import com.progressoft.clustereddata_warehouse.repository.FxDealQueryRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardMerge;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+public class FxDealQueryServiceImpl implements FxDealQueryService {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private static final char CURSOR_SEPARATOR = '|';
+    private static final Comparator<FxDealResponseDto> PAGE_ORDER =
+            Comparator.comparing(FxDealResponseDto::dealTimestamp).thenComparing(FxDealResponseDto::id, ShardMerge.ID_ORDER);
+
+    private final FxDealQueryRepository fxDealQueryRepository;
+    private final ShardRouter shardRouter;
+
+    public FxDealQueryServiceImpl(FxDealQueryRepository fxDealQueryRepository, ShardRouter shardRouter) {
+        this.fxDealQueryRepository = fxDealQueryRepository;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * The cursor is the {@code (dealTimestamp, id)} of the last deal returned, encoded as
+     * opaque URL-safe Base64. One extra row is fetched to tell whether a next page exists.
+     * Every shard is asked for a full page after the cursor and the pages are merged, so the
+     * cursor stays valid whichever shard its deal lives on.
+     */
+    @Override
+    public DealPageDto find(DealSearchCriteria criteria, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new InvalidDealQueryException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (criteria.from() != null && criteria.to() != null && !criteria.from().isBefore(criteria.to())) {
+            throw new InvalidDealQueryException("from must be before to");
+        }
+
+        LocalDateTime afterTimestamp = null;
+        String afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String decoded = decode(cursor);
+            int separator = decoded.indexOf(CURSOR_SEPARATOR);
+            try {
+                afterTimestamp = LocalDateTime.parse(decoded.substring(0, Math.max(separator, 0)));
+            } catch (DateTimeParseException e) {
+                throw new InvalidDealQueryException("Invalid cursor");
+            }
+            afterId = decoded.substring(separator + 1);
+        }
+
+        LocalDateTime seekTimestamp = afterTimestamp;
+        String seekId = afterId;
+        List<FxDealResponseDto> rows = ShardMerge.mergeSorted(
+                shardRouter.scatter(() -> fxDealQueryRepository.findPage(criteria, seekTimestamp, seekId, pageSize + 1)),
+                PAGE_ORDER, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new DealPageDto(rows, null);
+        }
+        List<FxDealResponseDto> page = rows.subList(0, pageSize);
+        return new DealPageDto(List.copyOf(page), encode(page.getLast()));
+    }
+
+    static String encode(FxDealResponseDto last) {
+        String position = last.dealTimestamp().toString() + CURSOR_SEPARATOR + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDealQueryException("Invalid cursor");
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package com.progressoft.clustereddata_warehouse.Service.implementation;
 
 import com.progressoft.clustereddata_warehouse.Service.api.CurrencyVerifier;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealLookupService;
 import com.progressoft.clustereddata_warehouse.Service.api.FxDealService;
+import com.progressoft.clustereddata_warehouse.admission.AdmissionLatency;
 import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
 import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
 import com.progressoft.clustereddata_warehouse.entity.FxDeal;
 import com.progressoft.clustereddata_warehouse.exception.DuplicateDealException;
+import com.progressoft.clustereddata_warehouse.exception.InvalidCurrencyException;
+import com.progressoft.clustereddata_warehouse.exception.UnknownCurrencyException;
 import com.progressoft.clustereddata_warehouse.mapper.FxDealMapper;
+import com.progressoft.clustereddata_warehouse.metrics.DealMetrics;
+import com.progressoft.clustereddata_warehouse.metrics.DealOutcome;
+import com.progressoft.clustereddata_warehouse.metrics.DealStage;
 import com.progressoft.clustereddata_warehouse.repository.FxDealRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Slf4j
@@ -18,11 +28,21 @@ public class FxDealServiceImpl implements FxDealService {
     private final FxDealRepository fxDealRepository;
     private final FxDealMapper fxDealMapper;
     private final CurrencyVerifier currencyVerifier;
+    private final DealMetrics dealMetrics;
+    private final ShardRouter shardRouter;
+    private final FxDealLookupService fxDealLookupService;
+    private final TransactionTemplate transactionTemplate;
 
-    public FxDealServiceImpl(FxDealRepository fxDealRepository, FxDealMapper fxDealMapper, CurrencyVerifier currencyVerifier) {
+    public FxDealServiceImpl(FxDealRepository fxDealRepository, FxDealMapper fxDealMapper, CurrencyVerifier currencyVerifier,
+                             DealMetrics dealMetrics, ShardRouter shardRouter,
+                             FxDealLookupService fxDealLookupService, PlatformTransactionManager transactionManager) {
         this.fxDealRepository = fxDealRepository;
         this.fxDealMapper = fxDealMapper;
         this.currencyVerifier = currencyVerifier;
+        this.dealMetrics = dealMetrics;
+        this.shardRouter = shardRouter;
+        this.fxDealLookupService = fxDealLookupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -30,19 +50,56 @@ public class FxDealServiceImpl implements FxDealService {
         log.info("Processing FX deal request: ID={}, From={}, To={}, Amount={}",
                 requestDto.id(), requestDto.fromCurrency(), requestDto.toCurrency(), requestDto.dealAmount());
 
+        try {
+            FxDealResponseDto response = saveTimed(requestDto);
+            dealMetrics.outcome(DealOutcome.CREATED, requestDto.fromCurrency(), requestDto.toCurrency());
+            return response;
+        } catch (RuntimeException e) {
+            dealMetrics.outcome(outcomeOf(e), requestDto.fromCurrency(), requestDto.toCurrency());
+            throw e;
+        }
+    }
+
+    private FxDealResponseDto saveTimed(FxDealRequestDto requestDto) {
+        long start = System.nanoTime();
         currencyVerifier.validate(requestDto.fromCurrency(), requestDto.toCurrency());
+        long validated = dealMetrics.record(DealStage.CURRENCY, start);
 
-        String dealId = requestDto.id();
+        FxDeal entityToSave = fxDealMapper.toEntity(requestDto);
+        long mapped = dealMetrics.record(DealStage.MAPPING, validated);
+
+        InsertResult result = shardRouter.onShard(entityToSave.getId(), () -> transactionTemplate.execute(status -> {
+            long began = dealMetrics.record(DealStage.CONNECTION, mapped);
+            boolean inserted = fxDealRepository.insertIfAbsent(entityToSave);
+            return new InsertResult(inserted, dealMetrics.record(DealStage.INSERT, began));
+        }));
+        long committed = dealMetrics.record(DealStage.COMMIT, result.endNanos());
+        AdmissionLatency.record(committed - mapped);
 
-        if (fxDealRepository.existsById(dealId)) {
-            log.warn("Duplicate deal ID detected: {}", dealId);
-            throw new DuplicateDealException("A deal with ID '" + dealId + "' already exists.");
+        if (!result.inserted()) {
+            log.warn("Duplicate deal ID detected: {}", entityToSave.getId());
+            throw new DuplicateDealException("A deal with ID '" + entityToSave.getId() + "' already exists.");
         }
 
-        FxDeal entityToSave = fxDealMapper.toEntity(requestDto);
-        FxDeal savedEntity = fxDealRepository.save(entityToSave);
+        log.info("Successfully saved FX deal with ID: {}", entityToSave.getId());
+        FxDealResponseDto response = fxDealMapper.toResponseDto(entityToSave);
+        fxDealLookupService.recordSaved(response);
+        return response;
+    }
+
+    private static DealOutcome outcomeOf(RuntimeException e) {
+        if (e instanceof DuplicateDealException) {
+            return DealOutcome.DUPLICATE;
+        }
+        if (e instanceof InvalidCurrencyException) {
+            return DealOutcome.INVALID_CURRENCY;
+        }
+        if (e instanceof UnknownCurrencyException) {
+            return DealOutcome.UNKNOWN_CURRENCY;
+        }
+        return DealOutcome.ERROR;
+    }
 
-        log.info("Successfully saved FX deal with ID: {}", savedEntity.getId());
-        return fxDealMapper.toResponseDto(savedEntity);
+    private record InsertResult(boolean inserted, long endNanos) {
     }
 }
@@ -0,0 +1,60 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.config.AsyncIngestionProperties;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionStatusDto;
+import com.progressoft.clustereddata_warehouse.dto.response.IngestionState;
+import com.progressoft.clustereddata_warehouse.utils.BoundedTtlCache;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Status of asynchronously accepted deals by tracking ID. Each status is kept for
+ * {@code fx-deals.async.status-retention} after its last change so clients can poll for the
+ * outcome, and at most {@code fx-deals.async.max-statuses} are kept, oldest dropped first.
+ */
+@Component
+public class IngestionTracker {
+
+    private final BoundedTtlCache<String, DealIngestionStatusDto> statuses;
+
+    public IngestionTracker(AsyncIngestionProperties properties) {
+        this.statuses = new BoundedTtlCache<>(properties.statusRetention(), properties.maxStatuses());
+    }
+
+    public DealIngestionStatusDto track(String dealId) {
+        return track(UUID.randomUUID().toString(), dealId);
+    }
+
+    public DealIngestionStatusDto track(String trackingId, String dealId) {
+        DealIngestionStatusDto status = new DealIngestionStatusDto(trackingId, dealId, IngestionState.QUEUED, null,
+                Instant.now());
+        statuses.put(status.trackingId(), status);
+        return status;
+    }
+
+    /**
+     * Only the writer that owns a tracking ID updates it, so reading and replacing the status
+     * need not be atomic.
+     */
+    public void update(String trackingId, IngestionState state, String reason) {
+        DealIngestionStatusDto status = statuses.peek(trackingId);
+        if (status != null) {
+            statuses.put(trackingId, status.withState(state, reason));
+        }
+    }
+
+    public void forget(String trackingId) {
+        statuses.invalidate(trackingId);
+    }
+
+    public Optional<DealIngestionStatusDto> find(String trackingId) {
+        return Optional.ofNullable(statuses.peek(trackingId));
+    }
+
+    int size() {
+        return statuses.size();
+    }
+}
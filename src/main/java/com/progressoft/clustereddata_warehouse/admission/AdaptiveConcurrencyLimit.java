@@ -0,0 +1,95 @@
+package com.progressoft.clustereddata_warehouse.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Additive-increase, multiplicative-decrease limit on requests in flight. Every request that
+ * finishes within {@code targetLatency} counts towards raising the limit by one, which takes
+ * a full limit's worth of them; a slower or overloaded one cuts it by {@code backoffRatio}, at
+ * most once per {@code targetLatency} so a burst of slow completions counts as one signal.
+ * The state is a handful of atomics and a striped success counter; nothing blocks.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    /**
+     * Latency to pass to {@link #release} for a request that never reached the database, such
+     * as one rejected during validation: it frees its slot without moving the limit.
+     */
+    public static final long NO_SAMPLE = -1;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final LongAdder successes = new LongAdder();
+    private final AtomicLong lastBackoff;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos,
+                                    double backoffRatio, long nowNanos) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit
+                || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException(
+                    "Limits must satisfy 0 < min <= initial <= max and backoffRatio must be in (0, 1)");
+        }
+        this.limit = new AtomicInteger(initialLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.lastBackoff = new AtomicLong(nowNanos - targetLatencyNanos);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param latencyNanos time the request spent on the database, or {@link #NO_SAMPLE}
+     * @param overloaded   the request failed because a downstream resource was exhausted
+     */
+    public void release(long latencyNanos, boolean overloaded, long nowNanos) {
+        inFlight.decrementAndGet();
+        if (overloaded || latencyNanos > targetLatencyNanos) {
+            backOff(nowNanos);
+            return;
+        }
+        if (latencyNanos < 0) {
+            return;
+        }
+        successes.increment();
+        int current = limit.get();
+        if (current < maxLimit && successes.sum() >= current) {
+            successes.reset();
+            limit.compareAndSet(current, current + 1);
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void backOff(long nowNanos) {
+        long last = lastBackoff.get();
+        if (nowNanos - last < targetLatencyNanos || !lastBackoff.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        successes.reset();
+        limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+    }
+}
@@ -0,0 +1,149 @@
+package com.progressoft.clustereddata_warehouse.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.config.AdmissionProperties;
+import com.progressoft.clustereddata_warehouse.exception.ApiErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Sheds ingest requests before the body is read. Every {@code POST} under
+ * {@code /api/v1/deals} spends a token from its API key's bucket and gets a {@code 429} when
+ * the bucket is empty; synchronous single-deal requests must also fit under the adaptive
+ * concurrency limit, which follows their database latency (see {@link AdmissionLatency}) and
+ * answers {@code 503} when full. Batch, upload and bulk requests are already bounded per
+ * chunk by {@code fx-deals.db-limiter}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "fx-deals.admission", name = "enabled", havingValue = "true")
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    static final String DEALS_PATH = "/api/v1/deals";
+    static final String ANONYMOUS_CLIENT = "anonymous";
+
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Counter rateLimited;
+    private final Counter concurrencyLimited;
+
+    public AdmissionFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.rateLimiter = new ClientRateLimiter(properties.ratePerSecond(), properties.burst(), properties.maxClients());
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(properties.initialLimit(), properties.minLimit(),
+                properties.maxLimit(), properties.targetLatency().toNanos(), properties.backoffRatio(), System.nanoTime());
+        this.rateLimited = rejections(meterRegistry, "rate");
+        this.concurrencyLimited = rejections(meterRegistry, "concurrency");
+        Gauge.builder("fxdeals.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+                .description("Current concurrency limit for single-deal requests")
+                .register(meterRegistry);
+        Gauge.builder("fxdeals.admission.inflight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Single-deal requests currently admitted")
+                .register(meterRegistry);
+        Gauge.builder("fxdeals.admission.clients", rateLimiter, ClientRateLimiter::trackedClients)
+                .description("API keys with a partially spent rate limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !pathOf(request).startsWith(DEALS_PATH);
+    }
+
+    /**
+     * The concurrency slot is taken before the rate-limit token, so a request shed with
+     * {@code 503} keeps its token; one refused with {@code 429} gives its slot straight back.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean limited = isConcurrencyLimited(request);
+        if (limited && !concurrencyLimit.tryAcquire()) {
+            concurrencyLimited.increment();
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Ingestion Overloaded",
+                    "Too many deals in progress, limit is " + concurrencyLimit.limit() + ".",
+                    properties.retryAfterSeconds());
+            return;
+        }
+        long waitNanos = rateLimiter.tryAcquire(clientOf(request), System.nanoTime());
+        if (waitNanos > 0) {
+            if (limited) {
+                concurrencyLimit.release(AdaptiveConcurrencyLimit.NO_SAMPLE, false, System.nanoTime());
+            }
+            rateLimited.increment();
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "Rate Limited",
+                    "Request rate for this API key exceeds " + properties.ratePerSecond() + " per second.",
+                    (int) Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L));
+            return;
+        }
+
+        if (!limited) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long[] databaseNanos = AdmissionLatency.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            AdmissionLatency.close();
+            concurrencyLimit.release(databaseNanos[0], response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    System.nanoTime());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT1M")
+    public void evictIdleClients() {
+        rateLimiter.evictIdle(System.nanoTime());
+    }
+
+    /**
+     * Reads the query string rather than {@code getParameter}, which would consume a form body.
+     */
+    private static boolean isConcurrencyLimited(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return pathOf(request).equals(DEALS_PATH) && (query == null || !("&" + query + "&").contains("&async=true&"));
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.apiKeyHeader());
+        return apiKey == null || apiKey.isBlank() ? ANONYMOUS_CLIENT : apiKey;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String title,
+                        String message, int retryAfterSeconds) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiErrorResponse(status.value(), LocalDateTime.now(),
+                title, "uri=" + request.getRequestURI(), message));
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("fxdeals.admission.rejected")
+                .description("Ingest requests shed before reading the body")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
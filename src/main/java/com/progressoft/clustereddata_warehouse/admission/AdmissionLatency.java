@@ -0,0 +1,36 @@
+package com.progressoft.clustereddata_warehouse.admission;
+
+/**
+ * Carries how long the current single-deal request spent on the database, from acquiring a
+ * connection to the end of the commit, back to {@link AdmissionFilter}. The concurrency limit
+ * adapts to that time rather than to the whole request, which also includes reading the
+ * body and so would let one slow uploader push every request over the target latency.
+ */
+public final class AdmissionLatency {
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private AdmissionLatency() {
+    }
+
+    /**
+     * Records the database time of the request admitted on this thread; does nothing when the
+     * caller was not admitted through {@link AdmissionFilter}.
+     */
+    public static void record(long nanos) {
+        long[] slot = CURRENT.get();
+        if (slot != null) {
+            slot[0] = nanos;
+        }
+    }
+
+    static long[] open() {
+        long[] slot = {AdaptiveConcurrencyLimit.NO_SAMPLE};
+        CURRENT.set(slot);
+        return slot;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+}
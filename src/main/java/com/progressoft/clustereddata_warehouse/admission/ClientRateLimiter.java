@@ -0,0 +1,68 @@
+package com.progressoft.clustereddata_warehouse.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets using the generic cell rate algorithm: each client is a single
+ * "theoretical arrival time" updated with compare-and-set, so admitting a request never
+ * locks and clients never contend with each other. A client whose arrival time has passed
+ * holds a full bucket and is indistinguishable from one never seen, which is what lets idle
+ * clients be dropped.
+ */
+public class ClientRateLimiter {
+
+    static final String OVERFLOW_CLIENT = "";
+
+    private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxClients;
+
+    public ClientRateLimiter(double ratePerSecond, int burst, int maxClients) {
+        if (ratePerSecond <= 0 || burst <= 0 || maxClients <= 0) {
+            throw new IllegalArgumentException("ratePerSecond, burst and maxClients must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * @return {@code 0} when the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String client, long nowNanos) {
+        AtomicLong arrival = bucket(client, nowNanos);
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long allowedAt = next - burstNanos;
+            if (allowedAt - nowNanos > 0) {
+                return allowedAt - nowNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Forgets clients whose bucket has refilled completely.
+     */
+    public void evictIdle(long nowNanos) {
+        arrivals.values().removeIf(arrival -> arrival.get() - nowNanos <= 0);
+    }
+
+    public int trackedClients() {
+        return arrivals.size();
+    }
+
+    private AtomicLong bucket(String client, long nowNanos) {
+        AtomicLong arrival = arrivals.get(client);
+        if (arrival != null) {
+            return arrival;
+        }
+        String key = arrivals.size() < maxClients ? client : OVERFLOW_CLIENT;
+        return arrivals.computeIfAbsent(key, ignored -> new AtomicLong(nowNanos));
+    }
+}
@@ -0,0 +1,54 @@
+package com.progressoft.clustereddata_warehouse.codec;
+
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.utils.CurrencyCodes;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Packs a stored deal, minus its ID, into {@value #BYTES} bytes for in-memory caching: both
+ * currencies in one int, the timestamp as epoch seconds and nanos, and the amount's raw double
+ * bits, so decoding gives back exactly the same values. A cached DTO holds a record, a
+ * {@link LocalDateTime} with its date and time, a boxed amount and often two currency strings;
+ * the array is a fraction of that, and decoding reuses one string per currency.
+ */
+public final class CompactDealCodec {
+
+    public static final int BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    private CompactDealCodec() {
+    }
+
+    /**
+     * @return the encoded deal, or {@code null} when a field is missing or a currency is not
+     * three letters A-Z
+     */
+    public static byte[] encode(FxDealResponseDto deal) {
+        int from = CurrencyCodes.pack(deal.fromCurrency());
+        int to = CurrencyCodes.pack(deal.toCurrency());
+        if (from == CurrencyCodes.INVALID || to == CurrencyCodes.INVALID
+                || deal.dealTimestamp() == null || deal.dealAmount() == null) {
+            return null;
+        }
+        byte[] bytes = new byte[BYTES];
+        ByteBuffer.wrap(bytes)
+                .putInt(from << 15 | to)
+                .putLong(deal.dealTimestamp().toEpochSecond(ZoneOffset.UTC))
+                .putInt(deal.dealTimestamp().getNano())
+                .putLong(Double.doubleToRawLongBits(deal.dealAmount()));
+        return bytes;
+    }
+
+    public static FxDealResponseDto decode(String id, byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int currencies = buffer.getInt();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        return new FxDealResponseDto(id,
+                CurrencyCodes.canonical(currencies >>> 15),
+                CurrencyCodes.canonical(currencies & (CurrencyCodes.CODE_SPACE - 1)),
+                timestamp,
+                Double.longBitsToDouble(buffer.getLong()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.progressoft.clustereddata_warehouse.codec;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.exception.MalformedDealException;
+import com.progressoft.clustereddata_warehouse.utils.CurrencyCodes;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.progressoft.clustereddata_warehouse.codec.DealBinaryEncoder.*;
+
+/**
+ * Reads {@link DealBinaryEncoder} records straight out of a {@link ByteBuffer} without copying
+ * it. Fields are read at absolute offsets; the only allocations per deal are its ID string and
+ * the DTO. Well-formed currency codes map to one shared string per code, and the timestamp
+ * and amount are plain numbers, so there is no text to parse.
+ */
+public final class DealBinaryDecoder {
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_SCALE + 1];
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private int position;
+    private int records;
+
+    public DealBinaryDecoder(ByteBuffer body) {
+        this.buffer = body.slice();
+    }
+
+    public boolean hasNext() {
+        return position < buffer.limit();
+    }
+
+    /**
+     * @throws MalformedDealException when the record is truncated or its header is out of range
+     */
+    public FxDealRequestDto next() {
+        int start = position;
+        if (buffer.limit() - start < LENGTH_BYTES) {
+            throw malformed(start, "truncated length prefix");
+        }
+        int length = buffer.getInt(start);
+        if (length < FIXED_BYTES || length > FIXED_BYTES + MAX_ID_BYTES) {
+            throw malformed(start, "record length " + length + " out of range");
+        }
+        int body = start + LENGTH_BYTES;
+        if (buffer.limit() - body < length) {
+            throw malformed(start, "record of " + length + " bytes truncated");
+        }
+        int scale = buffer.get(body + 14);
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw malformed(start, "amount scale " + scale + " out of range");
+        }
+
+        LocalDateTime dealTimestamp;
+        try {
+            dealTimestamp = timestamp(buffer.getLong(body + 6));
+        } catch (DateTimeException e) {
+            throw malformed(start, "deal timestamp out of range");
+        }
+
+        FxDealRequestDto deal = new FxDealRequestDto(
+                utf8(body + FIXED_BYTES, length - FIXED_BYTES),
+                currency(body),
+                currency(body + 3),
+                dealTimestamp,
+                amount(buffer.getLong(body + 15), scale));
+        position = body + length;
+        records++;
+        return deal;
+    }
+
+    /**
+     * @throws MalformedDealException unless the body is exactly one record
+     */
+    public static FxDealRequestDto decodeOne(ByteBuffer body) {
+        DealBinaryDecoder decoder = new DealBinaryDecoder(body);
+        if (!decoder.hasNext()) {
+            throw new MalformedDealException("Empty deal body");
+        }
+        FxDealRequestDto deal = decoder.next();
+        if (decoder.hasNext()) {
+            throw new MalformedDealException("Expected one deal but the body has trailing bytes");
+        }
+        return deal;
+    }
+
+    public static List<FxDealRequestDto> decodeAll(ByteBuffer body) {
+        DealBinaryDecoder decoder = new DealBinaryDecoder(body);
+        List<FxDealRequestDto> deals = new ArrayList<>();
+        while (decoder.hasNext()) {
+            deals.add(decoder.next());
+        }
+        return deals;
+    }
+
+    private String currency(int offset) {
+        int first = buffer.get(offset);
+        int second = buffer.get(offset + 1);
+        int third = buffer.get(offset + 2);
+        if (first >= 'A' && first <= 'Z' && second >= 'A' && second <= 'Z' && third >= 'A' && third <= 'Z') {
+            int code = (first - 'A') << 10 | (second - 'A') << 5 | (third - 'A');
+            return CurrencyCodes.canonical(code);
+        }
+        // Left for the currency check to reject with the usual message.
+        return new String(new char[]{(char) (first & 0xFF), (char) (second & 0xFF), (char) (third & 0xFF)});
+    }
+
+    private String utf8(int offset, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static LocalDateTime timestamp(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Dividing two exactly representable doubles rounds correctly, so this matches parsing the
+     * decimal text whenever the unscaled value fits in 53 bits.
+     */
+    private static double amount(long unscaled, int scale) {
+        if (scale == 0) {
+            return unscaled;
+        }
+        if (Math.abs(unscaled) < MAX_EXACT_DOUBLE) {
+            return unscaled / POWERS_OF_TEN[scale];
+        }
+        return BigDecimal.valueOf(unscaled, scale).doubleValue();
+    }
+
+    private MalformedDealException malformed(int offset, String reason) {
+        return new MalformedDealException("Malformed deal record " + (records + 1) + " at byte " + offset + ": " + reason);
+    }
+}
@@ -0,0 +1,97 @@
+package com.progressoft.clustereddata_warehouse.codec;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Client side of the {@value #MEDIA_TYPE} format, for gateways that post deals without going
+ * through JSON. It only depends on the JDK, so it can be copied into a gateway as is. A body is
+ * one or more records back to back, each laid out big-endian as:
+ *
+ * <pre>
+ *   0  int    record length in bytes, not counting this field
+ *   4  3B     from currency, ASCII
+ *   7  3B     to currency, ASCII
+ *  10  long   deal timestamp, microseconds since the epoch (UTC)
+ *  18  byte   amount scale, 0-18
+ *  19  long   amount unscaled value, so the amount is unscaled * 10^-scale
+ *  27  ...    deal ID, UTF-8, the rest of the record
+ * </pre>
+ */
+public final class DealBinaryEncoder {
+
+    public static final String MEDIA_TYPE = "application/x-fxdeal";
+
+    static final int LENGTH_BYTES = 4;
+    static final int FIXED_BYTES = 23;
+    static final int MAX_ID_BYTES = 1020;
+    static final int MAX_SCALE = 18;
+
+    private DealBinaryEncoder() {
+    }
+
+    /**
+     * @return the bytes {@link #encode} writes for a deal with this ID
+     */
+    public static int encodedLength(String id) {
+        return LENGTH_BYTES + FIXED_BYTES + id.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Appends one record at the buffer's position and advances it.
+     *
+     * @throws IllegalArgumentException when a currency is not 3 ASCII characters, the ID is longer
+     *                                  than 1020 UTF-8 bytes or the amount needs more than 18 decimals
+     */
+    public static void encode(ByteBuffer target, String id, String fromCurrency, String toCurrency,
+                              LocalDateTime dealTimestamp, BigDecimal dealAmount) {
+        requireCurrency(fromCurrency);
+        requireCurrency(toCurrency);
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        if (idBytes.length > MAX_ID_BYTES) {
+            throw new IllegalArgumentException("Deal ID longer than " + MAX_ID_BYTES + " UTF-8 bytes");
+        }
+        BigDecimal amount = dealAmount.scale() < 0 ? dealAmount.setScale(0) : dealAmount;
+        if (amount.scale() > MAX_SCALE) {
+            amount = amount.stripTrailingZeros();
+        }
+        if (amount.scale() > MAX_SCALE) {
+            throw new IllegalArgumentException("Deal amount has more than " + MAX_SCALE + " decimals: " + dealAmount);
+        }
+        if (target.remaining() < LENGTH_BYTES + FIXED_BYTES + idBytes.length) {
+            throw new BufferOverflowException();
+        }
+        long unscaled = amount.unscaledValue().longValueExact();
+        long micros = Math.addExact(Math.multiplyExact(dealTimestamp.toEpochSecond(ZoneOffset.UTC), 1_000_000L),
+                dealTimestamp.getNano() / 1_000);
+
+        target.putInt(FIXED_BYTES + idBytes.length);
+        putCurrency(target, fromCurrency);
+        putCurrency(target, toCurrency);
+        target.putLong(micros);
+        target.put((byte) amount.scale());
+        target.putLong(unscaled);
+        target.put(idBytes);
+    }
+
+    public static void encode(ByteBuffer target, String id, String fromCurrency, String toCurrency,
+                              LocalDateTime dealTimestamp, double dealAmount) {
+        encode(target, id, fromCurrency, toCurrency, dealTimestamp, BigDecimal.valueOf(dealAmount));
+    }
+
+    private static void requireCurrency(String code) {
+        if (code == null || code.length() != 3 || code.chars().anyMatch(c -> c > 0x7F)) {
+            throw new IllegalArgumentException("Currency must be 3 ASCII characters: " + code);
+        }
+    }
+
+    private static void putCurrency(ByteBuffer target, String code) {
+        for (int i = 0; i < 3; i++) {
+            target.put((byte) code.charAt(i));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param ratePerSecond sustained ingest requests per second allowed per API key
+ * @param burst         requests an idle client may send at once
+ * @param maxClients    API keys tracked at once; further keys share one bucket
+ * @param targetLatency single-deal latency above which the concurrency limit backs off
+ * @param backoffRatio  factor applied to the concurrency limit on each back-off
+ */
+@ConfigurationProperties(prefix = "fx-deals.admission")
+public record AdmissionProperties(boolean enabled,
+                                  @DefaultValue("X-API-Key") String apiKeyHeader,
+                                  @DefaultValue("500") double ratePerSecond,
+                                  @DefaultValue("1000") int burst,
+                                  @DefaultValue("10000") int maxClients,
+                                  @DefaultValue("20") int initialLimit,
+                                  @DefaultValue("4") int minLimit,
+                                  @DefaultValue("200") int maxLimit,
+                                  @DefaultValue("50ms") Duration targetLatency,
+                                  @DefaultValue("0.9") double backoffRatio,
+                                  @DefaultValue("1") int retryAfterSeconds) {
+}
@@ -0,0 +1,22 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param flushSize     commit a group as soon as it holds this many deals
+ * @param flushInterval commit a partial group once its oldest deal has waited this long
+ * @param maxStatuses   tracking statuses kept at once, oldest dropped first
+ */
+@ConfigurationProperties(prefix = "fx-deals.async")
+public record AsyncIngestionProperties(@DefaultValue("10000") int queueCapacity,
+                                       @DefaultValue("2") int writerThreads,
+                                       @DefaultValue("500") int flushSize,
+                                       @DefaultValue("20ms") Duration flushInterval,
+                                       @DefaultValue("15m") Duration statusRetention,
+                                       @DefaultValue("100000") int maxStatuses,
+                                       @DefaultValue("30s") Duration shutdownTimeout,
+                                       @DefaultValue("1") int retryAfterSeconds) {
+}
@@ -0,0 +1,14 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * @param location external currencies CSV; the bundled classpath file is used when unset
+ * @param watch    reload the external file whenever it changes
+ */
+@ConfigurationProperties(prefix = "fx-deals.currencies")
+public record CurrencyProperties(Path location, @DefaultValue("true") boolean watch) {
+}
@@ -0,0 +1,43 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+
+/**
+ * Builds the extra Hikari pools for shards and replicas, which are not Spring beans and so
+ * are not wrapped by {@link DbConcurrencyLimiterConfig}.
+ */
+public final class DataSourcePools {
+
+    private DataSourcePools() {
+    }
+
+    public static HikariDataSource pool(String name, String url, String username, String password,
+                                        int maximumPoolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setMaximumPoolSize(maximumPoolSize);
+        return pool;
+    }
+
+    public static DataSource limit(HikariDataSource pool, DbConcurrencyLimiterProperties limiter) {
+        if (!limiter.enabled()) {
+            return pool;
+        }
+        int permits = limiter.permits() > 0 ? limiter.permits() : pool.getMaximumPoolSize();
+        return new ConcurrencyLimitedDataSource(pool, permits, limiter.acquireTimeout(), limiter.retryAfterSeconds());
+    }
+
+    /**
+     * Connections in use plus threads waiting for one; {@code 0} before the pool has started.
+     */
+    public static int load(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        return mxBean == null ? 0 : mxBean.getActiveConnections() + mxBean.getThreadsAwaitingConnection();
+    }
+}
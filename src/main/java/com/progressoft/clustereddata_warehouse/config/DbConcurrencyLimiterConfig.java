@@ -0,0 +1,36 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@Slf4j
+public class DbConcurrencyLimiterConfig {
+
+    /**
+     * Wraps the Hikari pool in a {@link ConcurrencyLimitedDataSource}. Properties are bound
+     * directly because post-processors are created before configuration property beans.
+     */
+    @Bean
+    public static BeanPostProcessor dbConcurrencyLimiter(Environment environment) {
+        DbConcurrencyLimiterProperties properties = Binder.get(environment)
+                .bindOrCreate("fx-deals.db-limiter", DbConcurrencyLimiterProperties.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!properties.enabled() || !(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                int permits = properties.permits() > 0 ? properties.permits() : hikari.getMaximumPoolSize();
+                log.info("Limiting '{}' to {} concurrent connections", beanName, permits);
+                return new ConcurrencyLimitedDataSource(hikari, permits, properties.acquireTimeout(),
+                        properties.retryAfterSeconds());
+            }
+        };
+    }
+}
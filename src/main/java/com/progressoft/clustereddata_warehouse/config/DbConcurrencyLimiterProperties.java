@@ -0,0 +1,16 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param permits concurrent connections allowed; {@code 0} uses the Hikari maximum pool size
+ */
+@ConfigurationProperties(prefix = "fx-deals.db-limiter")
+public record DbConcurrencyLimiterProperties(@DefaultValue("true") boolean enabled,
+                                             @DefaultValue("0") int permits,
+                                             @DefaultValue("2s") Duration acquireTimeout,
+                                             @DefaultValue("1") int retryAfterSeconds) {
+}
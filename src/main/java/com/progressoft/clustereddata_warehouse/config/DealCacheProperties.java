@@ -0,0 +1,22 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param ttl                 how long a found deal is served from memory; deals never change once stored
+ * @param maxEntries          deals kept at once, oldest dropped first
+ * @param negativeTtl         how long an ID that was not found keeps answering 404 without a query
+ * @param maxNegativeEntries  unknown IDs kept at once
+ * @param compact             keep each deal as a small byte array instead of a DTO, decoding it on every hit
+ */
+@ConfigurationProperties(prefix = "fx-deals.deal-cache")
+public record DealCacheProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("10m") Duration ttl,
+                                  @DefaultValue("100000") int maxEntries,
+                                  @DefaultValue("2s") Duration negativeTtl,
+                                  @DefaultValue("10000") int maxNegativeEntries,
+                                  @DefaultValue("false") boolean compact) {
+}
@@ -0,0 +1,61 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import com.progressoft.clustereddata_warehouse.metrics.DealMetrics;
+import com.progressoft.clustereddata_warehouse.metrics.TimedValidator;
+import com.progressoft.clustereddata_warehouse.replica.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires the request-side deal metrics. Hikari pool gauges ({@code hikaricp.connections.*}) come
+ * from Spring Boot's own binder; the limiter in front of the pool is added here.
+ */
+@Configuration
+public class DealMetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<jakarta.validation.Validator> validator;
+    private final ObjectProvider<DealMetrics> dealMetrics;
+
+    public DealMetricsConfig(ObjectProvider<jakarta.validation.Validator> validator,
+                             ObjectProvider<DealMetrics> dealMetrics) {
+        this.validator = validator;
+        this.dealMetrics = dealMetrics;
+    }
+
+    /**
+     * Request body validation goes through {@link TimedValidator}; other callers of the
+     * validator bean are unaffected.
+     */
+    @Override
+    public org.springframework.validation.Validator getValidator() {
+        return new SpringValidatorAdapter(new TimedValidator(validator.getObject(), dealMetrics.getObject()));
+    }
+
+    @Bean
+    public MeterBinder dbLimiterMetrics(DataSource dataSource) {
+        DataSource primary = dataSource instanceof ReadWriteRoutingDataSource routing
+                ? routing.getTargetDataSource()
+                : dataSource;
+        return registry -> {
+            if (!(primary instanceof ConcurrencyLimitedDataSource limiter)) {
+                return;
+            }
+            Gauge.builder("fxdeals.db.limiter.permits", limiter, ConcurrencyLimitedDataSource::maxPermits)
+                    .description("Concurrent connections allowed by the limiter")
+                    .register(registry);
+            Gauge.builder("fxdeals.db.limiter.in.use", limiter, ConcurrencyLimitedDataSource::inUse)
+                    .description("Connections currently checked out through the limiter")
+                    .register(registry);
+            Gauge.builder("fxdeals.db.limiter.waiting", limiter, ConcurrencyLimitedDataSource::waiting)
+                    .description("Callers queued for a connection permit")
+                    .register(registry);
+        };
+    }
+}
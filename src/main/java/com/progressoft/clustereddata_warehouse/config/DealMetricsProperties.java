@@ -0,0 +1,11 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maxCurrencyPairs distinct {@code pair} tag values; further pairs are counted as {@code other}
+ */
+@ConfigurationProperties(prefix = "fx-deals.metrics")
+public record DealMetricsProperties(@DefaultValue("200") int maxCurrencyPairs) {
+}
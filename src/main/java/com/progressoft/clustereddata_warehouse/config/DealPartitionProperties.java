@@ -0,0 +1,20 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import com.progressoft.clustereddata_warehouse.partition.PartitionInterval;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param ahead     partitions to keep created after the current one
+ * @param retention partitions ending more than this long ago are detached and dropped;
+ *                  unset keeps every partition
+ */
+@ConfigurationProperties(prefix = "fx-deals.partitions")
+public record DealPartitionProperties(@DefaultValue("true") boolean enabled,
+                                      @DefaultValue("DAILY") PartitionInterval interval,
+                                      @DefaultValue("7") int ahead,
+                                      Duration retention,
+                                      @DefaultValue("1h") Duration maintenanceInterval) {
+}
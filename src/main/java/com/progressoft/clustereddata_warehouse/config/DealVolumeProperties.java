@@ -0,0 +1,17 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled whether this instance folds pending deltas into the rollups; queries stay
+ *                exact either way because they also read the deltas not yet folded
+ * @param aggregateBatchSize deltas folded per transaction
+ */
+@ConfigurationProperties(prefix = "fx-deals.volumes")
+public record DealVolumeProperties(@DefaultValue("true") boolean enabled,
+                                   @DefaultValue("1s") Duration aggregateInterval,
+                                   @DefaultValue("10000") int aggregateBatchSize) {
+}
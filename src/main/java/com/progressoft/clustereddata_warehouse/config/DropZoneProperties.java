@@ -0,0 +1,48 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param directory   watched for deal files; {@code .csv} files are read as CSV, {@code .ndjson}
+ *                    and {@code .jsonl} files as NDJSON
+ * @param archive     where fully ingested files go; resolved against {@code directory}
+ * @param rejects     where unreadable files and the rejected rows of each file go; resolved
+ *                    against {@code directory}
+ * @param checkpoints per-file progress; resolved against {@code directory}
+ * @param chunkSize   bytes handed to each parse task, cut on line boundaries
+ * @param parallelism parse threads, {@code 0} for one per core
+ * @param settleTime  files modified more recently than this are left for a later scan, so files
+ *                    still being copied in are not read
+ */
+@ConfigurationProperties(prefix = "fx-deals.drop-zone")
+public record DropZoneProperties(boolean enabled,
+                                 @DefaultValue("data/drop-zone") Path directory,
+                                 @DefaultValue("archive") Path archive,
+                                 @DefaultValue("rejects") Path rejects,
+                                 @DefaultValue(".checkpoints") Path checkpoints,
+                                 @DefaultValue("1MB") DataSize chunkSize,
+                                 @DefaultValue("0") int parallelism,
+                                 @DefaultValue("2s") Duration settleTime,
+                                 @DefaultValue("5s") Duration pollInterval) {
+
+    public Path archiveDirectory() {
+        return directory.resolve(archive);
+    }
+
+    public Path rejectsDirectory() {
+        return directory.resolve(rejects);
+    }
+
+    public Path checkpointDirectory() {
+        return directory.resolve(checkpoints);
+    }
+
+    public int parseThreads() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,42 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for {@code StreamingResponseBody} exports, sized to {@code fx-deals.export.max-concurrent}.
+ * The export endpoint selects it, together with {@code fx-deals.export.timeout}, for its own
+ * requests only; every other async request keeps Spring MVC's defaults.
+ */
+@Configuration
+public class ExportConfig {
+
+    private final ExportProperties properties;
+    private final boolean virtualThreads;
+
+    public ExportConfig(ExportProperties properties,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.properties = properties;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Bean
+    public AsyncTaskExecutor exportExecutor() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("deal-export-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(properties.maxConcurrent());
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.maxConcurrent());
+        executor.setMaxPoolSize(properties.maxConcurrent());
+        executor.setQueueCapacity(properties.maxConcurrent());
+        executor.setThreadNamePrefix("deal-export-");
+        return executor;
+    }
+}
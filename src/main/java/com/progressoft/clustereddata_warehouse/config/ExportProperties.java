@@ -0,0 +1,18 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param fetchSize      rows the PostgreSQL cursor returns per round trip
+ * @param maxConcurrent  exports allowed at once; each one holds a connection until it finishes
+ * @param timeout        longest an export may stream before the request is aborted
+ */
+@ConfigurationProperties(prefix = "fx-deals.export")
+public record ExportProperties(@DefaultValue("10000") int fetchSize,
+                               @DefaultValue("4") int maxConcurrent,
+                               @DefaultValue("30m") Duration timeout,
+                               @DefaultValue("5") int retryAfterSeconds) {
+}
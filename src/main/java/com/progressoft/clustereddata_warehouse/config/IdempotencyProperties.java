@@ -0,0 +1,18 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param persistent also keep responses in the {@code idempotency_keys} table, so retries are
+ *                   replayed after a restart or by another instance
+ */
+@ConfigurationProperties(prefix = "fx-deals.idempotency")
+public record IdempotencyProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("24h") Duration ttl,
+                                    @DefaultValue("100000") int maxEntries,
+                                    @DefaultValue("false") boolean persistent,
+                                    @DefaultValue("1h") Duration purgeInterval) {
+}
@@ -0,0 +1,36 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class IngestionConfig {
+
+    /**
+     * With {@code spring.threads.virtual.enabled} each chunk runs on its own virtual thread;
+     * {@code writer-threads} still caps how many chunks write at once.
+     */
+    @Bean
+    public AsyncTaskExecutor ingestionExecutor(IngestionProperties properties,
+                                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("deal-ingest-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(properties.writerThreads());
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.writerThreads());
+        executor.setMaxPoolSize(properties.writerThreads());
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("deal-ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,10 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "fx-deals.ingestion")
+public record IngestionProperties(@DefaultValue("1000") int chunkSize,
+                                  @DefaultValue("2") int maxInFlightChunks,
+                                  @DefaultValue("4") int writerThreads) {
+}
@@ -0,0 +1,26 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import com.progressoft.clustereddata_warehouse.journal.FsyncPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param recordsPerSegment records per memory-mapped segment file; each record takes
+ *                          {@link com.progressoft.clustereddata_warehouse.journal.JournalRecordCodec#RECORD_SIZE} bytes
+ * @param fsync             {@code INTERVAL} by default: {@code ALWAYS} survives power loss but forces every
+ *                          append to disk, which takes milliseconds per deal on most drives
+ * @param fsyncInterval     how often dirty pages are forced when {@code fsync} is {@code INTERVAL}
+ */
+@ConfigurationProperties(prefix = "fx-deals.journal")
+public record JournalProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("data/journal") Path directory,
+                                @DefaultValue("65536") int recordsPerSegment,
+                                @DefaultValue("INTERVAL") FsyncPolicy fsync,
+                                @DefaultValue("10ms") Duration fsyncInterval,
+                                @DefaultValue("500") int applyBatchSize,
+                                @DefaultValue("2ms") Duration applyIdleWait,
+                                @DefaultValue("1s") Duration applyRetryBackoff) {
+}
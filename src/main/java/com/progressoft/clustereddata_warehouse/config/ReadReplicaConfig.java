@@ -0,0 +1,35 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import com.progressoft.clustereddata_warehouse.replica.ReadReplicaRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Builds the {@code spring.datasource} pool itself so that read-only transactions can be
+ * routed to {@code fx-deals.read-replicas.nodes}. With sharding enabled, {@link ShardingConfig}
+ * does this per shard instead.
+ */
+@Configuration
+@ConditionalOnExpression("${fx-deals.read-replicas.enabled:false} and !${fx-deals.sharding.enabled:false}")
+public class ReadReplicaConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, Environment environment,
+                                 DbConcurrencyLimiterProperties limiter, ReadReplicaRouting readReplicaRouting,
+                                 ReadReplicaProperties properties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("fx-deals-primary");
+        }
+        return readReplicaRouting.route(primary.getPoolName(), DataSourcePools.limit(primary, limiter), properties.nodes());
+    }
+}
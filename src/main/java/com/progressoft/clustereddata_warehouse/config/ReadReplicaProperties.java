@@ -0,0 +1,26 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import com.progressoft.clustereddata_warehouse.replica.ReplicaSelection;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param nodes            streaming replicas of {@code spring.datasource}; shards list their
+ *                         own under {@code fx-deals.sharding.shards[n].replicas}
+ * @param maxLag           replicas further behind than this are skipped until they catch up
+ * @param lagCheckInterval how often every replica's replay lag is measured
+ */
+@ConfigurationProperties(prefix = "fx-deals.read-replicas")
+public record ReadReplicaProperties(boolean enabled,
+                                    @DefaultValue("ROUND_ROBIN") ReplicaSelection selection,
+                                    @DefaultValue("5s") Duration maxLag,
+                                    @DefaultValue("1s") Duration lagCheckInterval,
+                                    @DefaultValue List<Node> nodes) {
+
+    public record Node(String url, String username, String password,
+                       @DefaultValue("10") int maximumPoolSize) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import com.progressoft.clustereddata_warehouse.replica.ReadReplicaRouting;
+import com.progressoft.clustereddata_warehouse.sharding.ShardContext;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single {@code spring.datasource} pool with one pool per configured shard
+ * behind a {@link ShardRoutingDataSource}, each capped by {@code fx-deals.db-limiter} and
+ * given its own read replicas when those are enabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "fx-deals.sharding", name = "enabled", havingValue = "true")
+@Slf4j
+public class ShardingConfig {
+
+    @Bean
+    public ShardRoutingDataSource dataSource(ShardingProperties properties, DbConcurrencyLimiterProperties limiter,
+                                             ReadReplicaRouting readReplicaRouting) {
+        if (properties.shards().isEmpty()) {
+            throw new IllegalStateException("fx-deals.sharding.enabled requires at least one fx-deals.sharding.shards entry");
+        }
+        List<DataSource> shards = new ArrayList<>(properties.shards().size());
+        for (int i = 0; i < properties.shards().size(); i++) {
+            ShardingProperties.Shard shard = properties.shards().get(i);
+            HikariDataSource pool = DataSourcePools.pool("fx-deals-shard-" + i, shard.url(), shard.username(),
+                    shard.password(), shard.maximumPoolSize());
+            shards.add(readReplicaRouting.route(pool.getPoolName(), DataSourcePools.limit(pool, limiter), shard.replicas()));
+        }
+        log.info("Routing deals across {} shards", shards.size());
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * Flyway opens a new connection for each command, so migrating once per shard context
+     * applies every migration on every shard.
+     */
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigration(ShardingProperties properties) {
+        return flyway -> {
+            for (int shard = 0; shard < properties.shardCount(); shard++) {
+                ShardContext.run(shard, flyway::migrate);
+            }
+        };
+    }
+}
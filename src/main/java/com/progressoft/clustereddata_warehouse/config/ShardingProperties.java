@@ -0,0 +1,28 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * @param enabled whether to use {@code shards} instead of the single {@code spring.datasource}
+ * @param shards  PostgreSQL nodes deals are hash-partitioned across by ID. Changing the list
+ *                moves deals to other shards, so existing data has to be redistributed first.
+ */
+@ConfigurationProperties(prefix = "fx-deals.sharding")
+public record ShardingProperties(boolean enabled, @DefaultValue List<Shard> shards) {
+
+    public int shardCount() {
+        return enabled ? Math.max(1, shards.size()) : 1;
+    }
+
+    /**
+     * @param replicas streaming replicas of this shard, used when {@code fx-deals.read-replicas}
+     *                 is enabled
+     */
+    public record Shard(String url, String username, String password,
+                        @DefaultValue("20") int maximumPoolSize,
+                        @DefaultValue List<ReadReplicaProperties.Node> replicas) {
+    }
+}
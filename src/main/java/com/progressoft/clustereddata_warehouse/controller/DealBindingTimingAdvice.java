@@ -0,0 +1,54 @@
+package com.progressoft.clustereddata_warehouse.controller;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.metrics.DealMetrics;
+import com.progressoft.clustereddata_warehouse.metrics.DealStage;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Times JSON binding of single-deal request bodies: the interval between the two callbacks is
+ * the message converter reading the body.
+ */
+@ControllerAdvice
+public class DealBindingTimingAdvice extends RequestBodyAdviceAdapter {
+
+    private static final String STARTED_AT = DealBindingTimingAdvice.class.getName() + ".startedAt";
+
+    private final DealMetrics dealMetrics;
+
+    public DealBindingTimingAdvice(DealMetrics dealMetrics) {
+        this.dealMetrics = dealMetrics;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == FxDealRequestDto.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(STARTED_AT, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        if (RequestContextHolder.currentRequestAttributes()
+                .getAttribute(STARTED_AT, RequestAttributes.SCOPE_REQUEST) instanceof Long startedAt) {
+            dealMetrics.record(DealStage.BINDING, startedAt);
+        }
+        return body;
+    }
+}
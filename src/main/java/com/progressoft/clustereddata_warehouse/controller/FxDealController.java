@@ -1,30 +1,347 @@
 package com.progressoft.clustereddata_warehouse.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.AsyncDealIngestionService;
+import com.progressoft.clustereddata_warehouse.Service.api.DealIdempotencyService;
+import com.progressoft.clustereddata_warehouse.Service.api.DealVolumeService;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBulkLoadService;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealExportService;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealFileIngestionService;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealLookupService;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealQueryService;
 import com.progressoft.clustereddata_warehouse.Service.api.FxDealService;
+import com.progressoft.clustereddata_warehouse.Service.implementation.DealRequestValidator;
+import com.progressoft.clustereddata_warehouse.codec.DealBinaryDecoder;
+import com.progressoft.clustereddata_warehouse.codec.DealBinaryEncoder;
+import com.progressoft.clustereddata_warehouse.config.ExportProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
 import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.request.VolumeGranularity;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionStatusDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionSummaryDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealPageDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealRejectDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealVolumeDto;
 import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.exception.InvalidDealException;
+import com.progressoft.clustereddata_warehouse.exception.InvalidDealQueryException;
+import com.progressoft.clustereddata_warehouse.metrics.DealMetrics;
+import com.progressoft.clustereddata_warehouse.metrics.DealStage;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/deals")
 @Validated
+@Slf4j
 public class FxDealController{
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    static final String INGESTION_ABORTED = "Ingestion aborted before the end of the file";
+
     private final FxDealService fxDealService;
+    private final FxDealBatchService fxDealBatchService;
+    private final FxDealFileIngestionService fxDealFileIngestionService;
+    private final FxDealBulkLoadService fxDealBulkLoadService;
+    private final AsyncDealIngestionService asyncDealIngestionService;
+    private final FxDealQueryService fxDealQueryService;
+    private final FxDealLookupService fxDealLookupService;
+    private final FxDealExportService fxDealExportService;
+    private final DealVolumeService dealVolumeService;
+    private final DealIdempotencyService dealIdempotencyService;
+    private final DealRequestValidator dealRequestValidator;
+    private final DealMetrics dealMetrics;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor exportExecutor;
+    private final ExportProperties exportProperties;
 
-    public FxDealController(FxDealService fxDealService) {
+    public FxDealController(FxDealService fxDealService, FxDealBatchService fxDealBatchService,
+                            FxDealFileIngestionService fxDealFileIngestionService,
+                            FxDealBulkLoadService fxDealBulkLoadService,
+                            AsyncDealIngestionService asyncDealIngestionService,
+                            FxDealQueryService fxDealQueryService, FxDealLookupService fxDealLookupService,
+                            FxDealExportService fxDealExportService,
+                            DealVolumeService dealVolumeService, DealIdempotencyService dealIdempotencyService,
+                            DealRequestValidator dealRequestValidator, DealMetrics dealMetrics,
+                            ObjectMapper objectMapper, @Qualifier("exportExecutor") AsyncTaskExecutor exportExecutor,
+                            ExportProperties exportProperties) {
         this.fxDealService = fxDealService;
+        this.fxDealBatchService = fxDealBatchService;
+        this.fxDealFileIngestionService = fxDealFileIngestionService;
+        this.fxDealBulkLoadService = fxDealBulkLoadService;
+        this.asyncDealIngestionService = asyncDealIngestionService;
+        this.fxDealQueryService = fxDealQueryService;
+        this.fxDealLookupService = fxDealLookupService;
+        this.fxDealExportService = fxDealExportService;
+        this.dealVolumeService = dealVolumeService;
+        this.dealIdempotencyService = dealIdempotencyService;
+        this.dealRequestValidator = dealRequestValidator;
+        this.dealMetrics = dealMetrics;
+        this.objectMapper = objectMapper;
+        this.exportExecutor = exportExecutor;
+        this.exportProperties = exportProperties;
     }
+    /**
+     * With an {@code Idempotency-Key} header a retry gets the original 201 response back,
+     * marked with {@code Idempotent-Replayed: true}, instead of a duplicate error.
+     */
     @PostMapping
-    public ResponseEntity<FxDealResponseDto> saveDeal(@RequestBody @Valid FxDealRequestDto requestDto){
-        FxDealResponseDto deal = fxDealService.save(requestDto);
+    public ResponseEntity<FxDealResponseDto> saveDeal(@RequestBody @Valid FxDealRequestDto requestDto,
+                                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        if (idempotencyKey == null) {
+            return new ResponseEntity<>(fxDealService.save(requestDto), HttpStatus.CREATED);
+        }
+        DealIdempotencyService.Outcome outcome =
+                dealIdempotencyService.execute(idempotencyKey, requestDto, () -> fxDealService.save(requestDto));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (outcome.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return response.body(outcome.response());
+    }
+
+    /**
+     * Same as the JSON endpoint for one {@link DealBinaryEncoder} record, which skips JSON and
+     * timestamp parsing. Decoding is timed as the {@code binding} stage, and every validation
+     * problem is reported in one 400.
+     */
+    @PostMapping(consumes = DealBinaryEncoder.MEDIA_TYPE)
+    public ResponseEntity<FxDealResponseDto> saveBinaryDeal(@RequestBody byte[] body,
+                                                            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        long start = System.nanoTime();
+        FxDealRequestDto requestDto = DealBinaryDecoder.decodeOne(ByteBuffer.wrap(body));
+        dealMetrics.record(DealStage.BINDING, start);
+        String reason = dealRequestValidator.validate(requestDto);
+        if (reason != null) {
+            throw new InvalidDealException(reason);
+        }
+
+        return saveDeal(requestDto, idempotencyKey);
+    }
+
+    @PostMapping(params = "async=true")
+    public ResponseEntity<DealIngestionStatusDto> saveDealAsync(@RequestBody @Valid FxDealRequestDto requestDto){
+        DealIngestionStatusDto status = asyncDealIngestionService.submit(requestDto);
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/deals/tracking/" + status.trackingId()))
+                .body(status);
+    }
+
+    @GetMapping
+    public ResponseEntity<DealPageDto> findDeals(
+            @RequestParam(required = false) String fromCurrency,
+            @RequestParam(required = false) String toCurrency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit){
+        DealSearchCriteria criteria = new DealSearchCriteria(fromCurrency, toCurrency, from, to);
+
+        return ResponseEntity.ok(fxDealQueryService.find(criteria, cursor, limit));
+    }
+
+    /**
+     * Streams every matching deal as NDJSON (default) or CSV in {@code (dealTimestamp, id)}
+     * order, gzip-compressed when the client sends {@code Accept-Encoding: gzip}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDeals(
+            @RequestParam(required = false) String fromCurrency,
+            @RequestParam(required = false) String toCurrency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request){
+        DealFileFormat fileFormat;
+        try {
+            fileFormat = DealFileFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDealQueryException(e.getMessage());
+        }
+        DealSearchCriteria criteria = new DealSearchCriteria(fromCurrency, toCurrency, from, to);
+        FxDealExportService.DealExport export = fxDealExportService.prepare(criteria, fileFormat);
+        runOnExportExecutor(request, export);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fileFormat.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("deals." + fileFormat.name().toLowerCase()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> export.writeTo(gzip ? new GZIPOutputStream(out, 64 * 1024) : out));
+    }
+
+    /**
+     * Streams this request's body on the export executor with the export timeout, and gives the
+     * reserved slot back when the request completes without the export having run, e.g. after an
+     * async timeout, a client abort or a rejected task.
+     */
+    private void runOnExportExecutor(HttpServletRequest request, FxDealExportService.DealExport export) {
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setTaskExecutor(exportExecutor);
+        if (asyncManager.getAsyncWebRequest() != null) {
+            asyncManager.getAsyncWebRequest().setTimeout(exportProperties.timeout().toMillis());
+        }
+        asyncManager.registerCallableInterceptor(FxDealExportService.DealExport.class, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                export.release();
+            }
+        });
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String value = coding.trim();
+            if (value.regionMatches(true, 0, "gzip", 0, 4) && !value.replace(" ", "").endsWith("q=0")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @GetMapping("/volumes")
+    public ResponseEntity<List<DealVolumeDto>> findVolumes(
+            @RequestParam String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String fromCurrency,
+            @RequestParam(required = false) String toCurrency){
+        VolumeGranularity volumeGranularity;
+        try {
+            volumeGranularity = VolumeGranularity.fromName(granularity);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDealQueryException(e.getMessage());
+        }
+        DealSearchCriteria criteria = new DealSearchCriteria(fromCurrency, toCurrency, from, to);
+
+        return ResponseEntity.ok(dealVolumeService.find(volumeGranularity, criteria));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<FxDealResponseDto> findDeal(@PathVariable String id){
+        return ResponseEntity.ok(fxDealLookupService.findById(id));
+    }
+
+    @GetMapping("/tracking/{trackingId}")
+    public ResponseEntity<DealIngestionStatusDto> getIngestionStatus(@PathVariable String trackingId){
+        return ResponseEntity.of(asyncDealIngestionService.status(trackingId));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchDealResponseDto> saveDeals(@RequestBody List<FxDealRequestDto> requestDtos){
+        BatchDealResponseDto result = fxDealBatchService.saveAll(requestDtos);
+
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/batch", consumes = DealBinaryEncoder.MEDIA_TYPE)
+    public ResponseEntity<BatchDealResponseDto> saveBinaryDeals(@RequestBody byte[] body){
+        BatchDealResponseDto result = fxDealBatchService.saveAll(DealBinaryDecoder.decodeAll(ByteBuffer.wrap(body)));
+
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Streams a CSV or NDJSON deals file straight from the request body. Rejected rows are
+     * written to the response as soon as their chunk is processed and the summary closes
+     * the document, so neither the upload nor the report is ever held in memory.
+     */
+    @PostMapping(value = "/upload", consumes = {"text/csv", "application/x-ndjson"})
+    public void uploadDeals(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamIngestionReport(request, response, fxDealFileIngestionService::ingest);
+    }
+
+    /**
+     * Same input and report as {@code /upload}, loaded through PostgreSQL COPY for large
+     * backfills. Duplicates are only counted, not listed.
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public void bulkLoadDeals(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamIngestionReport(request, response, fxDealBulkLoadService::load);
+    }
+
+    private void streamIngestionReport(HttpServletRequest request, HttpServletResponse response,
+                                       FileIngestion ingestion) throws IOException {
+        DealFileFormat format = DealFileFormat.fromMediaType(MediaType.parseMediaType(request.getContentType()));
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("rejects");
+            try {
+                DealIngestionSummaryDto summary = ingestion.ingest(request.getInputStream(), format,
+                        reject -> {
+                            try {
+                                generator.writeObject(reject);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                generator.writeEndArray();
+                generator.writePOJOField("summary", summary);
+            } catch (RuntimeException e) {
+                log.error("FX deal file ingestion aborted", e);
+                generator.writeEndArray();
+                // The cause stays in the server log; it may carry SQL, hosts or file paths
+                generator.writeStringField("error", INGESTION_ABORTED);
+            }
+            generator.writeEndObject();
+        }
+    }
 
-        return new ResponseEntity<>(deal, HttpStatus.CREATED);
+    @FunctionalInterface
+    private interface FileIngestion {
+        DealIngestionSummaryDto ingest(InputStream in, DealFileFormat format, Consumer<DealRejectDto> rejects)
+                throws IOException;
     }
 }
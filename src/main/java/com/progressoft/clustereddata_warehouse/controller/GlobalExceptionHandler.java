@@ -1,8 +1,21 @@
 package com.progressoft.clustereddata_warehouse.controller;
 
 import com.progressoft.clustereddata_warehouse.exception.ApiErrorResponse;
+import com.progressoft.clustereddata_warehouse.exception.CurrencyException;
+import com.progressoft.clustereddata_warehouse.exception.DatabaseBusyException;
+import com.progressoft.clustereddata_warehouse.exception.DealNotFoundException;
 import com.progressoft.clustereddata_warehouse.exception.DuplicateDealException;
+import com.progressoft.clustereddata_warehouse.exception.IdempotencyKeyReuseException;
+import com.progressoft.clustereddata_warehouse.exception.IngestionQueueFullException;
+import com.progressoft.clustereddata_warehouse.exception.InvalidDealQueryException;
+import com.progressoft.clustereddata_warehouse.exception.InvalidCurrencyException;
+import com.progressoft.clustereddata_warehouse.exception.InvalidDealException;
+import com.progressoft.clustereddata_warehouse.exception.InvalidIdempotencyKeyException;
+import com.progressoft.clustereddata_warehouse.exception.MalformedDealException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,23 +24,26 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final String VALIDATION_FAILED = "Validation failed";
+    private static final String INVALID_CURRENCY = "Invalid Currency";
+    private static final String UNKNOWN_CURRENCY = "Unknown Currency";
+    private static final String DUPLICATE_DEAL_ID = "Duplicate Deal ID";
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiErrorResponse handleValidation(MethodArgumentNotValidException ex, WebRequest request) {
-        Map<String, String> fieldErrors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach(err -> {
-            String field = ((FieldError) err).getField();
-            String message = err.getDefaultMessage();
-            fieldErrors.put(field, message);
-        });
+        List<FieldError> errors = ex.getBindingResult().getFieldErrors();
+        Map<String, String> fieldErrors = new LinkedHashMap<>(errors.size() * 2);
+        for (FieldError error : errors) {
+            fieldErrors.put(error.getField(), error.getDefaultMessage());
+        }
 
         return new ApiErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
@@ -38,18 +54,142 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(InvalidDealException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiErrorResponse handleInvalidDeal(InvalidDealException ex, WebRequest request) {
+        return new ApiErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now(),
+                VALIDATION_FAILED,
+                request.getDescription(false),
+                ex.getMessage()
+        );
+    }
+
+    @ExceptionHandler(MalformedDealException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiErrorResponse handleMalformedDeal(MalformedDealException ex, WebRequest request) {
+        return new ApiErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now(),
+                "Malformed Deal",
+                request.getDescription(false),
+                ex.getMessage()
+        );
+    }
+
     @ExceptionHandler(DuplicateDealException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiErrorResponse handleDuplicateId(DuplicateDealException ex, WebRequest request) {
         return new ApiErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 LocalDateTime.now(),
-                "Duplicate Deal ID",
+                DUPLICATE_DEAL_ID,
+                request.getDescription(false),
+                ex.getMessage()
+        );
+    }
+
+    /**
+     * Reports every problem with the pair, keyed by field like bean validation errors.
+     */
+    @ExceptionHandler(CurrencyException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiErrorResponse handleCurrency(CurrencyException ex, WebRequest request) {
+        Map<String, String> fieldErrors = ex.getFieldErrors();
+        return new ApiErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now(),
+                ex instanceof InvalidCurrencyException ? INVALID_CURRENCY : UNKNOWN_CURRENCY,
+                request.getDescription(false),
+                fieldErrors != null ? fieldErrors : ex.getMessage()
+        );
+    }
+
+    @ExceptionHandler(DealNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ApiErrorResponse handleDealNotFound(DealNotFoundException ex, WebRequest request) {
+        return new ApiErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                LocalDateTime.now(),
+                "Deal Not Found",
+                request.getDescription(false),
+                ex.getMessage()
+        );
+    }
+
+    @ExceptionHandler(InvalidDealQueryException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiErrorResponse handleInvalidQuery(InvalidDealQueryException ex, WebRequest request) {
+        return new ApiErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now(),
+                "Invalid Query",
+                request.getDescription(false),
+                ex.getMessage()
+        );
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiErrorResponse handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex, WebRequest request) {
+        return new ApiErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now(),
+                "Invalid Idempotency Key",
                 request.getDescription(false),
                 ex.getMessage()
         );
     }
 
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public ApiErrorResponse handleIdempotencyKeyReuse(IdempotencyKeyReuseException ex, WebRequest request) {
+        return new ApiErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                LocalDateTime.now(),
+                "Idempotency Key Reused",
+                request.getDescription(false),
+                ex.getMessage()
+        );
+    }
+
+    @ExceptionHandler(IngestionQueueFullException.class)
+    public ResponseEntity<ApiErrorResponse> handleQueueFull(IngestionQueueFullException ex, WebRequest request) {
+        ApiErrorResponse body = new ApiErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                LocalDateTime.now(),
+                "Ingestion Overloaded",
+                request.getDescription(false),
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
+    /**
+     * The limiter throws from {@code getConnection()}, so inside a transaction the exception
+     * arrives wrapped in {@link CannotCreateTransactionException}.
+     */
+    @ExceptionHandler({DatabaseBusyException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ApiErrorResponse> handleDatabaseBusy(RuntimeException ex, WebRequest request) {
+        DatabaseBusyException busy = ex instanceof DatabaseBusyException direct ? direct
+                : ex.getCause() instanceof DatabaseBusyException cause ? cause : null;
+        ApiErrorResponse body = new ApiErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                LocalDateTime.now(),
+                "Database Unavailable",
+                request.getDescription(false),
+                busy != null ? busy.getMessage() : ex.getMessage()
+        );
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (busy != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(busy.getRetryAfterSeconds()));
+        }
+        return response.body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ApiErrorResponse handleAll(Exception ex, WebRequest request) {
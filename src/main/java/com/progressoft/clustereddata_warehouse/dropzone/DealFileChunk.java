@@ -0,0 +1,21 @@
+package com.progressoft.clustereddata_warehouse.dropzone;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealRejectDto;
+
+import java.util.List;
+
+/**
+ * One parsed slice of a deal file. Line numbers, both in {@code lineNumbers} and in
+ * {@code rejects}, count from the start of the chunk.
+ *
+ * @param end         offset just past the chunk's last line
+ * @param lines       lines in the chunk, blank ones included
+ * @param records     non-blank lines other than a header
+ * @param deals       rows that parsed and passed validation
+ * @param lineNumbers line of each entry in {@code deals}
+ * @param rejects     rows that failed to parse or validate
+ */
+record DealFileChunk(long start, long end, long lines, long records, List<FxDealRequestDto> deals,
+                     int[] lineNumbers, List<DealRejectDto> rejects) {
+}
@@ -0,0 +1,67 @@
+package com.progressoft.clustereddata_warehouse.dropzone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * How far a drop-zone file has been persisted, with the running counts for its summary. The
+ * file's size and modification time are kept too, so a file replaced under the same name starts
+ * over instead of resuming at an offset that means nothing in the new content.
+ *
+ * @param offset byte offset of the first line not yet persisted
+ * @param line   lines before {@code offset}
+ */
+record DropZoneCheckpoint(long fileSize, long fileModifiedMillis, long offset, long line,
+                          long total, long accepted, long duplicates, long invalid) {
+
+    private static final int BYTES = 8 * Long.BYTES;
+
+    static DropZoneCheckpoint start(long fileSize, long fileModifiedMillis) {
+        return new DropZoneCheckpoint(fileSize, fileModifiedMillis, 0, 0, 0, 0, 0, 0);
+    }
+
+    boolean matches(long size, long modifiedMillis) {
+        return fileSize == size && fileModifiedMillis == modifiedMillis;
+    }
+
+    DropZoneCheckpoint advance(DealFileChunk chunk, long chunkAccepted, long chunkDuplicates, long chunkInvalid) {
+        return new DropZoneCheckpoint(fileSize, fileModifiedMillis, chunk.end(), line + chunk.lines(),
+                total + chunk.records(), accepted + chunkAccepted, duplicates + chunkDuplicates,
+                invalid + chunkInvalid);
+    }
+
+    /**
+     * @return the stored checkpoint, or {@code null} when there is none
+     */
+    static DropZoneCheckpoint read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length != BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new DropZoneCheckpoint(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    void write(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES)
+                .putLong(fileSize).putLong(fileModifiedMillis).putLong(offset).putLong(line)
+                .putLong(total).putLong(accepted).putLong(duplicates).putLong(invalid)
+                .flip();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,204 @@
+package com.progressoft.clustereddata_warehouse.dropzone;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.Service.implementation.DealRequestValidator;
+import com.progressoft.clustereddata_warehouse.config.DropZoneProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionSummaryDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeStatus;
+import com.progressoft.clustereddata_warehouse.dto.response.DealRejectDto;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Ingests one drop-zone file. Chunks are persisted in file order, each split into batches of
+ * {@code fx-deals.ingestion.chunk-size} rows that are written in parallel on the ingestion
+ * executor, and the file's checkpoint advances once a whole chunk is stored. After a restart
+ * the file resumes at its checkpoint; rows of a chunk that was stored but not checkpointed
+ * come back as duplicates rather than being inserted twice. Rejected rows are appended to
+ * {@code <file>.rejects.ndjson.part} in the rejects directory, which {@link #publishRejects}
+ * renames after the file once it has been archived or rejected.
+ */
+@Slf4j
+class DropZoneIngester {
+
+    static final String CHECKPOINT_SUFFIX = ".chk";
+    static final String REJECTS_SUFFIX = ".rejects.ndjson";
+    static final String IN_PROGRESS_SUFFIX = ".part";
+
+    private final FxDealBatchService fxDealBatchService;
+    private final DealRequestValidator dealRequestValidator;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor ingestionExecutor;
+    private final ForkJoinPool parsePool;
+    private final DropZoneProperties properties;
+    private final int batchSize;
+
+    DropZoneIngester(FxDealBatchService fxDealBatchService, DealRequestValidator dealRequestValidator,
+                     ObjectMapper objectMapper, AsyncTaskExecutor ingestionExecutor, ForkJoinPool parsePool,
+                     DropZoneProperties properties, int batchSize) {
+        this.fxDealBatchService = fxDealBatchService;
+        this.dealRequestValidator = dealRequestValidator;
+        this.objectMapper = objectMapper;
+        this.ingestionExecutor = ingestionExecutor;
+        this.parsePool = parsePool;
+        this.properties = properties;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    DealIngestionSummaryDto ingest(Path file, DealFileFormat format) throws IOException {
+        long startNanos = System.nanoTime();
+        String name = file.getFileName().toString();
+        Path checkpointPath = properties.checkpointDirectory().resolve(name + CHECKPOINT_SUFFIX);
+        Path rejectsPath = inProgressRejects(name);
+        long size = Files.size(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+
+        DropZoneCheckpoint checkpoint = DropZoneCheckpoint.read(checkpointPath);
+        if (checkpoint != null && checkpoint.matches(size, modified)) {
+            log.info("Resuming drop-zone file {} at byte {} of {}", name, checkpoint.offset(), size);
+        } else {
+            checkpoint = DropZoneCheckpoint.start(size, modified);
+            Files.deleteIfExists(rejectsPath);
+        }
+
+        try (MappedDealFileParser parser = new MappedDealFileParser(file, checkpoint.offset(), format,
+                properties.chunkSize().toBytes(), parsePool, objectMapper, dealRequestValidator)) {
+            DealFileChunk chunk;
+            while ((chunk = parser.next()) != null) {
+                checkpoint = persist(chunk, checkpoint, rejectsPath);
+                checkpoint.write(checkpointPath);
+            }
+        }
+        Files.deleteIfExists(checkpointPath);
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Drop-zone file ingested: file={}, format={}, total={}, accepted={}, duplicates={}, invalid={}, elapsedMs={}",
+                name, format, checkpoint.total(), checkpoint.accepted(), checkpoint.duplicates(), checkpoint.invalid(),
+                elapsedMillis);
+        return new DealIngestionSummaryDto(checkpoint.total(), checkpoint.accepted(), checkpoint.duplicates(),
+                checkpoint.invalid(), elapsedMillis);
+    }
+
+    /**
+     * Repeats of an ID within the chunk are reported as duplicates up front, so the batches
+     * written in parallel never carry the same ID and cannot race each other for it.
+     */
+    private DropZoneCheckpoint persist(DealFileChunk chunk, DropZoneCheckpoint checkpoint, Path rejectsPath)
+            throws IOException {
+        long baseLine = checkpoint.line();
+        List<DealRejectDto> rejects = new ArrayList<>(chunk.rejects().size());
+        for (DealRejectDto reject : chunk.rejects()) {
+            rejects.add(new DealRejectDto(baseLine + reject.line(), reject.id(), reject.status(), reject.reason()));
+        }
+
+        List<FxDealRequestDto> deals = new ArrayList<>(chunk.deals().size());
+        int[] lineNumbers = new int[chunk.deals().size()];
+        Set<String> seenIds = new HashSet<>(chunk.deals().size() * 2);
+        for (int i = 0; i < chunk.deals().size(); i++) {
+            FxDealRequestDto deal = chunk.deals().get(i);
+            if (seenIds.add(deal.id())) {
+                lineNumbers[deals.size()] = chunk.lineNumbers()[i];
+                deals.add(deal);
+            } else {
+                rejects.add(new DealRejectDto(baseLine + chunk.lineNumbers()[i], deal.id(), DealOutcomeStatus.DUPLICATE,
+                        "Deal ID repeated within the file"));
+            }
+        }
+        long accepted = 0;
+        long duplicates = chunk.deals().size() - deals.size();
+        long invalid = chunk.rejects().size();
+
+        List<Future<BatchDealResponseDto>> batches = new ArrayList<>();
+        for (int from = 0; from < deals.size(); from += batchSize) {
+            List<FxDealRequestDto> batch = deals.subList(from, Math.min(deals.size(), from + batchSize));
+            batches.add(ingestionExecutor.submit(() -> fxDealBatchService.saveValidated(batch)));
+        }
+        try {
+            for (int b = 0; b < batches.size(); b++) {
+                BatchDealResponseDto result = await(batches.get(b));
+                accepted += result.accepted();
+                duplicates += result.duplicates();
+                invalid += result.invalid();
+                for (DealOutcomeDto outcome : result.results()) {
+                    if (outcome.status() != DealOutcomeStatus.ACCEPTED) {
+                        rejects.add(new DealRejectDto(baseLine + lineNumbers[b * batchSize + outcome.index()],
+                                outcome.id(), outcome.status(), outcome.reason()));
+                    }
+                }
+            }
+        } finally {
+            batches.forEach(batch -> batch.cancel(false));
+        }
+
+        if (!rejects.isEmpty()) {
+            appendRejects(rejectsPath, rejects);
+        }
+        return checkpoint.advance(chunk, accepted, duplicates, invalid);
+    }
+
+    /**
+     * Gives the rejects report of {@code file} the name the file was moved to, so that a later
+     * file reusing the name (a daily {@code deals.csv}, say) starts a new report instead of
+     * replacing the one kept for the earlier file.
+     */
+    void publishRejects(Path file, Path movedTo) throws IOException {
+        Path report = inProgressRejects(file.getFileName().toString());
+        if (Files.exists(report)) {
+            Files.move(report, properties.rejectsDirectory().resolve(movedTo.getFileName() + REJECTS_SUFFIX));
+        }
+    }
+
+    private Path inProgressRejects(String name) {
+        return properties.rejectsDirectory().resolve(name + REJECTS_SUFFIX + IN_PROGRESS_SUFFIX);
+    }
+
+    private void appendRejects(Path rejectsPath, List<DealRejectDto> rejects) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(rejects.size() * 128);
+        for (DealRejectDto reject : rejects) {
+            lines.write(objectMapper.writeValueAsBytes(reject));
+            lines.write('\n');
+        }
+        try (FileChannel channel = FileChannel.open(rejectsPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    private static BatchDealResponseDto await(Future<BatchDealResponseDto> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while persisting drop-zone chunk", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to persist drop-zone chunk", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.progressoft.clustereddata_warehouse.dropzone;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.Service.implementation.DealRequestValidator;
+import com.progressoft.clustereddata_warehouse.config.DropZoneProperties;
+import com.progressoft.clustereddata_warehouse.config.IngestionProperties;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionSummaryDto;
+import com.progressoft.clustereddata_warehouse.exception.MalformedDealException;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Ingests deal files dropped into {@code fx-deals.drop-zone.directory}, oldest first, on its
+ * own thread. The directory is rescanned whenever it changes and every {@code poll-interval},
+ * which also picks up files that were still settling and any left over from before a restart.
+ * Hidden files and names ending in {@code .part} or {@code .tmp} are in-flight transfers and
+ * are skipped.
+ * <p>
+ * Ingested files move to the archive directory. Files that cannot be read as deals move to the
+ * rejects directory next to a {@code .error} note. Any other failure, such as the database
+ * being down, leaves the file and its checkpoint in place for the next scan.
+ */
+@Component
+@ConditionalOnProperty(prefix = "fx-deals.drop-zone", name = "enabled", havingValue = "true")
+@Slf4j
+public class DropZoneWatcher {
+
+    private final DropZoneProperties properties;
+    private final ForkJoinPool parsePool;
+    private final DropZoneIngester ingester;
+    private volatile WatchService watchService;
+    private volatile boolean running;
+    private Thread watcher;
+
+    public DropZoneWatcher(DropZoneProperties properties, IngestionProperties ingestionProperties,
+                           FxDealBatchService fxDealBatchService, DealRequestValidator dealRequestValidator,
+                           ObjectMapper objectMapper, @Qualifier("ingestionExecutor") AsyncTaskExecutor ingestionExecutor) {
+        this.properties = properties;
+        this.parsePool = new ForkJoinPool(properties.parseThreads());
+        this.ingester = new DropZoneIngester(fxDealBatchService, dealRequestValidator, objectMapper, ingestionExecutor,
+                parsePool, properties, ingestionProperties.chunkSize());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Path directory = properties.directory().toAbsolutePath();
+        Files.createDirectories(properties.archiveDirectory());
+        Files.createDirectories(properties.rejectsDirectory());
+        Files.createDirectories(properties.checkpointDirectory());
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        running = true;
+        watcher = Thread.ofPlatform().name("drop-zone-watcher").daemon().start(this::watch);
+        log.info("Watching {} for deal files with {} parse threads", directory, parsePool.getParallelism());
+    }
+
+    private void watch() {
+        try {
+            while (running) {
+                scan();
+                WatchKey key = watchService.poll(properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Drop-zone watcher stopped");
+        }
+    }
+
+    void scan() {
+        List<Path> files;
+        try {
+            files = readyFiles();
+        } catch (IOException e) {
+            log.error("Failed to list drop-zone directory {}", properties.directory(), e);
+            return;
+        }
+        for (Path file : files) {
+            if (!running) {
+                return;
+            }
+            ingest(file);
+        }
+    }
+
+    private List<Path> readyFiles() throws IOException {
+        long settledBefore = System.currentTimeMillis() - properties.settleTime().toMillis();
+        try (Stream<Path> entries = Files.list(properties.directory())) {
+            return entries.filter(Files::isRegularFile)
+                    .filter(path -> !isInFlight(path.getFileName().toString()))
+                    .filter(path -> lastModified(path) <= settledBefore)
+                    .sorted(Comparator.comparingLong(DropZoneWatcher::lastModified).thenComparing(Path::getFileName))
+                    .toList();
+        }
+    }
+
+    private void ingest(Path file) {
+        DealFileFormat format;
+        try {
+            format = DealFileFormat.fromFileName(file.getFileName().toString());
+        } catch (IllegalArgumentException e) {
+            reject(file, e.getMessage());
+            return;
+        }
+        try {
+            DealIngestionSummaryDto summary = ingester.ingest(file, format);
+            Path archived = moveTo(file, properties.archiveDirectory());
+            ingester.publishRejects(file, archived);
+            log.info("Archived {} as {}: accepted={}, duplicates={}, invalid={}", file.getFileName(),
+                    archived.getFileName(), summary.accepted(), summary.duplicates(), summary.invalid());
+        } catch (MalformedDealException e) {
+            reject(file, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to ingest drop-zone file {}, retrying on the next scan", file.getFileName(), e);
+        }
+    }
+
+    private void reject(Path file, String reason) {
+        try {
+            Path rejected = moveTo(file, properties.rejectsDirectory());
+            ingester.publishRejects(file, rejected);
+            Files.writeString(rejected.resolveSibling(rejected.getFileName() + ".error"), reason + System.lineSeparator(),
+                    StandardCharsets.UTF_8);
+            Files.deleteIfExists(properties.checkpointDirectory()
+                    .resolve(file.getFileName() + DropZoneIngester.CHECKPOINT_SUFFIX));
+            log.warn("Rejected drop-zone file {}: {}", file.getFileName(), reason);
+        } catch (IOException e) {
+            log.error("Failed to move rejected drop-zone file {}", file.getFileName(), e);
+        }
+    }
+
+    /**
+     * Keeps earlier files of the same name by suffixing the new one with the current time.
+     */
+    private static Path moveTo(Path file, Path directory) throws IOException {
+        Path target = directory.resolve(file.getFileName());
+        if (Files.exists(target)) {
+            target = directory.resolve(file.getFileName() + "." + System.currentTimeMillis());
+        }
+        return Files.move(file, target);
+    }
+
+    private static boolean isInFlight(String name) {
+        return name.startsWith(".") || name.endsWith(".part") || name.endsWith(".tmp");
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * A file being ingested keeps its checkpoint, so stopping mid-file only costs re-reading
+     * the chunks that were in flight.
+     */
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (watcher != null) {
+            watcher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        parsePool.shutdownNow();
+    }
+}
@@ -0,0 +1,188 @@
+package com.progressoft.clustereddata_warehouse.dropzone;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.progressoft.clustereddata_warehouse.Service.implementation.DealRequestValidator;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeStatus;
+import com.progressoft.clustereddata_warehouse.dto.response.DealRejectDto;
+import com.progressoft.clustereddata_warehouse.exception.MalformedDealException;
+import com.progressoft.clustereddata_warehouse.utils.CsvDealRecordReader;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Cuts a memory-mapped deal file into chunks of about {@code chunkBytes} that end on line
+ * boundaries, and parses and validates them on a fork-join pool while the caller persists
+ * earlier ones. Chunks come back in file order, with at most one per pool thread plus one
+ * parsed ahead, so memory does not grow with the file. The file is mapped in windows of up to
+ * {@link #WINDOW_BYTES}, since one {@link MappedByteBuffer} cannot span more than 2 GiB.
+ */
+class MappedDealFileParser implements Closeable {
+
+    static final long WINDOW_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final DealFileFormat format;
+    private final long chunkBytes;
+    private final ForkJoinPool pool;
+    private final ObjectReader objectReader;
+    private final DealRequestValidator validator;
+    private final Deque<ForkJoinTask<DealFileChunk>> parsing = new ArrayDeque<>();
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+    private long nextOffset;
+
+    MappedDealFileParser(Path file, long startOffset, DealFileFormat format, long chunkBytes, ForkJoinPool pool,
+                         ObjectMapper objectMapper, DealRequestValidator validator) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.format = format;
+        this.chunkBytes = Math.clamp(chunkBytes, 1, WINDOW_BYTES);
+        this.pool = pool;
+        this.objectReader = objectMapper.readerFor(FxDealRequestDto.class);
+        this.validator = validator;
+        this.nextOffset = startOffset;
+    }
+
+    /**
+     * @return the next chunk in file order, or {@code null} after the last one
+     */
+    DealFileChunk next() throws IOException {
+        while (parsing.size() <= pool.getParallelism() && nextOffset < size) {
+            long start = nextOffset;
+            long end = chunkEnd(start);
+            ByteBuffer bytes = window.slice((int) (start - windowStart), (int) (end - start));
+            parsing.add(pool.submit(() -> parse(start, end, bytes)));
+            nextOffset = end;
+        }
+        ForkJoinTask<DealFileChunk> first = parsing.poll();
+        return first == null ? null : first.join();
+    }
+
+    private long chunkEnd(long start) throws IOException {
+        long target = Math.min(size, start + chunkBytes);
+        if (window == null || start < windowStart || target > windowEnd) {
+            map(start);
+        }
+        while (true) {
+            for (long i = target - 1; i < windowEnd; i++) {
+                if (window.get((int) (i - windowStart)) == '\n') {
+                    return i + 1;
+                }
+            }
+            if (windowEnd == size) {
+                return size;
+            }
+            if (windowStart == start) {
+                throw new MalformedDealException("Line at byte " + start + " is longer than " + WINDOW_BYTES + " bytes");
+            }
+            map(start);
+        }
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        windowEnd = Math.min(size, start + WINDOW_BYTES);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+    }
+
+    private DealFileChunk parse(long start, long end, ByteBuffer slice) {
+        byte[] bytes = new byte[slice.remaining()];
+        slice.get(0, bytes);
+        List<FxDealRequestDto> deals = new ArrayList<>();
+        int[] lineNumbers = new int[64];
+        List<DealRejectDto> rejects = new ArrayList<>();
+        int line = 0;
+        int records = 0;
+        int from = start == 0 && hasByteOrderMark(bytes) ? 3 : 0;
+        while (from < bytes.length) {
+            int newline = indexOf(bytes, (byte) '\n', from);
+            int to = newline < 0 ? bytes.length : newline;
+            if (to > from && bytes[to - 1] == '\r') {
+                to--;
+            }
+            line++;
+            if (!isBlank(bytes, from, to)) {
+                String text = format == DealFileFormat.CSV ? new String(bytes, from, to - from, StandardCharsets.UTF_8) : null;
+                if (start != 0 || line != 1 || text == null || !CsvDealRecordReader.isHeaderLine(text)) {
+                    records++;
+                    FxDealRequestDto deal;
+                    String reason;
+                    try {
+                        deal = text != null ? CsvDealRecordReader.parseCsvLine(text) : parseJson(bytes, from, to - from);
+                        reason = validator.validate(deal);
+                    } catch (RuntimeException | IOException e) {
+                        deal = null;
+                        reason = "Malformed record: " + e.getMessage();
+                    }
+                    if (reason == null) {
+                        if (deals.size() == lineNumbers.length) {
+                            lineNumbers = Arrays.copyOf(lineNumbers, lineNumbers.length * 2);
+                        }
+                        lineNumbers[deals.size()] = line;
+                        deals.add(deal);
+                    } else {
+                        rejects.add(new DealRejectDto(line, deal == null ? null : deal.id(), DealOutcomeStatus.INVALID, reason));
+                    }
+                }
+            }
+            from = newline < 0 ? bytes.length : newline + 1;
+        }
+        return new DealFileChunk(start, end, line, records, deals, lineNumbers, rejects);
+    }
+
+    private FxDealRequestDto parseJson(byte[] bytes, int offset, int length) throws IOException {
+        try {
+            return objectReader.readValue(bytes, offset, length);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage(), e);
+        }
+    }
+
+    private static boolean hasByteOrderMark(byte[] bytes) {
+        return bytes.length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF;
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((bytes[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parsing.forEach(task -> task.cancel(false));
+        channel.close();
+    }
+}
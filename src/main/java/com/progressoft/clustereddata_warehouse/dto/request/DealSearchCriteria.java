@@ -0,0 +1,10 @@
+package com.progressoft.clustereddata_warehouse.dto.request;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for {@code GET /api/v1/deals}. Every filter is optional; {@code from} is inclusive
+ * and {@code to} exclusive.
+ */
+public record DealSearchCriteria(String fromCurrency, String toCurrency, LocalDateTime from, LocalDateTime to) {
+}
@@ -0,0 +1,28 @@
+package com.progressoft.clustereddata_warehouse.dto.request;
+
+import java.time.Duration;
+
+public enum VolumeGranularity {
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final Duration length;
+
+    VolumeGranularity(Duration length) {
+        this.length = length;
+    }
+
+    public Duration length() {
+        return length;
+    }
+
+    public static VolumeGranularity fromName(String name) {
+        for (VolumeGranularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(name)) {
+                return granularity;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported granularity: " + name);
+    }
+}
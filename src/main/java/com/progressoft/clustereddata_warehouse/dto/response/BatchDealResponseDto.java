@@ -0,0 +1,21 @@
+package com.progressoft.clustereddata_warehouse.dto.response;
+
+import java.util.List;
+
+public record BatchDealResponseDto(int total, int accepted, int duplicates, int invalid,
+                                   List<DealOutcomeDto> results) {
+
+    public static BatchDealResponseDto of(List<DealOutcomeDto> results) {
+        int accepted = 0;
+        int duplicates = 0;
+        int invalid = 0;
+        for (DealOutcomeDto result : results) {
+            switch (result.status()) {
+                case ACCEPTED -> accepted++;
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+            }
+        }
+        return new BatchDealResponseDto(results.size(), accepted, duplicates, invalid, results);
+    }
+}
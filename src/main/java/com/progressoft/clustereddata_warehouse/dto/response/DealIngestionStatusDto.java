@@ -0,0 +1,11 @@
+package com.progressoft.clustereddata_warehouse.dto.response;
+
+import java.time.Instant;
+
+public record DealIngestionStatusDto(String trackingId, String dealId, IngestionState state, String reason,
+                                     Instant updatedAt) {
+
+    public DealIngestionStatusDto withState(IngestionState newState, String newReason) {
+        return new DealIngestionStatusDto(trackingId, dealId, newState, newReason, Instant.now());
+    }
+}
@@ -0,0 +1,4 @@
+package com.progressoft.clustereddata_warehouse.dto.response;
+
+public record DealIngestionSummaryDto(long total, long accepted, long duplicates, long invalid, long elapsedMillis) {
+}
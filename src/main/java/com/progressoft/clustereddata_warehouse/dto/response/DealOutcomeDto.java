@@ -0,0 +1,16 @@
+package com.progressoft.clustereddata_warehouse.dto.response;
+
+public record DealOutcomeDto(int index, String id, DealOutcomeStatus status, String reason) {
+
+    public static DealOutcomeDto accepted(int index, String id) {
+        return new DealOutcomeDto(index, id, DealOutcomeStatus.ACCEPTED, null);
+    }
+
+    public static DealOutcomeDto duplicate(int index, String id, String reason) {
+        return new DealOutcomeDto(index, id, DealOutcomeStatus.DUPLICATE, reason);
+    }
+
+    public static DealOutcomeDto invalid(int index, String id, String reason) {
+        return new DealOutcomeDto(index, id, DealOutcomeStatus.INVALID, reason);
+    }
+}
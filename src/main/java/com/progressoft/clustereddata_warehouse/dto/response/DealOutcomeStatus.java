@@ -0,0 +1,7 @@
+package com.progressoft.clustereddata_warehouse.dto.response;
+
+public enum DealOutcomeStatus {
+    ACCEPTED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,9 @@
+package com.progressoft.clustereddata_warehouse.dto.response;
+
+import java.util.List;
+
+/**
+ * @param nextCursor pass back as {@code cursor} to fetch the next page; {@code null} on the last page
+ */
+public record DealPageDto(List<FxDealResponseDto> deals, String nextCursor) {
+}
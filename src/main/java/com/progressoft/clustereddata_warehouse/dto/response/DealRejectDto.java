@@ -0,0 +1,4 @@
+package com.progressoft.clustereddata_warehouse.dto.response;
+
+public record DealRejectDto(long line, String id, DealOutcomeStatus status, String reason) {
+}
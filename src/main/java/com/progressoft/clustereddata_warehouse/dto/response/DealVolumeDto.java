@@ -0,0 +1,13 @@
+package com.progressoft.clustereddata_warehouse.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record DealVolumeDto(
+        LocalDateTime bucketStart,
+        String fromCurrency,
+        String toCurrency,
+        long dealCount,
+        BigDecimal totalAmount
+) {
+}
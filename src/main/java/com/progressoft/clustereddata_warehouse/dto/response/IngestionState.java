@@ -0,0 +1,13 @@
+package com.progressoft.clustereddata_warehouse.dto.response;
+
+public enum IngestionState {
+    QUEUED,
+    COMMITTED,
+    DUPLICATE,
+    REJECTED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this != QUEUED;
+    }
+}
@@ -0,0 +1,117 @@
+package com.progressoft.clustereddata_warehouse.exception;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bit flags for everything wrong with a currency pair, so a check can report every problem at
+ * once in a plain int and messages are only built when someone reads them.
+ */
+public final class CurrencyErrors {
+
+    public static final int NONE = 0;
+    public static final int FROM_MISSING = 1;
+    public static final int FROM_MALFORMED = 1 << 1;
+    public static final int TO_MISSING = 1 << 2;
+    public static final int TO_MALFORMED = 1 << 3;
+    public static final int SAME_CURRENCY = 1 << 4;
+    public static final int FROM_UNKNOWN = 1 << 5;
+    public static final int TO_UNKNOWN = 1 << 6;
+
+    public static final int MISSING = FROM_MISSING | TO_MISSING;
+    static final int INVALID = MISSING | FROM_MALFORMED | TO_MALFORMED | SAME_CURRENCY;
+    private static final int ALL = (TO_UNKNOWN << 1) - 1;
+
+    static final String FROM_FIELD = "fromCurrency";
+    static final String TO_FIELD = "toCurrency";
+
+    private static final String MALFORMED_PREFIX = " format is invalid: ";
+    private static final String MALFORMED_SUFFIX = ". Expected 3 uppercase letters";
+    private static final String UNKNOWN_PREFIX = "Currency not recognized: ";
+    private static final String SEPARATOR = "; ";
+
+    private static final int NO_CODE = 0;
+    private static final int FROM_CODE = 1;
+    private static final int TO_CODE = 2;
+
+    /**
+     * Indexed by flag bit: the field each flag is reported on and the text around the offending
+     * code, so a rejection only concatenates the code into a fixed prefix and suffix.
+     */
+    private static final Fragment[] FRAGMENTS = {
+            new Fragment(FROM_FIELD, FROM_FIELD + " cannot be null or empty", NO_CODE, ""),
+            new Fragment(FROM_FIELD, FROM_FIELD + MALFORMED_PREFIX, FROM_CODE, MALFORMED_SUFFIX),
+            new Fragment(TO_FIELD, TO_FIELD + " cannot be null or empty", NO_CODE, ""),
+            new Fragment(TO_FIELD, TO_FIELD + MALFORMED_PREFIX, TO_CODE, MALFORMED_SUFFIX),
+            new Fragment(TO_FIELD, FROM_FIELD + " and " + TO_FIELD + " must differ: ", FROM_CODE, ""),
+            new Fragment(FROM_FIELD, UNKNOWN_PREFIX, FROM_CODE, ""),
+            new Fragment(TO_FIELD, UNKNOWN_PREFIX, TO_CODE, ""),
+    };
+
+    private CurrencyErrors() {
+    }
+
+    /**
+     * @return whether {@code errors} has a format or same-currency problem, as opposed to only
+     *         well-formed codes missing from the currency list
+     */
+    public static boolean isInvalid(int errors) {
+        return (errors & INVALID) != 0;
+    }
+
+    public static String describe(int errors, CharSequence from, CharSequence to) {
+        StringBuilder message = new StringBuilder(64);
+        for (int bits = errors & ALL; bits != 0; bits &= bits - 1) {
+            if (!message.isEmpty()) {
+                message.append(SEPARATOR);
+            }
+            FRAGMENTS[Integer.numberOfTrailingZeros(bits)].appendTo(message, from, to);
+        }
+        return message.toString();
+    }
+
+    /**
+     * @return one message per offending field, the first flag set for it winning; a
+     *         same-currency pair is reported on {@code toCurrency}
+     */
+    public static Map<String, String> byField(int errors, CharSequence from, CharSequence to) {
+        String fromMessage = null;
+        String toMessage = null;
+        for (int bits = errors & ALL; bits != 0; bits &= bits - 1) {
+            Fragment fragment = FRAGMENTS[Integer.numberOfTrailingZeros(bits)];
+            if (fragment.field() == FROM_FIELD) {
+                fromMessage = fromMessage == null ? fragment.message(from, to) : fromMessage;
+            } else {
+                toMessage = toMessage == null ? fragment.message(from, to) : toMessage;
+            }
+        }
+        if (fromMessage == null) {
+            return toMessage == null ? Map.of() : Map.of(TO_FIELD, toMessage);
+        }
+        if (toMessage == null) {
+            return Map.of(FROM_FIELD, fromMessage);
+        }
+        Map<String, String> fields = new LinkedHashMap<>(4);
+        fields.put(FROM_FIELD, fromMessage);
+        fields.put(TO_FIELD, toMessage);
+        return fields;
+    }
+
+    private record Fragment(String field, String prefix, int code, String suffix) {
+
+        String message(CharSequence from, CharSequence to) {
+            return code == NO_CODE ? prefix : prefix + codeOf(from, to) + suffix;
+        }
+
+        void appendTo(StringBuilder message, CharSequence from, CharSequence to) {
+            message.append(prefix);
+            if (code != NO_CODE) {
+                message.append(codeOf(from, to)).append(suffix);
+            }
+        }
+
+        private CharSequence codeOf(CharSequence from, CharSequence to) {
+            return code == FROM_CODE ? from : to;
+        }
+    }
+}
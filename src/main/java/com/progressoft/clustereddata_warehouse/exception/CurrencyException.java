@@ -0,0 +1,59 @@
+package com.progressoft.clustereddata_warehouse.exception;
+
+import java.util.Map;
+
+/**
+ * A rejected currency pair. Rejections are routine in bad feeds, so no stack trace is captured
+ * and the message is only built from the {@link CurrencyErrors} flags when it is read.
+ */
+public abstract class CurrencyException extends RuntimeException {
+
+    private final int errors;
+    private final String from;
+    private final String to;
+    private String message;
+
+    protected CurrencyException(String message) {
+        super(message, null, false, false);
+        this.errors = CurrencyErrors.NONE;
+        this.from = null;
+        this.to = null;
+        this.message = message;
+    }
+
+    protected CurrencyException(int errors, CharSequence from, CharSequence to) {
+        super(null, null, false, false);
+        this.errors = errors;
+        this.from = from == null ? null : from.toString();
+        this.to = to == null ? null : to.toString();
+    }
+
+    /**
+     * @return {@link InvalidCurrencyException} when any code is malformed or both are the same,
+     *         otherwise {@link UnknownCurrencyException}
+     */
+    public static CurrencyException of(int errors, CharSequence from, CharSequence to) {
+        return CurrencyErrors.isInvalid(errors)
+                ? new InvalidCurrencyException(errors, from, to)
+                : new UnknownCurrencyException(errors, from, to);
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return one message per offending field, or {@code null} when only a message was given
+     */
+    public Map<String, String> getFieldErrors() {
+        return errors == CurrencyErrors.NONE ? null : CurrencyErrors.byField(errors, from, to);
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = CurrencyErrors.describe(errors, from, to);
+        }
+        return message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.progressoft.clustereddata_warehouse.exception;
+
+public class DatabaseBusyException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public DatabaseBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
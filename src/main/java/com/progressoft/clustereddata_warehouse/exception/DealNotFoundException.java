@@ -0,0 +1,10 @@
+package com.progressoft.clustereddata_warehouse.exception;
+
+/**
+ * Lookups of unknown IDs are routine for downstream services, so no stack trace is captured.
+ */
+public class DealNotFoundException extends RuntimeException {
+    public DealNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
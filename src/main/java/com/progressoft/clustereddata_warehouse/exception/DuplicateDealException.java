@@ -1,7 +1,10 @@
 package com.progressoft.clustereddata_warehouse.exception;
 
+/**
+ * Expected whenever a feed resends a deal, so no stack trace is captured.
+ */
 public class DuplicateDealException extends RuntimeException {
     public DuplicateDealException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,7 @@
+package com.progressoft.clustereddata_warehouse.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
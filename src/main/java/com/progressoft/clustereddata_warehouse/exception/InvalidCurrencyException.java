@@ -1,7 +1,11 @@
 package com.progressoft.clustereddata_warehouse.exception;
 
-public class InvalidCurrencyException extends RuntimeException {
+public class InvalidCurrencyException extends CurrencyException {
     public InvalidCurrencyException(String message) {
         super(message);
     }
+
+    public InvalidCurrencyException(int errors, CharSequence from, CharSequence to) {
+        super(errors, from, to);
+    }
 }
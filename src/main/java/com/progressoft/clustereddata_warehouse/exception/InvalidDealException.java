@@ -0,0 +1,10 @@
+package com.progressoft.clustereddata_warehouse.exception;
+
+/**
+ * A decoded deal that fails validation; the message lists every problem found.
+ */
+public class InvalidDealException extends RuntimeException {
+    public InvalidDealException(String message) {
+        super(message, null, false, false);
+    }
+}
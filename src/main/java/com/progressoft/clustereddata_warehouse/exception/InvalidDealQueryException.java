@@ -0,0 +1,7 @@
+package com.progressoft.clustereddata_warehouse.exception;
+
+public class InvalidDealQueryException extends RuntimeException {
+    public InvalidDealQueryException(String message) {
+        super(message);
+    }
+}
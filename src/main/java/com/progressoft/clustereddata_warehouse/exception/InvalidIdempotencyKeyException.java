@@ -0,0 +1,7 @@
+package com.progressoft.clustereddata_warehouse.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
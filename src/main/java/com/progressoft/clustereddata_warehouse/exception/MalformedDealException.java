@@ -0,0 +1,11 @@
+package com.progressoft.clustereddata_warehouse.exception;
+
+/**
+ * A binary deal body or drop-zone file that cannot be decoded. Like other rejections it skips
+ * the stack trace.
+ */
+public class MalformedDealException extends RuntimeException {
+    public MalformedDealException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,7 +1,11 @@
 package com.progressoft.clustereddata_warehouse.exception;
 
-public class UnknownCurrencyException extends RuntimeException {
+public class UnknownCurrencyException extends CurrencyException {
     public UnknownCurrencyException(String message) {
         super(message);
     }
+
+    public UnknownCurrencyException(int errors, CharSequence from, CharSequence to) {
+        super(errors, from, to);
+    }
 }
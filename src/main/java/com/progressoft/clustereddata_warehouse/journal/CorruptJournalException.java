@@ -0,0 +1,12 @@
+package com.progressoft.clustereddata_warehouse.journal;
+
+/**
+ * A published journal record failed its marker or checksum check. Unlike a database outage this
+ * does not heal on retry, so the journal stops accepting deals until it is repaired.
+ */
+public class CorruptJournalException extends IllegalStateException {
+
+    public CorruptJournalException(long sequence) {
+        super("Corrupt deal journal record at sequence " + sequence);
+    }
+}
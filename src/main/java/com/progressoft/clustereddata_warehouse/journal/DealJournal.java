@@ -0,0 +1,311 @@
+package com.progressoft.clustereddata_warehouse.journal;
+
+import com.progressoft.clustereddata_warehouse.config.JournalProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.progressoft.clustereddata_warehouse.journal.JournalRecordCodec.RECORD_SIZE;
+
+/**
+ * Append-only, memory-mapped journal of accepted deals. A deal is acknowledged once its
+ * record is in the journal (and forced to disk, depending on {@link FsyncPolicy}); the
+ * {@link JournalApplier} commits records to the database afterwards and advances the
+ * {@code applied} checkpoint.
+ * <p>
+ * Sequences start at 1 and segments hold a fixed number of records, so the segment and slot
+ * of any sequence are computed rather than looked up. Segments entirely below the checkpoint
+ * are deleted. Records are appended by a single writer at a time; the applier is the only
+ * reader.
+ */
+@Component
+@Slf4j
+public class DealJournal {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "applied.chk";
+
+    private final JournalProperties properties;
+    private final long recordsPerSegment;
+
+    private MappedByteBuffer writeSegment;
+    private long writeSegmentBase;
+    private long nextSequence;
+    private volatile long publishedSequence;
+    private volatile long appliedSequence;
+    private long recoveredSequence;
+    private volatile String corruption;
+
+    private ByteBuffer readSegment;
+    private long readSegmentBase = -1;
+    private long oldestSegmentBase;
+
+    private Thread flusher;
+    private volatile boolean open;
+
+    public DealJournal(JournalProperties properties) {
+        this.properties = properties;
+        this.recordsPerSegment = properties.recordsPerSegment();
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Recovers the write position from the last segment: the first slot without a valid
+     * record (missing marker or bad checksum, e.g. torn by a crash) is where appends resume.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!properties.enabled()) {
+            return;
+        }
+        Files.createDirectories(properties.directory());
+        appliedSequence = readCheckpoint();
+        deleteAppliedSegments();
+
+        long lastWritten = appliedSequence;
+        List<Long> segments = segmentBases();
+        if (!segments.isEmpty()) {
+            long base = segments.getLast();
+            ByteBuffer segment = map(base, FileChannel.MapMode.READ_ONLY);
+            long slot = 0;
+            while (slot < recordsPerSegment && JournalRecordCodec.decode(segment, (int) (slot * RECORD_SIZE)) != null) {
+                slot++;
+            }
+            lastWritten = Math.max(lastWritten, base + slot - 1);
+        }
+        nextSequence = lastWritten + 1;
+        publishedSequence = lastWritten;
+        recoveredSequence = lastWritten;
+        writeSegmentBase = baseOf(nextSequence);
+        writeSegment = map(writeSegmentBase, FileChannel.MapMode.READ_WRITE);
+        open = true;
+
+        if (properties.fsync() == FsyncPolicy.INTERVAL) {
+            flusher = Thread.ofPlatform().daemon().name("deal-journal-flusher").start(this::flushPeriodically);
+        }
+        log.info("Deal journal opened at {}: applied up to {}, {} pending", properties.directory(), appliedSequence,
+                pending());
+    }
+
+    /**
+     * @return the sequence assigned to the record
+     */
+    public synchronized long append(String trackingId, FxDealRequestDto deal) {
+        if (!open) {
+            throw new IllegalStateException("Deal journal is not open");
+        }
+        long sequence = nextSequence;
+        if (baseOf(sequence) != writeSegmentBase) {
+            rotate(sequence);
+        }
+        int offset = slotOffset(sequence);
+        JournalRecordCodec.encode(writeSegment, offset, sequence, UUID.fromString(trackingId), deal);
+        if (properties.fsync() == FsyncPolicy.ALWAYS) {
+            writeSegment.force(offset, RECORD_SIZE);
+        }
+        nextSequence = sequence + 1;
+        publishedSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Reads up to {@code max} consecutive records starting at {@code fromSequence}. Only
+     * records already published by {@link #append} are returned.
+     */
+    public List<JournalRecord> read(long fromSequence, int max) {
+        long last = Math.min(publishedSequence, fromSequence + max - 1);
+        List<JournalRecord> records = new ArrayList<>((int) Math.max(0, last - fromSequence + 1));
+        for (long sequence = fromSequence; sequence <= last; sequence++) {
+            long base = baseOf(sequence);
+            if (base != readSegmentBase) {
+                readSegment = mapQuietly(base);
+                readSegmentBase = base;
+            }
+            JournalRecord record = JournalRecordCodec.decode(readSegment, slotOffset(sequence));
+            if (record == null || record.sequence() != sequence) {
+                throw new CorruptJournalException(sequence);
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Durably advances the checkpoint and deletes segments that no longer hold unapplied
+     * records.
+     */
+    public void markApplied(long sequence) throws IOException {
+        Path checkpoint = properties.directory().resolve(CHECKPOINT_FILE);
+        Path temp = properties.directory().resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+            channel.force(true);
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        appliedSequence = sequence;
+        if (baseOf(sequence + 1) > oldestSegmentBase) {
+            deleteAppliedSegments();
+        }
+    }
+
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Stops {@link #append} callers through {@link #corruption()}; the records behind the
+     * corrupt one can only be applied once the journal is repaired and the service restarted.
+     *
+     * @return whether this is the first corruption reported
+     */
+    public boolean markCorrupt(CorruptJournalException e) {
+        boolean first = corruption == null;
+        corruption = e.getMessage();
+        return first;
+    }
+
+    /**
+     * @return why the journal stopped accepting deals, or {@code null} while it is healthy
+     */
+    public String corruption() {
+        return corruption;
+    }
+
+    /**
+     * @return the last sequence written before this run; records up to it are replayed
+     */
+    public long recoveredSequence() {
+        return recoveredSequence;
+    }
+
+    public long pending() {
+        return publishedSequence - appliedSequence;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+        if (properties.fsync() != FsyncPolicy.NONE) {
+            writeSegment.force();
+        }
+        log.info("Deal journal closed with {} records pending", pending());
+    }
+
+    private void deleteAppliedSegments() throws IOException {
+        long firstNeeded = baseOf(appliedSequence + 1);
+        oldestSegmentBase = firstNeeded;
+        for (long base : segmentBases()) {
+            if (base < firstNeeded) {
+                if (base == readSegmentBase) {
+                    readSegment = null;
+                    readSegmentBase = -1;
+                }
+                Files.deleteIfExists(segmentPath(base));
+            }
+        }
+    }
+
+    private void rotate(long sequence) {
+        if (properties.fsync() != FsyncPolicy.NONE) {
+            writeSegment.force();
+        }
+        writeSegmentBase = baseOf(sequence);
+        writeSegment = mapQuietly(writeSegmentBase, FileChannel.MapMode.READ_WRITE);
+    }
+
+    private void flushPeriodically() {
+        long intervalMillis = Math.max(1, properties.fsyncInterval().toMillis());
+        while (open) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            synchronized (this) {
+                if (open) {
+                    writeSegment.force();
+                }
+            }
+        }
+    }
+
+    private long baseOf(long sequence) {
+        return (sequence - 1) / recordsPerSegment * recordsPerSegment + 1;
+    }
+
+    private int slotOffset(long sequence) {
+        return (int) ((sequence - 1) % recordsPerSegment) * RECORD_SIZE;
+    }
+
+    private Path segmentPath(long base) {
+        return properties.directory().resolve(SEGMENT_PREFIX + String.format("%020d", base) + SEGMENT_SUFFIX);
+    }
+
+    private List<Long> segmentBases() throws IOException {
+        try (Stream<Path> files = Files.list(properties.directory())) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name, SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length(), 10))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path checkpoint = properties.directory().resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(checkpoint)).getLong();
+    }
+
+    private ByteBuffer mapQuietly(long base) {
+        return mapQuietly(base, FileChannel.MapMode.READ_ONLY);
+    }
+
+    private MappedByteBuffer mapQuietly(long base, FileChannel.MapMode mode) {
+        try {
+            return map(base, mode);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map deal journal segment " + segmentPath(base), e);
+        }
+    }
+
+    private MappedByteBuffer map(long base, FileChannel.MapMode mode) throws IOException {
+        Path path = segmentPath(base);
+        long size = recordsPerSegment * RECORD_SIZE;
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_WRITE
+                ? new StandardOpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return channel.map(mode, 0, size);
+        }
+    }
+}
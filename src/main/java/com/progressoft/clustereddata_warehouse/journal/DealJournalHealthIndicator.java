@@ -0,0 +1,31 @@
+package com.progressoft.clustereddata_warehouse.journal;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code DOWN} once the applier has hit a corrupt record, since acknowledged deals
+ * behind it can no longer reach the database.
+ */
+@Component
+public class DealJournalHealthIndicator implements HealthIndicator {
+
+    private final DealJournal journal;
+
+    public DealJournalHealthIndicator(DealJournal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public Health health() {
+        if (!journal.isEnabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        Health.Builder health = journal.corruption() == null ? Health.up()
+                : Health.down().withDetail("error", journal.corruption());
+        return health.withDetail("applied", journal.appliedSequence())
+                .withDetail("pending", journal.pending())
+                .build();
+    }
+}
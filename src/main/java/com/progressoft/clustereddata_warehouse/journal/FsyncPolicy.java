@@ -0,0 +1,17 @@
+package com.progressoft.clustereddata_warehouse.journal;
+
+public enum FsyncPolicy {
+    /**
+     * Force the record to disk before the append returns; survives power loss.
+     */
+    ALWAYS,
+    /**
+     * Force dirty pages every {@code fsync-interval}; survives a process crash, may lose the
+     * last interval on power loss.
+     */
+    INTERVAL,
+    /**
+     * Leave write-back to the OS; survives a process crash only.
+     */
+    NONE
+}
@@ -0,0 +1,180 @@
+package com.progressoft.clustereddata_warehouse.journal;
+
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealLookupService;
+import com.progressoft.clustereddata_warehouse.Service.implementation.IngestionTracker;
+import com.progressoft.clustereddata_warehouse.config.AsyncIngestionProperties;
+import com.progressoft.clustereddata_warehouse.config.JournalProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeStatus;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.IngestionState;
+import com.progressoft.clustereddata_warehouse.exception.DealNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Commits journaled deals to the database in order, one group per read, and advances the
+ * journal checkpoint after each successful commit. Records left over from a previous run are
+ * replayed first; replay is safe because the batch service reports already stored IDs as
+ * duplicates instead of inserting them twice. A group committed just before a crash, but not
+ * checkpointed, comes back as duplicates on replay; those deals are reported
+ * {@code COMMITTED} when the stored deal matches the journaled one. A failed read or group
+ * is retried after a back-off so nothing acknowledged is lost while the database is
+ * unavailable; a corrupt record also marks the journal corrupt, which turns the health check
+ * {@code DOWN} and stops new async deals.
+ */
+@Component
+@Slf4j
+public class JournalApplier {
+
+    private final DealJournal journal;
+    private final FxDealBatchService fxDealBatchService;
+    private final FxDealLookupService fxDealLookupService;
+    private final IngestionTracker ingestionTracker;
+    private final JournalProperties properties;
+    private final AsyncIngestionProperties asyncProperties;
+
+    private final Set<String> replayedIds = new HashSet<>();
+
+    private volatile boolean running;
+    private Thread applier;
+
+    public JournalApplier(DealJournal journal, FxDealBatchService fxDealBatchService,
+                          FxDealLookupService fxDealLookupService, IngestionTracker ingestionTracker,
+                          JournalProperties properties, AsyncIngestionProperties asyncProperties) {
+        this.journal = journal;
+        this.fxDealBatchService = fxDealBatchService;
+        this.fxDealLookupService = fxDealLookupService;
+        this.ingestionTracker = ingestionTracker;
+        this.properties = properties;
+        this.asyncProperties = asyncProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!journal.isEnabled()) {
+            return;
+        }
+        running = true;
+        applier = Thread.ofPlatform().name("deal-journal-applier").start(this::applyLoop);
+    }
+
+    private void applyLoop() {
+        long idleWaitNanos = properties.applyIdleWait().toNanos();
+        while (running || journal.pending() > 0) {
+            long from = journal.appliedSequence() + 1;
+            try {
+                List<JournalRecord> records = journal.read(from, properties.applyBatchSize());
+                if (records.isEmpty()) {
+                    LockSupport.parkNanos(idleWaitNanos);
+                    continue;
+                }
+                apply(records);
+            } catch (CorruptJournalException e) {
+                if (journal.markCorrupt(e)) {
+                    log.error("Deal journal is corrupt, async ingestion paused with {} deals pending until it is"
+                            + " repaired", journal.pending(), e);
+                }
+                if (!backOff()) {
+                    return;
+                }
+            } catch (RuntimeException | IOException e) {
+                log.error("Failed to apply journaled deals from sequence {}, retrying in {}", from,
+                        properties.applyRetryBackoff(), e);
+                if (!backOff()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether to retry; a failure during shutdown leaves the rest for the next start
+     */
+    private boolean backOff() {
+        if (!running) {
+            return false;
+        }
+        LockSupport.parkNanos(properties.applyRetryBackoff().toNanos());
+        return true;
+    }
+
+    void apply(List<JournalRecord> records) throws IOException {
+        BatchDealResponseDto result = fxDealBatchService.saveAll(records.stream().map(JournalRecord::deal).toList());
+        journal.markApplied(records.getLast().sequence());
+        for (DealOutcomeDto outcome : result.results()) {
+            JournalRecord record = records.get(outcome.index());
+            if (ingestionTracker.find(record.trackingId()).isEmpty()) {
+                ingestionTracker.track(record.trackingId(), record.deal().id());
+            }
+            if (record.sequence() <= journal.recoveredSequence() && replayedIds.add(record.deal().id())
+                    && outcome.status() == DealOutcomeStatus.DUPLICATE && isStored(record.deal())) {
+                ingestionTracker.update(record.trackingId(), IngestionState.COMMITTED, null);
+                continue;
+            }
+            ingestionTracker.update(record.trackingId(), stateOf(outcome), outcome.reason());
+        }
+        if (records.getLast().sequence() >= journal.recoveredSequence()) {
+            replayedIds.clear();
+        }
+    }
+
+    /**
+     * Only the first replayed record of an ID can be the one committed before the crash; a
+     * later record with that ID was a duplicate when it was sent as well.
+     */
+    private boolean isStored(FxDealRequestDto deal) {
+        FxDealResponseDto stored;
+        try {
+            stored = fxDealLookupService.findById(deal.id());
+        } catch (DealNotFoundException e) {
+            return false;
+        }
+        return stored.fromCurrency().equals(deal.fromCurrency())
+                && stored.toCurrency().equals(deal.toCurrency())
+                && Math.abs(Duration.between(stored.dealTimestamp(), deal.dealTimestamp()).toNanos()) < 1_000
+                && BigDecimal.valueOf(deal.dealAmount()).setScale(2, RoundingMode.HALF_UP)
+                .compareTo(BigDecimal.valueOf(stored.dealAmount())) == 0;
+    }
+
+    private static IngestionState stateOf(DealOutcomeDto outcome) {
+        return switch (outcome.status()) {
+            case ACCEPTED -> IngestionState.COMMITTED;
+            case DUPLICATE -> IngestionState.DUPLICATE;
+            case INVALID -> IngestionState.REJECTED;
+        };
+    }
+
+    /**
+     * Gives the applier up to {@code fx-deals.async.shutdown-timeout} to catch up; whatever is
+     * still pending afterwards stays in the journal and is replayed on the next start.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (applier == null) {
+            return;
+        }
+        running = false;
+        applier.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(asyncProperties.shutdownTimeout().toNanos())));
+        if (applier.isAlive()) {
+            applier.interrupt();
+            log.warn("Journal applier stopped with {} deals pending replay", journal.pending());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.progressoft.clustereddata_warehouse.journal;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+
+public record JournalRecord(long sequence, String trackingId, FxDealRequestDto deal) {
+}
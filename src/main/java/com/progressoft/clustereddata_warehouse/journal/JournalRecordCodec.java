@@ -0,0 +1,105 @@
+package com.progressoft.clustereddata_warehouse.journal;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Fixed-size binary layout of a journaled deal. Every record occupies {@link #RECORD_SIZE}
+ * bytes, so record {@code n} of a segment lives at {@code n * RECORD_SIZE}:
+ *
+ * <pre>
+ *   0  int    marker (written last; a record without it was never completed)
+ *   4  int    CRC32C of bytes 8..RECORD_SIZE
+ *   8  long   sequence
+ *  16  long   tracking ID, most significant bits
+ *  24  long   tracking ID, least significant bits
+ *  32  long   deal timestamp, epoch seconds (UTC)
+ *  40  int    deal timestamp, nanos
+ *  44  long   deal amount, IEEE 754 bits
+ *  52  3B     from currency, ASCII
+ *  55  3B     to currency, ASCII
+ *  58  short  deal ID length in bytes
+ *  60  ...    deal ID, UTF-8
+ * </pre>
+ */
+public final class JournalRecordCodec {
+
+    public static final int RECORD_SIZE = 1024;
+
+    private static final int MARKER = 0x46584431;
+    private static final int CRC_OFFSET = 4;
+    private static final int BODY_OFFSET = 8;
+    private static final int ID_OFFSET = 60;
+    private static final int MAX_ID_BYTES = RECORD_SIZE - ID_OFFSET;
+
+    private JournalRecordCodec() {
+    }
+
+    public static void encode(ByteBuffer buffer, int offset, long sequence, UUID trackingId, FxDealRequestDto deal) {
+        byte[] id = deal.id().getBytes(StandardCharsets.UTF_8);
+        if (id.length > MAX_ID_BYTES) {
+            throw new IllegalArgumentException("Deal ID too long for the journal: " + id.length + " bytes");
+        }
+        buffer.putInt(offset, 0);
+        buffer.putLong(offset + 8, sequence);
+        buffer.putLong(offset + 16, trackingId.getMostSignificantBits());
+        buffer.putLong(offset + 24, trackingId.getLeastSignificantBits());
+        buffer.putLong(offset + 32, deal.dealTimestamp().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(offset + 40, deal.dealTimestamp().getNano());
+        buffer.putLong(offset + 44, Double.doubleToRawLongBits(deal.dealAmount()));
+        putAscii(buffer, offset + 52, deal.fromCurrency());
+        putAscii(buffer, offset + 55, deal.toCurrency());
+        buffer.putShort(offset + 58, (short) id.length);
+        buffer.put(offset + ID_OFFSET, id);
+        for (int i = offset + ID_OFFSET + id.length; i < offset + RECORD_SIZE; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.putInt(offset + CRC_OFFSET, checksum(buffer, offset));
+        buffer.putInt(offset, MARKER);
+    }
+
+    /**
+     * @return the record, or {@code null} when the slot is empty, torn or corrupt
+     */
+    public static JournalRecord decode(ByteBuffer buffer, int offset) {
+        if (buffer.getInt(offset) != MARKER || buffer.getInt(offset + CRC_OFFSET) != checksum(buffer, offset)) {
+            return null;
+        }
+        int idLength = buffer.getShort(offset + 58);
+        byte[] id = new byte[idLength];
+        buffer.get(offset + ID_OFFSET, id);
+        FxDealRequestDto deal = new FxDealRequestDto(
+                new String(id, StandardCharsets.UTF_8),
+                getAscii(buffer, offset + 52),
+                getAscii(buffer, offset + 55),
+                LocalDateTime.ofEpochSecond(buffer.getLong(offset + 32), buffer.getInt(offset + 40), ZoneOffset.UTC),
+                Double.longBitsToDouble(buffer.getLong(offset + 44))
+        );
+        UUID trackingId = new UUID(buffer.getLong(offset + 16), buffer.getLong(offset + 24));
+        return new JournalRecord(buffer.getLong(offset + 8), trackingId.toString(), deal);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + BODY_OFFSET, RECORD_SIZE - BODY_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static void putAscii(ByteBuffer buffer, int offset, String code) {
+        for (int i = 0; i < 3; i++) {
+            buffer.put(offset + i, (byte) code.charAt(i));
+        }
+    }
+
+    private static String getAscii(ByteBuffer buffer, int offset) {
+        byte[] bytes = new byte[3];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,128 @@
+package com.progressoft.clustereddata_warehouse.metrics;
+
+import com.progressoft.clustereddata_warehouse.config.DealMetricsProperties;
+import com.progressoft.clustereddata_warehouse.utils.CurrencyCodes;
+import com.progressoft.clustereddata_warehouse.utils.CurrencyValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Stage timers ({@code fxdeals.deal.stage}) and outcome counters ({@code fxdeals.deal.outcome})
+ * for the single-deal path.
+ * <p>
+ * Outcome counters are tagged by currency pair. Only pairs of known currencies get their own
+ * tag, and only the first {@code max-currency-pairs} of them, so cardinality stays bounded
+ * whatever clients send. Pairs are looked up by their packed 30-bit code in a fixed
+ * open-addressing table, which needs no locking or allocation once the pair has been seen.
+ */
+@Component
+public class DealMetrics {
+
+    private static final String OTHER_PAIR = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final CurrencyValidator currencyValidator;
+    private final Timer[] stageTimers;
+    private final int maxPairs;
+    private final AtomicReferenceArray<PairCounters> pairs;
+    private final PairCounters otherPair;
+    private volatile int pairCount;
+
+    public DealMetrics(MeterRegistry meterRegistry, CurrencyValidator currencyValidator,
+                       DealMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.currencyValidator = currencyValidator;
+        this.stageTimers = new Timer[DealStage.values().length];
+        for (DealStage stage : DealStage.values()) {
+            stageTimers[stage.ordinal()] = Timer.builder("fxdeals.deal.stage")
+                    .description("Time spent in each step of a single-deal request")
+                    .tag("stage", stage.tag)
+                    .register(meterRegistry);
+        }
+        this.maxPairs = properties.maxCurrencyPairs();
+        this.pairs = new AtomicReferenceArray<>(Integer.highestOneBit(Math.max(1, maxPairs)) * 4);
+        this.otherPair = new PairCounters(-1, OTHER_PAIR);
+    }
+
+    /**
+     * Records the time since {@code startNanos} against {@code stage} and returns the end time,
+     * so consecutive stages can be chained.
+     */
+    public long record(DealStage stage, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers[stage.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void outcome(DealOutcome outcome, CharSequence fromCurrency, CharSequence toCurrency) {
+        pairCounters(fromCurrency, toCurrency).increment(outcome);
+    }
+
+    private PairCounters pairCounters(CharSequence fromCurrency, CharSequence toCurrency) {
+        int from = CurrencyCodes.pack(fromCurrency);
+        int to = CurrencyCodes.pack(toCurrency);
+        if (from == CurrencyCodes.INVALID || to == CurrencyCodes.INVALID) {
+            return otherPair;
+        }
+        int key = from << 15 | to;
+        int mask = pairs.length() - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            PairCounters counters = pairs.get(slot);
+            if (counters == null) {
+                boolean known = currencyValidator.isValid(from) && currencyValidator.isValid(to);
+                return known && pairCount < maxPairs ? register(key, from, to) : otherPair;
+            }
+            if (counters.key == key) {
+                return counters;
+            }
+        }
+    }
+
+    private synchronized PairCounters register(int key, int from, int to) {
+        int mask = pairs.length() - 1;
+        int slot = mix(key) & mask;
+        for (PairCounters existing; (existing = pairs.get(slot)) != null; slot = (slot + 1) & mask) {
+            if (existing.key == key) {
+                return existing;
+            }
+        }
+        if (pairCount >= maxPairs) {
+            return otherPair;
+        }
+        PairCounters counters = new PairCounters(key, CurrencyCodes.unpack(from) + "/" + CurrencyCodes.unpack(to));
+        pairs.set(slot, counters);
+        pairCount++;
+        return counters;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private final class PairCounters {
+
+        private final int key;
+        private final Counter[] counters = new Counter[DealOutcome.values().length];
+
+        private PairCounters(int key, String pair) {
+            this.key = key;
+            for (DealOutcome outcome : DealOutcome.values()) {
+                counters[outcome.ordinal()] = Counter.builder("fxdeals.deal.outcome")
+                        .description("Single-deal requests by result and currency pair")
+                        .tag("result", outcome.tag)
+                        .tag("pair", pair)
+                        .register(meterRegistry);
+            }
+        }
+
+        private void increment(DealOutcome outcome) {
+            counters[outcome.ordinal()].increment();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.progressoft.clustereddata_warehouse.metrics;
+
+import java.util.Locale;
+
+public enum DealOutcome {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    INVALID_CURRENCY,
+    UNKNOWN_CURRENCY,
+    ERROR;
+
+    final String tag = name().toLowerCase(Locale.ROOT);
+}
@@ -0,0 +1,20 @@
+package com.progressoft.clustereddata_warehouse.metrics;
+
+import java.util.Locale;
+
+/**
+ * Steps of a single-deal request, in order. {@code CONNECTION} covers acquiring a connection
+ * and beginning the transaction; {@code INSERT} is the duplicate check and the write, which
+ * are one {@code INSERT ... ON CONFLICT DO NOTHING} statement.
+ */
+public enum DealStage {
+    BINDING,
+    VALIDATION,
+    CURRENCY,
+    MAPPING,
+    CONNECTION,
+    INSERT,
+    COMMIT;
+
+    final String tag = name().toLowerCase(Locale.ROOT);
+}
@@ -0,0 +1,64 @@
+package com.progressoft.clustereddata_warehouse.metrics;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.executable.ExecutableValidator;
+import jakarta.validation.metadata.BeanDescriptor;
+
+import java.util.Set;
+
+/**
+ * Times bean validation of request bodies and counts rejected deals. Only
+ * {@link FxDealRequestDto} is measured; everything else is passed straight through.
+ */
+public class TimedValidator implements Validator {
+
+    private final Validator delegate;
+    private final DealMetrics dealMetrics;
+
+    public TimedValidator(Validator delegate, DealMetrics dealMetrics) {
+        this.delegate = delegate;
+        this.dealMetrics = dealMetrics;
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+        if (!(object instanceof FxDealRequestDto deal)) {
+            return delegate.validate(object, groups);
+        }
+        long start = System.nanoTime();
+        Set<ConstraintViolation<T>> violations = delegate.validate(object, groups);
+        dealMetrics.record(DealStage.VALIDATION, start);
+        if (!violations.isEmpty()) {
+            dealMetrics.outcome(DealOutcome.INVALID, deal.fromCurrency(), deal.toCurrency());
+        }
+        return violations;
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
+        return delegate.validateProperty(object, propertyName, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value,
+                                                         Class<?>... groups) {
+        return delegate.validateValue(beanType, propertyName, value, groups);
+    }
+
+    @Override
+    public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
+        return delegate.getConstraintsForClass(clazz);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        return type.isInstance(this) ? type.cast(this) : delegate.unwrap(type);
+    }
+
+    @Override
+    public ExecutableValidator forExecutables() {
+        return delegate.forExecutables();
+    }
+}
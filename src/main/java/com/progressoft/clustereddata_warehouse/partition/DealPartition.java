@@ -0,0 +1,13 @@
+package com.progressoft.clustereddata_warehouse.partition;
+
+import java.time.LocalDateTime;
+
+/**
+ * A range partition of {@code deals} covering {@code [from, to)}.
+ */
+public record DealPartition(String name, LocalDateTime from, LocalDateTime to) {
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return from.isBefore(end) && start.isBefore(to);
+    }
+}
@@ -0,0 +1,165 @@
+package com.progressoft.clustereddata_warehouse.partition;
+
+import com.progressoft.clustereddata_warehouse.config.DealPartitionProperties;
+import com.progressoft.clustereddata_warehouse.sharding.ShardContext;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps range partitions of {@code deals} created ahead of time and drops the ones past
+ * retention. Partitions are only ever added for ranges no existing partition overlaps, so
+ * changing {@code fx-deals.partitions.interval} takes effect from the next uncovered range.
+ * Each run holds a transaction-scoped advisory lock, so when several instances share a
+ * database one does the work and the others find nothing left to do.
+ */
+@Component
+@Slf4j
+public class DealPartitionManager {
+
+    private static final String LIST_SQL = """
+            SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+            FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'deals'::regclass
+            """;
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\('([^']+)'\\) TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    static final long MAINTENANCE_LOCK = "fx-deals.partitions".hashCode();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DealPartitionProperties properties;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public DealPartitionManager(JdbcTemplate jdbcTemplate, DealPartitionProperties properties,
+                                ShardRouter shardRouter, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        scheduledMaintenance();
+    }
+
+    @Scheduled(initialDelayString = "${fx-deals.partitions.maintenance-interval:1h}",
+            fixedDelayString = "${fx-deals.partitions.maintenance-interval:1h}")
+    public void scheduledMaintenance() {
+        if (!properties.enabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        shardRouter.forEachShard(() -> {
+            try {
+                maintain(now);
+            } catch (DataAccessException e) {
+                log.error("Deal partition maintenance failed on shard {}, retrying on the next run",
+                        ShardContext.current(), e);
+            }
+        });
+    }
+
+    /**
+     * Partitions are listed only once the lock is held, so an instance that waited sees the
+     * ones created by the instance before it.
+     */
+    void maintain(LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + MAINTENANCE_LOCK + ")");
+            List<DealPartition> existing = listPartitions();
+            for (DealPartition partition : missing(now, existing)) {
+                create(partition);
+            }
+            for (DealPartition partition : expired(now, existing)) {
+                drop(partition);
+            }
+        });
+    }
+
+    List<DealPartition> missing(LocalDateTime now, List<DealPartition> existing) {
+        PartitionInterval interval = properties.interval();
+        List<DealPartition> missing = new ArrayList<>();
+        LocalDateTime start = interval.floor(now);
+        for (int i = 0; i <= properties.ahead(); i++) {
+            LocalDateTime from = start;
+            LocalDateTime to = interval.next(from);
+            if (existing.stream().noneMatch(partition -> partition.overlaps(from, to))) {
+                missing.add(new DealPartition(interval.partitionName(from), from, to));
+            }
+            start = to;
+        }
+        return missing;
+    }
+
+    List<DealPartition> expired(LocalDateTime now, List<DealPartition> existing) {
+        if (properties.retention() == null) {
+            return List.of();
+        }
+        LocalDateTime cutoff = now.minus(properties.retention());
+        return existing.stream().filter(partition -> !partition.to().isAfter(cutoff)).toList();
+    }
+
+    List<DealPartition> listPartitions() {
+        return jdbcTemplate.query(LIST_SQL, (rs, rowNum) -> parse(rs.getString(1), rs.getString(2)))
+                .stream()
+                .filter(partition -> partition != null)
+                .toList();
+    }
+
+    /**
+     * @return {@code null} for the default partition
+     */
+    static DealPartition parse(String name, String bound) {
+        Matcher matcher = RANGE_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            return null;
+        }
+        return new DealPartition(name, LocalDateTime.parse(matcher.group(1), BOUND_FORMAT),
+                LocalDateTime.parse(matcher.group(2), BOUND_FORMAT));
+    }
+
+    /**
+     * Deals already in {@code deals_default} for the new range are moved into the partition
+     * before it is attached, since PostgreSQL refuses to attach a range the default partition
+     * still has rows for. Writes to the default partition wait until the attach commits.
+     */
+    private void create(DealPartition partition) {
+        jdbcTemplate.execute("LOCK TABLE deals_default IN EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE " + partition.name() + " (LIKE deals INCLUDING DEFAULTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM deals_default"
+                + " WHERE deal_timestamp >= ? AND deal_timestamp < ? RETURNING *)"
+                + " INSERT INTO " + partition.name() + " SELECT * FROM moved", partition.from(), partition.to());
+        jdbcTemplate.execute("ALTER TABLE deals ATTACH PARTITION " + partition.name()
+                + " FOR VALUES FROM ('" + BOUND_FORMAT.format(partition.from()) + "') TO ('"
+                + BOUND_FORMAT.format(partition.to()) + "')");
+        log.info("Created deal partition {} for [{}, {}), moved {} deals from the default partition",
+                partition.name(), partition.from(), partition.to(), moved);
+    }
+
+    /**
+     * The dropped deals' IDs stay in {@code deal_ids}, so they are still rejected as
+     * duplicates if they are sent again.
+     */
+    private void drop(DealPartition partition) {
+        jdbcTemplate.execute("ALTER TABLE deals DETACH PARTITION " + partition.name());
+        jdbcTemplate.execute("DROP TABLE " + partition.name());
+        log.info("Dropped deal partition {} for [{}, {}) past retention of {}",
+                partition.name(), partition.from(), partition.to(), properties.retention());
+    }
+}
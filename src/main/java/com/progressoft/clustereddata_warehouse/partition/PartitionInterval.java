@@ -0,0 +1,52 @@
+package com.progressoft.clustereddata_warehouse.partition;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+public enum PartitionInterval {
+    DAILY(DateTimeFormatter.ofPattern("yyyyMMdd")) {
+        @Override
+        public LocalDateTime floor(LocalDateTime time) {
+            return time.truncatedTo(ChronoUnit.DAYS);
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime start) {
+            return start.plusDays(1);
+        }
+    },
+    MONTHLY(DateTimeFormatter.ofPattern("yyyyMM")) {
+        @Override
+        public LocalDateTime floor(LocalDateTime time) {
+            return time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.firstDayOfMonth());
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    private final DateTimeFormatter suffix;
+
+    PartitionInterval(DateTimeFormatter suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * @return the start of the partition containing {@code time}
+     */
+    public abstract LocalDateTime floor(LocalDateTime time);
+
+    public abstract LocalDateTime next(LocalDateTime start);
+
+    /**
+     * Daily partitions are named {@code deals_pYYYYMMDD} and monthly ones {@code deals_pYYYYMM},
+     * the format {@code V4__partition_deals.sql} uses for the existing data.
+     */
+    public String partitionName(LocalDateTime start) {
+        return "deals_p" + suffix.format(start);
+    }
+}
@@ -0,0 +1,185 @@
+package com.progressoft.clustereddata_warehouse.replica;
+
+import com.progressoft.clustereddata_warehouse.config.ReadReplicaProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Hands out connections to the replicas that are within {@code max-lag}, picked by
+ * {@link ReplicaSelection}. Replicas start out skipped until their first lag check passes,
+ * and a replica that fails to give a connection is skipped until the next check. When no
+ * replica qualifies the connection comes from the primary, so reads never fail just because
+ * the replicas are behind or down.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final String name;
+    private final DataSource primary;
+    private final Replica[] replicas;
+    private final ReadReplicaProperties properties;
+    private final ReplicaLagProbe lagProbe;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService lagChecker;
+
+    public ReadReplicaDataSource(String name, DataSource primary, List<Replica> replicas,
+                                 ReadReplicaProperties properties, ReplicaLagProbe lagProbe) {
+        this.name = name;
+        this.primary = primary;
+        this.replicas = replicas.toArray(Replica[]::new);
+        this.properties = properties;
+        this.lagProbe = lagProbe;
+    }
+
+    /**
+     * Starts measuring replica lag every {@code lag-check-interval}, beginning now.
+     */
+    public synchronized void start() {
+        if (lagChecker != null) {
+            return;
+        }
+        lagChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name(name + "-replica-lag").daemon().factory());
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, properties.lagCheckInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try {
+                Duration lag = lagProbe.lag(replica.dataSource);
+                replica.lag = lag;
+                replica.setHealthy(lag.compareTo(properties.maxLag()) <= 0,
+                        "replay lag " + lag.toMillis() + " ms against a limit of " + properties.maxLag().toMillis() + " ms");
+            } catch (SQLException | RuntimeException e) {
+                replica.setHealthy(false, "lag check failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public List<Replica> replicas() {
+        return List.of(replicas);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = select();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            replica.setHealthy(false, "connection failed: " + e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = select();
+        if (replica == null) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.dataSource.getConnection(username, password);
+        } catch (SQLException e) {
+            replica.setHealthy(false, "connection failed: " + e.getMessage());
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * @return the replica to read from, or {@code null} to read from the primary
+     */
+    Replica select() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.length);
+        Replica chosen = null;
+        int chosenLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.length; i++) {
+            Replica replica = replicas[(start + i) % replicas.length];
+            if (!replica.healthy) {
+                continue;
+            }
+            if (properties.selection() == ReplicaSelection.ROUND_ROBIN) {
+                return replica;
+            }
+            int load = replica.load.getAsInt();
+            if (load < chosenLoad) {
+                chosen = replica;
+                chosenLoad = load;
+            }
+        }
+        return chosen;
+    }
+
+    @Override
+    public void close() throws Exception {
+        synchronized (this) {
+            if (lagChecker != null) {
+                lagChecker.shutdownNow();
+            }
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final IntSupplier load;
+        private volatile boolean healthy;
+        private volatile Duration lag;
+
+        /**
+         * @param load connections the replica is currently serving or has been asked for
+         */
+        public Replica(String name, DataSource dataSource, IntSupplier load) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.load = load;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean healthy() {
+            return healthy;
+        }
+
+        /**
+         * @return the last measured replay lag, or {@code null} before the first check
+         */
+        public Duration lag() {
+            return lag;
+        }
+
+        private void setHealthy(boolean healthy, String reason) {
+            if (this.healthy == healthy) {
+                return;
+            }
+            this.healthy = healthy;
+            if (healthy) {
+                log.info("Read replica {} back in rotation: {}", name, reason);
+            } else {
+                log.warn("Read replica {} taken out of rotation: {}", name, reason);
+            }
+        }
+    }
+}
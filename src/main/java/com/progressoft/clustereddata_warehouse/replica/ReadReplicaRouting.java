@@ -0,0 +1,66 @@
+package com.progressoft.clustereddata_warehouse.replica;
+
+import com.progressoft.clustereddata_warehouse.config.DataSourcePools;
+import com.progressoft.clustereddata_warehouse.config.DbConcurrencyLimiterProperties;
+import com.progressoft.clustereddata_warehouse.config.ReadReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts a primary data source and its replicas behind a {@link ReadWriteRoutingDataSource}.
+ * Replica pools are read-only and capped by {@code fx-deals.db-limiter} like the primary.
+ */
+@Component
+@Slf4j
+public class ReadReplicaRouting {
+
+    private final ReadReplicaProperties properties;
+    private final DbConcurrencyLimiterProperties limiter;
+    private final MeterRegistry meterRegistry;
+
+    public ReadReplicaRouting(ReadReplicaProperties properties, DbConcurrencyLimiterProperties limiter,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = limiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return {@code primary} itself when read replicas are disabled or {@code nodes} is empty
+     */
+    public DataSource route(String name, DataSource primary, List<ReadReplicaProperties.Node> nodes) {
+        if (!properties.enabled() || nodes.isEmpty()) {
+            return primary;
+        }
+        List<ReadReplicaDataSource.Replica> replicas = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            ReadReplicaProperties.Node node = nodes.get(i);
+            HikariDataSource pool = DataSourcePools.pool(name + "-replica-" + i, node.url(), node.username(),
+                    node.password(), node.maximumPoolSize());
+            pool.setReadOnly(true);
+            ReadReplicaDataSource.Replica replica = new ReadReplicaDataSource.Replica(pool.getPoolName(),
+                    DataSourcePools.limit(pool, limiter), () -> DataSourcePools.load(pool));
+            Gauge.builder("fxdeals.db.replica.lag", replica, r -> r.lag() == null ? Double.NaN : r.lag().toMillis() / 1000.0)
+                    .tag("replica", replica.name())
+                    .baseUnit("seconds")
+                    .description("Replay lag measured at the last check")
+                    .register(meterRegistry);
+            Gauge.builder("fxdeals.db.replica.in.rotation", replica, r -> r.healthy() ? 1 : 0)
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+        ReadReplicaDataSource reads = new ReadReplicaDataSource(name, primary, replicas, properties, ReplicaLagProbe.POSTGRES);
+        reads.start();
+        log.info("Routing read-only transactions on '{}' to {} replicas ({})", name, replicas.size(),
+                properties.selection());
+        return new ReadWriteRoutingDataSource(primary, reads);
+    }
+}
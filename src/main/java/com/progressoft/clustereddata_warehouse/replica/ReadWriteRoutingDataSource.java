@@ -0,0 +1,34 @@
+package com.progressoft.clustereddata_warehouse.replica;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Serves read-only transactions from the replicas and everything else from the primary. The
+ * physical connection is only fetched at the first statement, after the transaction manager
+ * has marked it read-only, so the pool follows the transaction's {@code readOnly} flag. Work
+ * that must see its own or other writes immediately belongs in a read-write transaction.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final ReadReplicaDataSource replicas;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReadReplicaDataSource replicas) {
+        super(primary);
+        this.replicas = replicas;
+        setReadOnlyDataSource(replicas);
+    }
+
+    public ReadReplicaDataSource replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() throws Exception {
+        replicas.close();
+        if (getTargetDataSource() instanceof AutoCloseable primary) {
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.progressoft.clustereddata_warehouse.replica;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+    /**
+     * A replica that has replayed everything it received is not behind, however long ago the
+     * last transaction was; otherwise the lag is the age of the last replayed transaction.
+     * A node that is not in recovery reports no lag.
+     */
+    ReplicaLagProbe POSTGRES = replica -> {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                     SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                                 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END""")) {
+            rs.next();
+            return Duration.ofNanos((long) (rs.getDouble(1) * 1e9));
+        }
+    };
+
+    Duration lag(DataSource replica) throws SQLException;
+}
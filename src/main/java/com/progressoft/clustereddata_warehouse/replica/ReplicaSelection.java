@@ -0,0 +1,8 @@
+package com.progressoft.clustereddata_warehouse.replica;
+
+public enum ReplicaSelection {
+    /** Each read goes to the next replica in turn. */
+    ROUND_ROBIN,
+    /** Each read goes to the replica with the fewest connections in use or awaited. */
+    LEAST_LOADED
+}
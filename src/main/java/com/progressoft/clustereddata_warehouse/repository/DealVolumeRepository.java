@@ -0,0 +1,100 @@
+package com.progressoft.clustereddata_warehouse.repository;
+
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.dto.request.VolumeGranularity;
+import com.progressoft.clustereddata_warehouse.dto.response.DealVolumeDto;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads and maintains the volume rollups from {@code V3__deal_volume_rollups.sql}.
+ */
+@Repository
+public class DealVolumeRepository {
+
+    private static final String AGGREGATE_SQL = """
+            WITH drained AS (
+                DELETE FROM deal_volume_deltas
+                WHERE id IN (SELECT id FROM deal_volume_deltas ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED)
+                RETURNING bucket_start, from_currency, to_currency, deal_count, total_amount
+            ), merged AS (
+                INSERT INTO deal_volume_rollups (granularity, bucket_start, from_currency, to_currency, deal_count, total_amount)
+                SELECT g.granularity, date_trunc(g.unit, d.bucket_start), d.from_currency, d.to_currency,
+                       sum(d.deal_count), sum(d.total_amount)
+                FROM drained d
+                CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour'), ('DAY', 'day')) AS g (granularity, unit)
+                GROUP BY 1, 2, 3, 4
+                ORDER BY 1, 2, 3, 4
+                ON CONFLICT (granularity, bucket_start, from_currency, to_currency) DO UPDATE
+                SET deal_count = deal_volume_rollups.deal_count + EXCLUDED.deal_count,
+                    total_amount = deal_volume_rollups.total_amount + EXCLUDED.total_amount
+            )
+            SELECT count(*) FROM drained
+            """;
+
+    private static final RowMapper<DealVolumeDto> ROW_MAPPER = (rs, rowNum) -> new DealVolumeDto(
+            rs.getObject("bucket_start", LocalDateTime.class),
+            rs.getString("from_currency"),
+            rs.getString("to_currency"),
+            rs.getLong("deal_count"),
+            rs.getBigDecimal("total_amount")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public DealVolumeRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Moves up to {@code batchSize} pending deltas into the minute, hour and day rollups in one
+     * statement. {@code SKIP LOCKED} lets several instances aggregate at once, and upserting in
+     * key order keeps them from deadlocking on the same buckets.
+     *
+     * @return the number of deltas folded
+     */
+    public int aggregate(int batchSize) {
+        Integer drained = jdbcTemplate.queryForObject(AGGREGATE_SQL,
+                new MapSqlParameterSource("batchSize", batchSize), Integer.class);
+        return drained == null ? 0 : drained;
+    }
+
+    /**
+     * Returns the buckets starting in {@code [criteria.from, criteria.to)}. Deltas not yet
+     * folded are added on the fly; the statement sees one snapshot, so every deal is counted
+     * exactly once whether or not the aggregator has reached it.
+     */
+    public List<DealVolumeDto> find(VolumeGranularity granularity, DealSearchCriteria criteria) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("granularity", granularity.name())
+                .addValue("unit", granularity.name().toLowerCase())
+                .addValue("from", criteria.from())
+                .addValue("to", criteria.to());
+        StringBuilder pair = new StringBuilder();
+        if (criteria.fromCurrency() != null) {
+            pair.append(" AND from_currency = :fromCurrency");
+            params.addValue("fromCurrency", criteria.fromCurrency());
+        }
+        if (criteria.toCurrency() != null) {
+            pair.append(" AND to_currency = :toCurrency");
+            params.addValue("toCurrency", criteria.toCurrency());
+        }
+        String sql = "SELECT bucket_start, from_currency, to_currency, sum(deal_count) AS deal_count,"
+                + " sum(total_amount) AS total_amount FROM ("
+                + " SELECT bucket_start, from_currency, to_currency, deal_count, total_amount"
+                + " FROM deal_volume_rollups WHERE granularity = :granularity"
+                + " AND bucket_start >= :from AND bucket_start < :to" + pair
+                + " UNION ALL"
+                + " SELECT date_trunc(:unit, bucket_start) AS bucket_start, from_currency, to_currency, deal_count,"
+                + " total_amount FROM deal_volume_deltas"
+                + " WHERE date_trunc(:unit, bucket_start) >= :from AND date_trunc(:unit, bucket_start) < :to" + pair
+                + ") volumes GROUP BY bucket_start, from_currency, to_currency"
+                + " ORDER BY bucket_start, from_currency, to_currency";
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+}
@@ -0,0 +1,140 @@
+package com.progressoft.clustereddata_warehouse.repository;
+
+import com.progressoft.clustereddata_warehouse.entity.FxDeal;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Loads deals with PostgreSQL {@code COPY FROM STDIN} into a session temp table and merges
+ * the staged rows into {@code deals} with {@code ON CONFLICT DO NOTHING}, so duplicates are
+ * still detected by the primary key. Temp tables are never WAL-logged, which is what makes
+ * the staging step cheap.
+ */
+@Repository
+@Slf4j
+public class FxDealBulkLoader {
+
+    static final String COLUMNS = "id, from_currency, to_currency, deal_amount, deal_timestamp";
+
+    private static final String CREATE_STAGE_SQL =
+            "CREATE TEMP TABLE deals_stage (LIKE deals INCLUDING DEFAULTS) ON COMMIT DROP";
+    private static final String COPY_SQL =
+            "COPY deals_stage (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+    private static final String MERGE_SQL =
+            "INSERT INTO deals (" + COLUMNS + ") " +
+            "SELECT DISTINCT ON (id) " + COLUMNS + " FROM deals_stage ORDER BY id " +
+            "ON CONFLICT DO NOTHING";
+
+    private final DataSource dataSource;
+
+    public FxDealBulkLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public Session open() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGE_SQL);
+            }
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            return new Session(connection, copyIn);
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            connection.close();
+            throw e;
+        }
+    }
+
+    public record Result(long staged, long inserted) {
+        public long duplicates() {
+            return staged - inserted;
+        }
+    }
+
+    public static final class Session implements AutoCloseable {
+
+        private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+        private final Connection connection;
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+        private boolean finished;
+
+        private Session(Connection connection, CopyIn copyIn) {
+            this.connection = connection;
+            this.copyIn = copyIn;
+        }
+
+        public void add(FxDeal deal) throws SQLException {
+            appendQuoted(deal.getId()).append(',')
+                    .append(deal.getFromCurrency()).append(',')
+                    .append(deal.getToCurrency()).append(',')
+                    .append(deal.getDealAmount().toPlainString()).append(',')
+                    .append(deal.getDealTimestamp()).append('\n');
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+
+        /**
+         * Ends the COPY, merges the staged rows and commits.
+         */
+        public Result finish() throws SQLException {
+            flush();
+            long staged = copyIn.endCopy();
+            long inserted;
+            try (Statement statement = connection.createStatement()) {
+                inserted = statement.executeUpdate(MERGE_SQL);
+            }
+            connection.commit();
+            finished = true;
+            log.info("Bulk load merged {} staged deals, {} inserted", staged, inserted);
+            return new Result(staged, inserted);
+        }
+
+        private StringBuilder appendQuoted(String value) {
+            buffer.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    buffer.append('"');
+                }
+                buffer.append(c);
+            }
+            return buffer.append('"');
+        }
+
+        private void flush() throws SQLException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (!finished) {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                    connection.rollback();
+                }
+            } finally {
+                connection.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.progressoft.clustereddata_warehouse.repository;
+
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.config.ExportProperties;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.utils.DealRecordWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read side of the deals table. Rows are projected straight into {@link FxDealResponseDto}
+ * without going through the persistence context.
+ */
+@Repository
+public class FxDealQueryRepository {
+
+    private static final String SELECT = "SELECT id, from_currency, to_currency, deal_timestamp, deal_amount FROM deals";
+    // Byte order rather than the database collation, to match ShardMerge.ID_ORDER and the V6 indexes
+    private static final String ORDER_BY = " ORDER BY deal_timestamp, id COLLATE \"C\"";
+
+    private static final RowMapper<FxDealResponseDto> ROW_MAPPER = (rs, rowNum) -> new FxDealResponseDto(
+            rs.getString("id"),
+            rs.getString("from_currency"),
+            rs.getString("to_currency"),
+            rs.getObject("deal_timestamp", LocalDateTime.class),
+            rs.getBigDecimal("deal_amount").doubleValue()
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate cursorTemplate;
+
+    public FxDealQueryRepository(NamedParameterJdbcTemplate jdbcTemplate, ExportProperties exportProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        cursor.setFetchSize(exportProperties.fetchSize());
+        this.cursorTemplate = new NamedParameterJdbcTemplate(cursor);
+    }
+
+    /**
+     * Runs outside a read-only transaction, so the primary answers and a deal is found as soon
+     * as its insert commits.
+     */
+    public Optional<FxDealResponseDto> findById(String id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = :id", new MapSqlParameterSource("id", id), ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Returns up to {@code limit} deals ordered by {@code (deal_timestamp, id)} that come
+     * strictly after the given position, or from the start when {@code afterTimestamp} is
+     * {@code null}. Seeking with a row comparison lets the database start the index scan at
+     * the position, so every page costs the same however deep it is.
+     */
+    public List<FxDealResponseDto> findPage(DealSearchCriteria criteria, LocalDateTime afterTimestamp, String afterId,
+                                            int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource params = where(criteria, sql).addValue("limit", limit);
+        if (afterTimestamp != null) {
+            sql.append(" AND (deal_timestamp, id COLLATE \"C\") > (:afterTimestamp, :afterId)");
+            params.addValue("afterTimestamp", afterTimestamp);
+            params.addValue("afterId", afterId);
+        }
+        sql.append(ORDER_BY).append(" LIMIT :limit");
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    /**
+     * Writes every deal matching {@code criteria} in {@code (deal_timestamp, id)} order and
+     * returns how many were written. Must run inside a transaction: PostgreSQL only honours
+     * the fetch size with auto-commit off, and then keeps a server-side cursor open so just
+     * one fetch of rows is in memory at a time.
+     */
+    public long stream(DealSearchCriteria criteria, DealRecordWriter writer) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource params = where(criteria, sql);
+        sql.append(ORDER_BY);
+        long[] rows = {0};
+        cursorTemplate.query(sql.toString(), params, rs -> {
+            try {
+                writer.write(rs.getString(1), rs.getString(2), rs.getString(3),
+                        rs.getObject(4, LocalDateTime.class), rs.getBigDecimal(5));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private static MapSqlParameterSource where(DealSearchCriteria criteria, StringBuilder sql) {
+        sql.append(" WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (criteria.fromCurrency() != null) {
+            sql.append(" AND from_currency = :fromCurrency");
+            params.addValue("fromCurrency", criteria.fromCurrency());
+        }
+        if (criteria.toCurrency() != null) {
+            sql.append(" AND to_currency = :toCurrency");
+            params.addValue("toCurrency", criteria.toCurrency());
+        }
+        if (criteria.from() != null) {
+            sql.append(" AND deal_timestamp >= :from");
+            params.addValue("from", criteria.from());
+        }
+        if (criteria.to() != null) {
+            sql.append(" AND deal_timestamp < :to");
+            params.addValue("to", criteria.to());
+        }
+        return params;
+    }
+}
@@ -5,6 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface FxDealRepository extends JpaRepository<FxDeal, String> {
-
+public interface FxDealRepository extends JpaRepository<FxDeal, String>, FxDealRepositoryCustom {
 }
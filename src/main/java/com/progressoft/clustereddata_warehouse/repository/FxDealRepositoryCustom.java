@@ -0,0 +1,12 @@
+package com.progressoft.clustereddata_warehouse.repository;
+
+import com.progressoft.clustereddata_warehouse.entity.FxDeal;
+
+import java.util.List;
+import java.util.Set;
+
+public interface FxDealRepositoryCustom {
+    boolean insertIfAbsent(FxDeal deal);
+
+    Set<String> insertAllIfAbsent(List<FxDeal> deals);
+}
@@ -0,0 +1,107 @@
+package com.progressoft.clustereddata_warehouse.repository;
+
+import com.progressoft.clustereddata_warehouse.entity.FxDeal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+@Slf4j
+public class FxDealRepositoryCustomImpl implements FxDealRepositoryCustom {
+
+    private static final String INSERT_IF_ABSENT_SQL =
+            "INSERT INTO deals (id, from_currency, to_currency, deal_amount, deal_timestamp) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5) ON CONFLICT DO NOTHING";
+    private static final int COLUMNS = 5;
+    /**
+     * The PostgreSQL wire protocol counts bind parameters in a 16-bit field, so one statement
+     * can carry at most 32767 of them.
+     */
+    static final int MAX_ROWS_PER_STATEMENT = 32767 / COLUMNS;
+
+    private final EntityManager entityManager;
+    private final int rowsPerStatement;
+    private final String fullChunkSql;
+
+    public FxDealRepositoryCustomImpl(EntityManager entityManager,
+                                      @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
+        this.entityManager = entityManager;
+        if (batchSize > MAX_ROWS_PER_STATEMENT) {
+            log.warn("hibernate.jdbc.batch_size {} needs more bind parameters than PostgreSQL allows; "
+                    + "multi-row inserts are capped at {} rows", batchSize, MAX_ROWS_PER_STATEMENT);
+        }
+        this.rowsPerStatement = Math.min(batchSize, MAX_ROWS_PER_STATEMENT);
+        this.fullChunkSql = buildInsertAllSql(rowsPerStatement);
+    }
+
+    /**
+     * Inserts the deal in a single statement and lets the primary key decide whether it is
+     * a duplicate, so there is no separate existence check and no window for concurrent
+     * requests with the same ID to both pass it.
+     *
+     * @return {@code false} when a deal with the same ID already exists
+     */
+    @Override
+    @Transactional
+    public boolean insertIfAbsent(FxDeal deal) {
+        int inserted = entityManager.createNativeQuery(INSERT_IF_ABSENT_SQL)
+                .setParameter(1, deal.getId())
+                .setParameter(2, deal.getFromCurrency())
+                .setParameter(3, deal.getToCurrency())
+                .setParameter(4, deal.getDealAmount())
+                .setParameter(5, deal.getDealTimestamp())
+                .executeUpdate();
+        return inserted == 1;
+    }
+
+    /**
+     * Batch counterpart of {@link #insertIfAbsent}: inserts the deals as multi-row statements of
+     * up to {@code hibernate.jdbc.batch_size} rows, capped at {@link #MAX_ROWS_PER_STATEMENT}, and
+     * lets the primary key skip the ones that already exist, so a concurrent insert of the same
+     * ID does not fail the batch.
+     *
+     * @return the IDs that were actually inserted; every other deal was a duplicate
+     */
+    @Override
+    @Transactional
+    public Set<String> insertAllIfAbsent(List<FxDeal> deals) {
+        Set<String> inserted = new HashSet<>(deals.size() * 2);
+        for (int from = 0; from < deals.size(); from += rowsPerStatement) {
+            List<FxDeal> chunk = deals.subList(from, Math.min(deals.size(), from + rowsPerStatement));
+            Query insert = entityManager.createNativeQuery(insertAllIfAbsentSql(chunk.size()));
+            int parameter = 1;
+            for (FxDeal deal : chunk) {
+                insert.setParameter(parameter++, deal.getId())
+                        .setParameter(parameter++, deal.getFromCurrency())
+                        .setParameter(parameter++, deal.getToCurrency())
+                        .setParameter(parameter++, deal.getDealAmount())
+                        .setParameter(parameter++, deal.getDealTimestamp());
+            }
+            for (Object id : insert.getResultList()) {
+                inserted.add((String) id);
+            }
+        }
+        return inserted;
+    }
+
+    private String insertAllIfAbsentSql(int rows) {
+        return rows == rowsPerStatement ? fullChunkSql : buildInsertAllSql(rows);
+    }
+
+    private static String buildInsertAllSql(int rows) {
+        StringJoiner values = new StringJoiner(", ",
+                "INSERT INTO deals (id, from_currency, to_currency, deal_amount, deal_timestamp) VALUES ",
+                " ON CONFLICT DO NOTHING RETURNING id");
+        for (int row = 0, parameter = 1; row < rows; row++, parameter += COLUMNS) {
+            values.add("(?" + parameter + ", ?" + (parameter + 1) + ", ?" + (parameter + 2)
+                    + ", ?" + (parameter + 3) + ", ?" + (parameter + 4) + ")");
+        }
+        return values.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.progressoft.clustereddata_warehouse.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Persistent tier of the idempotency cache, in the {@code idempotency_keys} table from
+ * {@code V5__idempotency_keys.sql}. Expiry is computed with the database clock so every
+ * instance agrees on it. With sharding enabled the table is read and written on the first shard.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    private static final String FIND_SQL =
+            "SELECT request_hash, response FROM idempotency_keys WHERE idempotency_key = ? AND expires_at > now()";
+    private static final String SAVE_SQL =
+            "INSERT INTO idempotency_keys (idempotency_key, request_hash, response, expires_at) " +
+            "VALUES (?, ?, ?::jsonb, now() + ? * interval '1 millisecond') " +
+            "ON CONFLICT (idempotency_key) DO UPDATE " +
+            "SET request_hash = EXCLUDED.request_hash, response = EXCLUDED.response, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at <= now()";
+    private static final String PURGE_SQL = "DELETE FROM idempotency_keys WHERE expires_at <= now()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<StoredResponse> find(String idempotencyKey) {
+        return jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new StoredResponse(rs.getString("request_hash"), rs.getString("response")),
+                idempotencyKey).stream().findFirst();
+    }
+
+    /**
+     * Keeps the first live response stored for a key; an expired row is replaced.
+     */
+    public void save(String idempotencyKey, StoredResponse response, Duration ttl) {
+        jdbcTemplate.update(SAVE_SQL, idempotencyKey, response.requestHash(), response.responseJson(), ttl.toMillis());
+    }
+
+    public int purgeExpired() {
+        return jdbcTemplate.update(PURGE_SQL);
+    }
+
+    public record StoredResponse(String requestHash, String responseJson) {
+    }
+}
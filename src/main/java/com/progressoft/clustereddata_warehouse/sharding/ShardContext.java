@@ -0,0 +1,47 @@
+package com.progressoft.clustereddata_warehouse.sharding;
+
+/**
+ * The shard that {@link ShardRoutingDataSource} hands out connections for on the current
+ * thread. It is read when a connection is obtained, so it has to be set before a
+ * transaction begins; switching it inside a transaction has no effect.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the current shard, or {@code null} outside any {@link #call}
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T, E extends Exception> T call(int shard, ShardAction<T, E> action) throws E {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void run(int shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    public interface ShardAction<T, E extends Exception> {
+        T get() throws E;
+    }
+}
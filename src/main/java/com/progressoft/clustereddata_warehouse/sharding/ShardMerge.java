@@ -0,0 +1,77 @@
+package com.progressoft.clustereddata_warehouse.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public final class ShardMerge {
+
+    /**
+     * Orders deal IDs by code point, which is the byte order of PostgreSQL's {@code "C"}
+     * collation for UTF-8. Shard queries sort {@code id COLLATE "C"} so that merging their
+     * results with this comparator keeps the order every shard returned.
+     */
+    public static final Comparator<String> ID_ORDER = ShardMerge::compareCodePoints;
+
+    private ShardMerge() {
+    }
+
+    /**
+     * Merges per-shard results that are each sorted by {@code order} and keeps the first
+     * {@code limit}.
+     */
+    public static <T> List<T> mergeSorted(List<List<T>> perShard, Comparator<? super T> order, int limit) {
+        if (perShard.size() == 1) {
+            List<T> only = perShard.getFirst();
+            return only.size() <= limit ? only : only.subList(0, limit);
+        }
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.head(), b.head()));
+        for (List<T> rows : perShard) {
+            if (!rows.isEmpty()) {
+                heads.add(new Cursor<>(rows));
+            }
+        }
+        List<T> merged = new ArrayList<>(Math.min(limit, perShard.stream().mapToInt(List::size).sum()));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Cursor<T> cursor = heads.poll();
+            merged.add(cursor.head());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int x = a.codePointAt(i);
+            int y = b.codePointAt(j);
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+            i += Character.charCount(x);
+            j += Character.charCount(y);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private static final class Cursor<T> {
+        private final List<T> rows;
+        private int position;
+
+        private Cursor(List<T> rows) {
+            this.rows = rows;
+        }
+
+        private T head() {
+            return rows.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < rows.size();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.progressoft.clustereddata_warehouse.sharding;
+
+import com.progressoft.clustereddata_warehouse.config.ShardingProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Maps deal IDs to shards and runs work on them. Everything keyed by a deal ID, including
+ * its duplicate check, runs on that ID's shard only; everything else is sent to every shard
+ * in parallel and merged by the caller. With a single shard all of it runs inline.
+ */
+@Component
+public class ShardRouter {
+
+    private final int shardCount;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("deal-shard-", 0).factory());
+
+    public ShardRouter(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+        this.shardCount = properties.shardCount();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * {@link String#hashCode()} is fixed by the language specification, so the mapping is
+     * the same on every instance and across restarts; the finalizer spreads IDs that only
+     * differ in their last characters.
+     */
+    public int shardOf(String dealId) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        int hash = dealId.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, shardCount);
+    }
+
+    public <T, E extends Exception> T onShard(String dealId, ShardContext.ShardAction<T, E> action) throws E {
+        return ShardContext.call(shardOf(dealId), action);
+    }
+
+    /**
+     * Runs {@code action} with each shard as the current one, in parallel, and returns the
+     * results in shard order.
+     */
+    public <T> List<T> onEveryShard(IntFunction<T> action) {
+        if (shardCount == 1) {
+            return Collections.singletonList(ShardContext.call(0, () -> action.apply(0)));
+        }
+        List<Future<T>> futures = submitToEveryShard(action);
+        List<T> results = new ArrayList<>(shardCount);
+        for (Future<T> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    /**
+     * Like {@link #onEveryShard} but returns immediately; for callers that consume the
+     * shards' output while they are still producing it.
+     */
+    public <T> List<Future<T>> submitToEveryShard(IntFunction<T> action) {
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(executor.submit(() -> ShardContext.call(target, () -> action.apply(target))));
+        }
+        return futures;
+    }
+
+    /**
+     * Runs {@code query} in a read-only transaction on every shard, which the shard's read
+     * replicas serve when they are enabled.
+     */
+    public <T> List<T> scatter(Supplier<T> query) {
+        return onEveryShard(shard -> readOnlyTransaction.execute(status -> query.get()));
+    }
+
+    /**
+     * Runs {@code action} on each shard in turn, for maintenance that should not load every
+     * node at once.
+     */
+    public void forEachShard(Runnable action) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            ShardContext.run(shard, action);
+        }
+    }
+
+    public static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shard", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Shard task failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
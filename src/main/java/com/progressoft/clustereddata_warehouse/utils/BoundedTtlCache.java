@@ -0,0 +1,217 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent cache that keeps each value for a fixed time-to-live and at most
+ * {@code maxEntries} values, dropping the oldest first. Every entry shares the same TTL, so
+ * insertion order is also expiry order and one FIFO queue serves both limits without locking.
+ * Queue nodes whose entry was replaced, invalidated or failed to load are skipped once they reach
+ * the head, and the queue is compacted whenever it grows past twice {@code maxEntries}, so such
+ * nodes cannot pile up behind a long-lived head.
+ * <p>
+ * Callers that ask for a key while its value is still being loaded wait for that load instead
+ * of starting their own. A load that throws is not cached: its waiters see the same exception
+ * and the next call loads again.
+ * <p>
+ * Hits, misses and evictions are counted on striped counters so they can be exported as
+ * metrics without adding contention.
+ */
+public final class BoundedTtlCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Queued<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedTtlCache(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    BoundedTtlCache(Duration ttl, int maxEntries, LongSupplier nanoClock) {
+        if (ttl.isNegative() || ttl.isZero() || maxEntries <= 0) {
+            throw new IllegalArgumentException("ttl and maxEntries must be positive");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return the live value for {@code key}, loading it on the calling thread when there is none
+     */
+    public V get(K key, Supplier<V> loader) {
+        long now = nanoClock.getAsLong();
+        Entry<V> created = new Entry<>(now + ttlNanos);
+        Entry<V> existing;
+        while ((existing = entries.putIfAbsent(key, created)) != null) {
+            if (!existing.expiredAt(now)) {
+                hits.increment();
+                return await(existing.value);
+            }
+            entries.remove(key, existing);
+        }
+        misses.increment();
+        enqueue(key, created, now);
+
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, created);
+            created.value.completeExceptionally(e);
+            throw e;
+        }
+        created.value.complete(value);
+        return value;
+    }
+
+    /**
+     * @return the live value for {@code key}, or {@code null} when there is none or it is still loading
+     */
+    public V getIfPresent(K key) {
+        V value = peek(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Same as {@link #getIfPresent} but without counting a hit or miss, for callers that only
+     * consult the cache to decide whether to go on to {@link #get}.
+     */
+    public V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.expiredAt(nanoClock.getAsLong()) || !entry.value.isDone()
+                || entry.value.isCompletedExceptionally()) {
+            return null;
+        }
+        return entry.value.join();
+    }
+
+    /**
+     * Stores {@code value} with a fresh time-to-live, replacing any value or load in progress.
+     * Callers already waiting on a replaced load still get that load's result.
+     */
+    public void put(K key, V value) {
+        long now = nanoClock.getAsLong();
+        Entry<V> created = new Entry<>(now + ttlNanos);
+        created.value.complete(value);
+        entries.put(key, created);
+        enqueue(key, created, now);
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return values dropped for their age or to make room, not counting replaced or invalidated ones
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of queued nodes, including ones whose entry is gone but not yet dropped
+     */
+    int queuedNodes() {
+        return queued.get();
+    }
+
+    private void enqueue(K key, Entry<V> entry, long now) {
+        insertionOrder.add(new Queued<>(key, entry));
+        if (queued.incrementAndGet() > 2 * maxEntries) {
+            compact();
+        }
+        evict(now);
+    }
+
+    private void evict(long now) {
+        Queued<K, V> oldest;
+        while ((oldest = insertionOrder.peek()) != null
+                && (entries.size() > maxEntries || oldest.entry.expiredAt(now) || entries.get(oldest.key) != oldest.entry)) {
+            if (insertionOrder.remove(oldest)) {
+                queued.decrementAndGet();
+                if (entries.remove(oldest.key, oldest.entry)) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops every node whose entry is no longer mapped. Runs on one thread at a time and at most
+     * once per {@code maxEntries} insertions, so its linear scan is amortised over them.
+     */
+    private void compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            insertionOrder.removeIf(node -> entries.get(node.key) != node.entry);
+            // Re-counted rather than decremented: evict may race for the same nodes
+            queued.set(insertionOrder.size());
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<V>(CompletableFuture<V> value, long expiresAtNanos) {
+
+        Entry(long expiresAtNanos) {
+            this(new CompletableFuture<>(), expiresAtNanos);
+        }
+
+        boolean expiredAt(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private record Queued<K, V>(K key, Entry<V> entry) {
+    }
+}
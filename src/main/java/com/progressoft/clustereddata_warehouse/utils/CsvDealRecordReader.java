@@ -0,0 +1,53 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Reads CSV files with the columns {@code id,fromCurrency,toCurrency,dealTimestamp,dealAmount}.
+ * An optional header line is skipped.
+ */
+public class CsvDealRecordReader extends DealRecordReader {
+
+    private static final int COLUMN_COUNT = 5;
+    private static final String HEADER_PREFIX = "id,";
+
+    public CsvDealRecordReader(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    protected boolean isHeader(long lineNumber, String line) {
+        return lineNumber == 1 && isHeaderLine(line);
+    }
+
+    public static boolean isHeaderLine(String line) {
+        return line.regionMatches(true, 0, HEADER_PREFIX, 0, HEADER_PREFIX.length());
+    }
+
+    @Override
+    protected FxDealRequestDto parseLine(String line) {
+        return parseCsvLine(line);
+    }
+
+    public static FxDealRequestDto parseCsvLine(String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length != COLUMN_COUNT) {
+            throw new IllegalArgumentException("expected " + COLUMN_COUNT + " columns but found " + columns.length);
+        }
+        return new FxDealRequestDto(
+                emptyToNull(columns[0]),
+                emptyToNull(columns[1]),
+                emptyToNull(columns[2]),
+                columns[3].isBlank() ? null : LocalDateTime.parse(columns[3].trim()),
+                columns[4].isBlank() ? null : Double.valueOf(columns[4].trim())
+        );
+    }
+
+    private static String emptyToNull(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
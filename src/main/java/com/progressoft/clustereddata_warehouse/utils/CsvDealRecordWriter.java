@@ -0,0 +1,46 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Writes {@code id,fromCurrency,toCurrency,dealTimestamp,dealAmount} with a header line.
+ */
+public class CsvDealRecordWriter extends DealRecordWriter {
+
+    static final String HEADER = "id,fromCurrency,toCurrency,dealTimestamp,dealAmount";
+
+    private final Writer writer;
+
+    public CsvDealRecordWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(String id, String fromCurrency, String toCurrency, LocalDateTime dealTimestamp,
+                      BigDecimal dealAmount) throws IOException {
+        writer.write(id);
+        writer.write(',');
+        writer.write(fromCurrency);
+        writer.write(',');
+        writer.write(toCurrency);
+        writer.write(',');
+        TIMESTAMP_FORMAT.formatTo(dealTimestamp, writer);
+        writer.write(',');
+        writer.write(dealAmount.toPlainString());
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import java.util.Collection;
+
+/**
+ * Immutable membership table over packed currency codes: one bit per possible code,
+ * 4 KB in total.
+ */
+public final class CurrencyCodeSet {
+
+    private final long[] bits = new long[CurrencyCodes.CODE_SPACE >>> 6];
+    private final int size;
+
+    private CurrencyCodeSet(Collection<String> codes) {
+        int count = 0;
+        for (String code : codes) {
+            int packed = CurrencyCodes.pack(code);
+            if (packed != CurrencyCodes.INVALID && !contains(packed)) {
+                bits[packed >>> 6] |= 1L << packed;
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    public static CurrencyCodeSet of(Collection<String> codes) {
+        return new CurrencyCodeSet(codes);
+    }
+
+    public boolean contains(int packedCode) {
+        return packedCode >= 0 && (bits[packedCode >>> 6] & 1L << packedCode) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
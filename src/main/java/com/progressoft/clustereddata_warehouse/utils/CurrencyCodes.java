@@ -0,0 +1,65 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+/**
+ * Packs a three-letter uppercase currency code into 15 bits, five bits per letter, so codes
+ * can be compared and looked up as plain ints without allocating.
+ */
+public final class CurrencyCodes {
+
+    public static final int INVALID = -1;
+    public static final int CODE_SPACE = 1 << 15;
+
+    private static final String[] CANONICAL = new String[CODE_SPACE];
+
+    private CurrencyCodes() {
+    }
+
+    /**
+     * @return the packed code, or {@link #INVALID} unless {@code code} is exactly three letters A-Z
+     */
+    public static int pack(CharSequence code) {
+        if (code == null || code.length() != 3) {
+            return INVALID;
+        }
+        int first = code.charAt(0) - 'A';
+        int second = code.charAt(1) - 'A';
+        int third = code.charAt(2) - 'A';
+        if ((first | second | third) < 0 || first > 25 || second > 25 || third > 25) {
+            return INVALID;
+        }
+        return first << 10 | second << 5 | third;
+    }
+
+    public static String unpack(int packed) {
+        return new String(new char[]{
+                (char) ('A' + (packed >>> 10 & 0x1F)),
+                (char) ('A' + (packed >>> 5 & 0x1F)),
+                (char) ('A' + (packed & 0x1F))
+        });
+    }
+
+    /**
+     * Same as {@link #unpack} but hands out one shared string per code. The table is filled
+     * without locking; a race only means a code's string is built more than once.
+     */
+    public static String canonical(int packed) {
+        String code = CANONICAL[packed];
+        if (code == null) {
+            code = unpack(packed);
+            CANONICAL[packed] = code;
+        }
+        return code;
+    }
+
+    public static boolean isBlank(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,13 +1,15 @@
 package com.progressoft.clustereddata_warehouse.utils;
 
+import com.progressoft.clustereddata_warehouse.config.CurrencyProperties;
 import com.progressoft.clustereddata_warehouse.exception.CurrencyLoadException;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -16,13 +18,16 @@ public class CurrencyFileLoaderImpl implements CurrencyFileLoader {
 
     private static final String CURRENCY_FILE_PATH = "currencies.csv";
 
+    private final CurrencyProperties properties;
+
+    public CurrencyFileLoaderImpl(CurrencyProperties properties) {
+        this.properties = properties;
+    }
+
     @Override
     public Set<String> loadCurrencies() {
-        try {
-            ClassPathResource resource = new ClassPathResource(CURRENCY_FILE_PATH);
-            Path currencyFilePath = Paths.get(resource.getURI());
-
-            return Files.lines(currencyFilePath)
+        try (BufferedReader reader = openReader()) {
+            return reader.lines()
                     .skip(1)
                     .map(this::extractCurrencyCode)
                     .filter(code -> !code.isEmpty())
@@ -33,6 +38,14 @@ public class CurrencyFileLoaderImpl implements CurrencyFileLoader {
         }
     }
 
+    private BufferedReader openReader() throws IOException {
+        if (properties.location() != null) {
+            return Files.newBufferedReader(properties.location(), StandardCharsets.UTF_8);
+        }
+        ClassPathResource resource = new ClassPathResource(CURRENCY_FILE_PATH);
+        return new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
+    }
+
     private String extractCurrencyCode(String line) {
         String[] parts = line.split(",");
         return parts[0].trim();
@@ -0,0 +1,93 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import com.progressoft.clustereddata_warehouse.config.CurrencyProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches the external currencies file and reloads the registry on its own thread whenever
+ * the file is written or replaced, so request threads never pay for a reload.
+ */
+@Component
+@Slf4j
+public class CurrencyFileWatcher {
+
+    private static final long SETTLE_MILLIS = 250;
+
+    private final CurrencyProperties properties;
+    private final CurrencyRegistry currencyRegistry;
+    private volatile WatchService watchService;
+
+    public CurrencyFileWatcher(CurrencyProperties properties, CurrencyRegistry currencyRegistry) {
+        this.properties = properties;
+        this.currencyRegistry = currencyRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (properties.location() == null || !properties.watch()) {
+            return;
+        }
+        Path file = properties.location().toAbsolutePath();
+        watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        Thread.ofPlatform().name("currency-file-watcher").daemon().start(() -> watch(file));
+        log.info("Watching {} for currency changes", file);
+    }
+
+    private void watch(Path file) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == OVERFLOW || file.getFileName().equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    settle();
+                    currencyRegistry.reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Currency file watcher stopped");
+        }
+    }
+
+    /**
+     * Editors and copy tools often emit several events per save; wait for them to stop so
+     * the file is reloaded once and not mid-write.
+     */
+    private void settle() throws InterruptedException {
+        WatchKey key;
+        while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+            key.pollEvents();
+            key.reset();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+public interface CurrencyRegistry {
+
+    /**
+     * Loads the currency list again and swaps it in; on failure the current list stays active.
+     *
+     * @return {@code true} when the new list was applied
+     */
+    boolean reload();
+
+    int size();
+}
@@ -1,6 +1,10 @@
 package com.progressoft.clustereddata_warehouse.utils;
 
 public interface CurrencyValidator {
-    boolean isValid(String code);
+    boolean isValid(int packedCode);
+
+    default boolean isValid(String code) {
+        return isValid(CurrencyCodes.pack(code));
+    }
 }
 
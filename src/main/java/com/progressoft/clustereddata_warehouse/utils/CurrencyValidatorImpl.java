@@ -1,22 +1,53 @@
 package com.progressoft.clustereddata_warehouse.utils;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
 
+/**
+ * Readers only ever dereference one volatile field, so a reload never blocks them and they
+ * see either the old or the new immutable table, never a partly loaded one.
+ */
 @Component
-public class CurrencyValidatorImpl implements CurrencyValidator {
+@Slf4j
+public class CurrencyValidatorImpl implements CurrencyValidator, CurrencyRegistry {
 
-    private final Set<String> validCurrencyCodes;
+    private final CurrencyFileLoader loader;
+    private volatile CurrencyCodeSet validCurrencyCodes;
 
     public CurrencyValidatorImpl(CurrencyFileLoader loader) {
-        this.validCurrencyCodes = loader.loadCurrencies();
-        validateISOCodes(this.validCurrencyCodes);
+        this.loader = loader;
+        this.validCurrencyCodes = load();
     }
 
     @Override
-    public boolean isValid(String code) {
-        return validCurrencyCodes.contains(code);
+    public boolean isValid(int packedCode) {
+        return validCurrencyCodes.contains(packedCode);
+    }
+
+    @Override
+    public synchronized boolean reload() {
+        try {
+            CurrencyCodeSet reloaded = load();
+            validCurrencyCodes = reloaded;
+            log.info("Currency list reloaded: {} codes", reloaded.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Currency reload failed, keeping {} previously loaded codes", validCurrencyCodes.size(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public int size() {
+        return validCurrencyCodes.size();
+    }
+
+    private CurrencyCodeSet load() {
+        Set<String> codes = loader.loadCurrencies();
+        validateISOCodes(codes);
+        return CurrencyCodeSet.of(codes);
     }
 
     private void validateISOCodes(Set<String> codes) {
@@ -28,4 +59,3 @@ public class CurrencyValidatorImpl implements CurrencyValidator {
         }
     }
 }
-
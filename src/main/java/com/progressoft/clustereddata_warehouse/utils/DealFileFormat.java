@@ -0,0 +1,49 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import org.springframework.http.MediaType;
+
+public enum DealFileFormat {
+    CSV("text/csv", ".csv"),
+    NDJSON("application/x-ndjson", ".ndjson", ".jsonl");
+
+    private final String mediaType;
+    private final String[] extensions;
+
+    DealFileFormat(String mediaType, String... extensions) {
+        this.mediaType = mediaType;
+        this.extensions = extensions;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public static DealFileFormat fromMediaType(MediaType contentType) {
+        for (DealFileFormat format : values()) {
+            if (contentType != null && MediaType.parseMediaType(format.mediaType).includes(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported deal file content type: " + contentType);
+    }
+
+    public static DealFileFormat fromName(String name) {
+        for (DealFileFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported deal file format: " + name);
+    }
+
+    public static DealFileFormat fromFileName(String fileName) {
+        for (DealFileFormat format : values()) {
+            for (String extension : format.extensions) {
+                if (fileName.regionMatches(true, fileName.length() - extension.length(), extension, 0, extension.length())) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported deal file extension: " + fileName);
+    }
+}
@@ -0,0 +1,60 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads deal files one line at a time, so memory use does not depend on the file size.
+ * Malformed lines are returned as failed records instead of aborting the whole file.
+ */
+public abstract class DealRecordReader implements Closeable {
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    protected DealRecordReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    public static DealRecordReader open(DealFileFormat format, InputStream in, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new CsvDealRecordReader(in);
+            case NDJSON -> new NdjsonDealRecordReader(in, objectMapper);
+        };
+    }
+
+    /**
+     * @return the next record, or {@code null} at the end of the stream
+     */
+    public ParsedDealRecord next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || isHeader(lineNumber, line)) {
+                continue;
+            }
+            try {
+                return ParsedDealRecord.parsed(lineNumber, parseLine(line));
+            } catch (RuntimeException | IOException e) {
+                return ParsedDealRecord.failed(lineNumber, "Malformed record: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    protected abstract boolean isHeader(long lineNumber, String line);
+
+    protected abstract FxDealRequestDto parseLine(String line) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,30 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes deals one row at a time in the same formats {@link DealRecordReader} reads, so an
+ * export can be uploaded again unchanged. Amounts are written exactly as stored.
+ */
+public abstract class DealRecordWriter implements Closeable {
+
+    protected static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    public static DealRecordWriter open(DealFileFormat format, OutputStream out, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (format) {
+            case CSV -> new CsvDealRecordWriter(out);
+            case NDJSON -> new NdjsonDealRecordWriter(out, objectMapper);
+        };
+    }
+
+    public abstract void write(String id, String fromCurrency, String toCurrency, LocalDateTime dealTimestamp,
+                               BigDecimal dealAmount) throws IOException;
+}
@@ -0,0 +1,33 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class NdjsonDealRecordReader extends DealRecordReader {
+
+    private final ObjectReader objectReader;
+
+    public NdjsonDealRecordReader(InputStream in, ObjectMapper objectMapper) {
+        super(in);
+        this.objectReader = objectMapper.readerFor(FxDealRequestDto.class);
+    }
+
+    @Override
+    protected boolean isHeader(long lineNumber, String line) {
+        return false;
+    }
+
+    @Override
+    protected FxDealRequestDto parseLine(String line) throws IOException {
+        try {
+            return objectReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage(), e);
+        }
+    }
+}
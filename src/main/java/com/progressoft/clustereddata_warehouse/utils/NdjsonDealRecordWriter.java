@@ -0,0 +1,40 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Writes one JSON object per line with the field names of {@code FxDealResponseDto}.
+ */
+public class NdjsonDealRecordWriter extends DealRecordWriter {
+
+    private final JsonGenerator generator;
+
+    public NdjsonDealRecordWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(String id, String fromCurrency, String toCurrency, LocalDateTime dealTimestamp,
+                      BigDecimal dealAmount) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", id);
+        generator.writeStringField("fromCurrency", fromCurrency);
+        generator.writeStringField("toCurrency", toCurrency);
+        generator.writeStringField("dealTimestamp", TIMESTAMP_FORMAT.format(dealTimestamp));
+        generator.writeNumberField("dealAmount", dealAmount);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+
+public record ParsedDealRecord(long lineNumber, FxDealRequestDto deal, String error) {
+
+    public static ParsedDealRecord parsed(long lineNumber, FxDealRequestDto deal) {
+        return new ParsedDealRecord(lineNumber, deal, null);
+    }
+
+    public static ParsedDealRecord failed(long lineNumber, String error) {
+        return new ParsedDealRecord(lineNumber, null, error);
+    }
+
+    public boolean isParsed() {
+        return error == null;
+    }
+}
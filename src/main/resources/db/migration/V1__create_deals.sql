@@ -0,0 +1,8 @@
+-- Matches the table previously created by ddl-auto: update, so existing databases are baselined as-is.
+CREATE TABLE IF NOT EXISTS deals (
+    id             VARCHAR(255)   NOT NULL PRIMARY KEY,
+    from_currency  VARCHAR(3)     NOT NULL,
+    to_currency    VARCHAR(3)     NOT NULL,
+    deal_amount    NUMERIC(38, 2) NOT NULL,
+    deal_timestamp TIMESTAMP(6)   NOT NULL
+);
@@ -0,0 +1,7 @@
+-- Keyset pagination on (deal_timestamp, id), optionally narrowed to a currency pair.
+-- CONCURRENTLY keeps the table writable while the indexes build; Flyway runs these outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_deals_timestamp_id
+    ON deals (deal_timestamp, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_deals_pair_timestamp_id
+    ON deals (from_currency, to_currency, deal_timestamp, id);
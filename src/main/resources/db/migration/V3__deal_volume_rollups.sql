@@ -0,0 +1,44 @@
+-- Per currency pair volume per minute, hour and day. Inserts into deals append pre-aggregated
+-- minute deltas in the same transaction (rows skipped by ON CONFLICT never reach the trigger),
+-- and DealVolumeServiceImpl folds the deltas into deal_volume_rollups in batches.
+CREATE TABLE deal_volume_deltas (
+    id            BIGSERIAL    PRIMARY KEY,
+    bucket_start  TIMESTAMP(0) NOT NULL,
+    from_currency VARCHAR(3)   NOT NULL,
+    to_currency   VARCHAR(3)   NOT NULL,
+    deal_count    BIGINT       NOT NULL,
+    total_amount  NUMERIC      NOT NULL
+);
+
+CREATE TABLE deal_volume_rollups (
+    granularity   VARCHAR(6)   NOT NULL,
+    bucket_start  TIMESTAMP(0) NOT NULL,
+    from_currency VARCHAR(3)   NOT NULL,
+    to_currency   VARCHAR(3)   NOT NULL,
+    deal_count    BIGINT       NOT NULL,
+    total_amount  NUMERIC      NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, from_currency, to_currency)
+);
+
+-- Statement level, so a batch or COPY merge adds one delta per pair and minute, not one per deal.
+CREATE FUNCTION capture_deal_volume() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO deal_volume_deltas (bucket_start, from_currency, to_currency, deal_count, total_amount)
+    SELECT date_trunc('minute', deal_timestamp), from_currency, to_currency, count(*), sum(deal_amount)
+    FROM inserted_deals
+    GROUP BY 1, 2, 3;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER deals_capture_volume
+    AFTER INSERT ON deals
+    REFERENCING NEW TABLE AS inserted_deals
+    FOR EACH STATEMENT EXECUTE FUNCTION capture_deal_volume();
+
+-- Creating the trigger blocks inserts until this migration commits, so the backfill counts
+-- exactly the deals the trigger has not seen.
+INSERT INTO deal_volume_deltas (bucket_start, from_currency, to_currency, deal_count, total_amount)
+SELECT date_trunc('minute', deal_timestamp), from_currency, to_currency, count(*), sum(deal_amount)
+FROM deals
+GROUP BY 1, 2, 3;
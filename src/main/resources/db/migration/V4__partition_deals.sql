@@ -0,0 +1,73 @@
+-- Range-partitions deals on deal_timestamp. The primary key of a partitioned table has to
+-- include the partition key, so global ID uniqueness moves to deal_ids: a BEFORE INSERT
+-- trigger claims the ID there and silently skips the row when it is already taken, which
+-- keeps the ON CONFLICT DO NOTHING behaviour of every insert path unchanged.
+DROP INDEX idx_deals_timestamp_id;
+DROP INDEX idx_deals_pair_timestamp_id;
+DROP TRIGGER deals_capture_volume ON deals;
+ALTER TABLE deals RENAME TO deals_unpartitioned;
+
+CREATE TABLE deals (
+    id             VARCHAR(255)   NOT NULL,
+    from_currency  VARCHAR(3)     NOT NULL,
+    to_currency    VARCHAR(3)     NOT NULL,
+    deal_amount    NUMERIC(38, 2) NOT NULL,
+    deal_timestamp TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT deals_id_timestamp_pkey PRIMARY KEY (id, deal_timestamp)
+) PARTITION BY RANGE (deal_timestamp);
+
+-- Catches deals outside every range partition; DealPartitionManager moves them into the
+-- covering partition when it creates one.
+CREATE TABLE deals_default PARTITION OF deals DEFAULT;
+
+-- Existing deals are split into monthly partitions; upcoming partitions are created by
+-- DealPartitionManager at the configured interval.
+DO $$
+DECLARE
+    month_start TIMESTAMP;
+    last_month  TIMESTAMP;
+BEGIN
+    SELECT date_trunc('month', min(deal_timestamp)), date_trunc('month', max(deal_timestamp))
+    INTO month_start, last_month
+    FROM deals_unpartitioned;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF deals FOR VALUES FROM (%L) TO (%L)',
+                       'deals_p' || to_char(month_start, 'YYYYMM'), month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END
+$$;
+
+CREATE TABLE deal_ids (
+    id VARCHAR(255) NOT NULL PRIMARY KEY
+);
+
+INSERT INTO deal_ids (id)
+SELECT id FROM deals_unpartitioned;
+
+INSERT INTO deals (id, from_currency, to_currency, deal_amount, deal_timestamp)
+SELECT id, from_currency, to_currency, deal_amount, deal_timestamp FROM deals_unpartitioned;
+
+DROP TABLE deals_unpartitioned;
+
+CREATE INDEX idx_deals_timestamp_id ON deals (deal_timestamp, id);
+CREATE INDEX idx_deals_pair_timestamp_id ON deals (from_currency, to_currency, deal_timestamp, id);
+
+CREATE FUNCTION claim_deal_id() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO deal_ids (id) VALUES (NEW.id) ON CONFLICT DO NOTHING;
+    IF NOT FOUND THEN
+        RETURN NULL;
+    END IF;
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER deals_claim_id
+    BEFORE INSERT ON deals
+    FOR EACH ROW EXECUTE FUNCTION claim_deal_id();
+
+CREATE TRIGGER deals_capture_volume
+    AFTER INSERT ON deals
+    REFERENCING NEW TABLE AS inserted_deals
+    FOR EACH STATEMENT EXECUTE FUNCTION capture_deal_volume();
@@ -0,0 +1,12 @@
+-- Responses to POST /api/v1/deals kept per Idempotency-Key header, so client retries are
+-- replayed instead of re-inserted. Only used when fx-deals.idempotency.persistent is set;
+-- rows past expires_at are ignored and purged periodically.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash    CHAR(64)     NOT NULL,
+    response        JSONB        NOT NULL,
+    created_at      TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    expires_at      TIMESTAMPTZ  NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
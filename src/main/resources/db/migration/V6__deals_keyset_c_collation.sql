@@ -0,0 +1,10 @@
+-- Sharded pages and exports are merged in Java, which breaks deal_timestamp ties by comparing
+-- IDs code point by code point. Ordering and seeking on id COLLATE "C" makes every shard sort
+-- the same way, so a merged page and its (deal_timestamp, id) cursor agree whatever the
+-- database's default collation is. deals is partitioned, so the indexes cannot be built
+-- CONCURRENTLY; each partition gets its own copy.
+DROP INDEX idx_deals_timestamp_id;
+DROP INDEX idx_deals_pair_timestamp_id;
+
+CREATE INDEX idx_deals_timestamp_id ON deals (deal_timestamp, id COLLATE "C");
+CREATE INDEX idx_deals_pair_timestamp_id ON deals (from_currency, to_currency, deal_timestamp, id COLLATE "C");
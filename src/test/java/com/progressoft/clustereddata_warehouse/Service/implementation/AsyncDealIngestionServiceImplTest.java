@@ -0,0 +1,178 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.Service.api.CurrencyVerifier;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.config.AsyncIngestionProperties;
+import com.progressoft.clustereddata_warehouse.config.JournalProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionStatusDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeDto;
+import com.progressoft.clustereddata_warehouse.dto.response.IngestionState;
+import com.progressoft.clustereddata_warehouse.exception.IngestionQueueFullException;
+import com.progressoft.clustereddata_warehouse.exception.InvalidCurrencyException;
+import com.progressoft.clustereddata_warehouse.journal.DealJournal;
+import com.progressoft.clustereddata_warehouse.journal.FsyncPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncDealIngestionServiceImplTest {
+
+    private static final JournalProperties JOURNAL_DISABLED = new JournalProperties(false, Path.of("unused"), 16,
+            FsyncPolicy.NONE, Duration.ofMillis(10), 10, Duration.ofMillis(1), Duration.ofMillis(10));
+
+    @Mock
+    private FxDealBatchService fxDealBatchService;
+
+    @Mock
+    private CurrencyVerifier currencyVerifier;
+
+    private AsyncDealIngestionServiceImpl service(int queueCapacity) {
+        return service(queueCapacity, 1, 10, Duration.ofSeconds(5));
+    }
+
+    private AsyncDealIngestionServiceImpl service(int queueCapacity, int writerThreads, int flushSize,
+                                                  Duration shutdownTimeout) {
+        AsyncIngestionProperties properties = new AsyncIngestionProperties(queueCapacity, writerThreads, flushSize,
+                Duration.ofMillis(5), Duration.ofMinutes(1), 1000, shutdownTimeout, 1);
+        return new AsyncDealIngestionServiceImpl(fxDealBatchService, currencyVerifier,
+                new IngestionTracker(properties), properties, new DealJournal(JOURNAL_DISABLED));
+    }
+
+    private FxDealRequestDto deal(String id) {
+        return new FxDealRequestDto(id, "USD", "EUR", LocalDateTime.now(), 10.0);
+    }
+
+    private static BatchDealResponseDto acceptAll(List<FxDealRequestDto> deals) {
+        List<DealOutcomeDto> outcomes = new ArrayList<>();
+        for (int i = 0; i < deals.size(); i++) {
+            outcomes.add(DealOutcomeDto.accepted(i, deals.get(i).id()));
+        }
+        return BatchDealResponseDto.of(outcomes);
+    }
+
+    @Test
+    @DisplayName("Given queued deals when shutdown then should commit them in a group and track outcomes")
+    void givenQueuedDeals_whenShutdown_thenShouldCommitInGroupAndTrackOutcomes() throws InterruptedException {
+
+        when(fxDealBatchService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<FxDealRequestDto> deals = invocation.getArgument(0);
+            List<DealOutcomeDto> outcomes = new ArrayList<>();
+            for (int i = 0; i < deals.size(); i++) {
+                outcomes.add("DEAL2".equals(deals.get(i).id())
+                        ? DealOutcomeDto.duplicate(i, deals.get(i).id(), "exists")
+                        : DealOutcomeDto.accepted(i, deals.get(i).id()));
+            }
+            return BatchDealResponseDto.of(outcomes);
+        });
+        AsyncDealIngestionServiceImpl service = service(10);
+
+        DealIngestionStatusDto first = service.submit(deal("DEAL1"));
+        DealIngestionStatusDto second = service.submit(deal("DEAL2"));
+        assertThat(first.state()).isEqualTo(IngestionState.QUEUED);
+
+        service.startWriters();
+        service.shutdown();
+
+        assertThat(service.status(first.trackingId())).get().extracting(DealIngestionStatusDto::state)
+                .isEqualTo(IngestionState.COMMITTED);
+        assertThat(service.status(second.trackingId())).get().extracting(DealIngestionStatusDto::state)
+                .isEqualTo(IngestionState.DUPLICATE);
+        verify(fxDealBatchService, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Given full queue when submit then should throw IngestionQueueFullException")
+    void givenFullQueue_whenSubmit_thenShouldThrowIngestionQueueFullException() {
+
+        AsyncDealIngestionServiceImpl service = service(1);
+        service.submit(deal("DEAL1"));
+
+        assertThatExceptionOfType(IngestionQueueFullException.class)
+                .isThrownBy(() -> service.submit(deal("DEAL2")))
+                .satisfies(e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("Given invalid currency when submit then should reject before queueing")
+    void givenInvalidCurrency_whenSubmit_thenShouldRejectBeforeQueueing() {
+
+        doThrow(new InvalidCurrencyException("Invalid currency")).when(currencyVerifier).validate("USD", "EUR");
+        AsyncDealIngestionServiceImpl service = service(1);
+
+        assertThatExceptionOfType(InvalidCurrencyException.class)
+                .isThrownBy(() -> service.submit(deal("DEAL1")));
+        assertThatNoException().isThrownBy(() -> service.submit(new FxDealRequestDto("DEAL2", "GBP", "EUR",
+                LocalDateTime.now(), 10.0)));
+    }
+
+    @Test
+    @DisplayName("Given several writers when the same ID is queued twice then should commit both copies on one writer")
+    void givenSeveralWriters_whenSameIdQueuedTwice_thenShouldCommitBothCopiesOnOneWriter() throws InterruptedException {
+
+        Map<String, Set<String>> writersById = new ConcurrentHashMap<>();
+        when(fxDealBatchService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<FxDealRequestDto> deals = invocation.getArgument(0);
+            deals.forEach(deal -> writersById.computeIfAbsent(deal.id(), id -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName()));
+            return acceptAll(deals);
+        });
+        AsyncDealIngestionServiceImpl service = service(100, 4, 1, Duration.ofSeconds(5));
+        for (int copy = 0; copy < 2; copy++) {
+            for (int i = 0; i < 20; i++) {
+                service.submit(deal("DEAL" + i));
+            }
+        }
+
+        service.startWriters();
+        service.shutdown();
+
+        assertThat(writersById).hasSize(20);
+        assertThat(writersById.values()).allSatisfy(writers -> assertThat(writers).hasSize(1));
+        assertThat(writersById.values().stream().flatMap(Set::stream).distinct().count()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Given a commit still running at the shutdown deadline when shutdown then should not start another commit")
+    void givenCommitRunningAtShutdownDeadline_whenShutdown_thenShouldNotStartAnotherCommit() throws InterruptedException {
+
+        CountDownLatch committing = new CountDownLatch(1);
+        when(fxDealBatchService.saveAll(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            try {
+                Thread.sleep(Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return acceptAll(invocation.getArgument(0));
+        });
+        AsyncDealIngestionServiceImpl service = service(10, 1, 1, Duration.ofMillis(100));
+        service.submit(deal("DEAL1"));
+        service.submit(deal("DEAL2"));
+
+        service.startWriters();
+        assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+        service.shutdown();
+
+        verify(fxDealBatchService, after(300).times(1)).saveAll(anyList());
+    }
+}
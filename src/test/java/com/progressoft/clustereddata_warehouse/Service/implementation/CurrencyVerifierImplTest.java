@@ -2,35 +2,24 @@ package com.progressoft.clustereddata_warehouse.Service.implementation;
 
 import static org.assertj.core.api.Assertions.*;
 
+import com.progressoft.clustereddata_warehouse.exception.CurrencyErrors;
 import com.progressoft.clustereddata_warehouse.exception.InvalidCurrencyException;
 import com.progressoft.clustereddata_warehouse.exception.UnknownCurrencyException;
-import com.progressoft.clustereddata_warehouse.utils.CurrencyValidator;
+import com.progressoft.clustereddata_warehouse.utils.CurrencyValidatorImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 
-import static org.mockito.Mockito.lenient;
+import java.util.Set;
 
-@ExtendWith(MockitoExtension.class)
 class CurrencyVerifierImplTest {
 
-    @Mock
-    private CurrencyValidator currencyValidator;
-
-    @InjectMocks
     private CurrencyVerifierImpl currencyVerifier;
 
     @BeforeEach
     void setUp() {
-        lenient().when(currencyValidator.isValid("USD")).thenReturn(true);
-        lenient().when(currencyValidator.isValid("EUR")).thenReturn(true);
-        lenient().when(currencyValidator.isValid("GBP")).thenReturn(true);
-        lenient().when(currencyValidator.isValid("JPY")).thenReturn(true);
-        lenient().when(currencyValidator.isValid("XYZ")).thenReturn(false);
+        currencyVerifier = new CurrencyVerifierImpl(
+                new CurrencyValidatorImpl(() -> Set.of("USD", "EUR", "GBP", "JPY")));
     }
 
     @Test
@@ -248,4 +237,54 @@ class CurrencyVerifierImplTest {
 
         assertThatNoException().isThrownBy(() -> currencyVerifier.validate(from, to));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Given valid currencies as char buffers when validate then should pass without Strings")
+    void givenValidCurrenciesAsCharBuffers_whenValidate_thenShouldPass() {
+
+        CharSequence from = java.nio.CharBuffer.wrap(new char[]{'G', 'B', 'P'});
+        CharSequence to = new StringBuilder("JPY");
+
+        assertThatNoException().isThrownBy(() -> currencyVerifier.validate(from, to));
+    }
+
+    @Test
+    @DisplayName("Given non-letter characters next to the alphabet when validate then should throw InvalidCurrencyException")
+    void givenCharactersAdjacentToAlphabet_whenValidate_thenShouldThrowInvalidCurrencyException() {
+
+        assertThatExceptionOfType(InvalidCurrencyException.class)
+                .isThrownBy(() -> currencyVerifier.validate("US@", "EUR"))
+                .withMessage("fromCurrency format is invalid: US@. Expected 3 uppercase letters");
+        assertThatExceptionOfType(InvalidCurrencyException.class)
+                .isThrownBy(() -> currencyVerifier.validate("USD", "EU["))
+                .withMessage("toCurrency format is invalid: EU[. Expected 3 uppercase letters");
+    }
+
+    @Test
+    @DisplayName("Given problems with both currencies when check then should flag every one without throwing")
+    void givenProblemsWithBothCurrencies_whenCheck_thenShouldFlagEveryOne() {
+
+        assertThat(currencyVerifier.check("USD", "EUR")).isEqualTo(CurrencyErrors.NONE);
+        assertThat(currencyVerifier.check("usd", "XYZ"))
+                .isEqualTo(CurrencyErrors.FROM_MALFORMED | CurrencyErrors.TO_UNKNOWN);
+        assertThat(currencyVerifier.check(" ", null))
+                .isEqualTo(CurrencyErrors.FROM_MISSING | CurrencyErrors.TO_MISSING);
+        assertThat(currencyVerifier.check("XYZ", "XYZ"))
+                .isEqualTo(CurrencyErrors.FROM_UNKNOWN | CurrencyErrors.SAME_CURRENCY);
+    }
+
+    @Test
+    @DisplayName("Given problems with both currencies when validate then should report both per field without a stack trace")
+    void givenProblemsWithBothCurrencies_whenValidate_thenShouldReportBothPerField() {
+
+        InvalidCurrencyException exception = catchThrowableOfType(InvalidCurrencyException.class,
+                () -> currencyVerifier.validate("usd", "XYZ"));
+
+        assertThat(exception).hasMessage(
+                "fromCurrency format is invalid: usd. Expected 3 uppercase letters; Currency not recognized: XYZ");
+        assertThat(exception.getFieldErrors()).containsExactly(
+                entry("fromCurrency", "fromCurrency format is invalid: usd. Expected 3 uppercase letters"),
+                entry("toCurrency", "Currency not recognized: XYZ"));
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+}
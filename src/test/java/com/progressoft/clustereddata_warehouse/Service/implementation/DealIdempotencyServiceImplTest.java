@@ -0,0 +1,97 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.progressoft.clustereddata_warehouse.Service.api.DealIdempotencyService;
+import com.progressoft.clustereddata_warehouse.config.IdempotencyProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.exception.IdempotencyKeyReuseException;
+import com.progressoft.clustereddata_warehouse.repository.IdempotencyKeyRepository;
+import com.progressoft.clustereddata_warehouse.repository.IdempotencyKeyRepository.StoredResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DealIdempotencyServiceImplTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+    private final AtomicInteger saves = new AtomicInteger();
+
+    private DealIdempotencyServiceImpl service(boolean persistent) {
+        return new DealIdempotencyServiceImpl(repository,
+                new IdempotencyProperties(true, Duration.ofHours(24), 1000, persistent, Duration.ofHours(1)), objectMapper);
+    }
+
+    private Supplier<FxDealResponseDto> save(FxDealRequestDto request) {
+        return () -> {
+            saves.incrementAndGet();
+            return new FxDealResponseDto(request.id(), request.fromCurrency(), request.toCurrency(),
+                    request.dealTimestamp(), request.dealAmount());
+        };
+    }
+
+    @Test
+    @DisplayName("Given a retried request with the same key when execute then should replay the first response without saving again")
+    void givenRetriedRequest_whenExecute_thenShouldReplayFirstResponse() {
+
+        DealIdempotencyServiceImpl service = service(false);
+        FxDealRequestDto request = new FxDealRequestDto("DEAL-1", "USD", "EUR", TIMESTAMP, 100.0);
+
+        DealIdempotencyService.Outcome first = service.execute("key-1", request, save(request));
+        DealIdempotencyService.Outcome retry = service.execute("key-1", request, save(request));
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response()).isEqualTo(first.response());
+        assertThat(saves).hasValue(1);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Given a key already used for another deal when execute then should reject the request")
+    void givenKeyUsedForAnotherDeal_whenExecute_thenShouldReject() {
+
+        DealIdempotencyServiceImpl service = service(false);
+        FxDealRequestDto request = new FxDealRequestDto("DEAL-1", "USD", "EUR", TIMESTAMP, 100.0);
+        FxDealRequestDto other = new FxDealRequestDto("DEAL-1", "USD", "EUR", TIMESTAMP, 250.0);
+        service.execute("key-1", request, save(request));
+
+        assertThatThrownBy(() -> service.execute("key-1", other, save(other)))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+        assertThat(saves).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Given a response stored by another instance when execute then should replay it from the persistent tier")
+    void givenResponseStoredByAnotherInstance_whenExecute_thenShouldReplayFromPersistentTier() {
+
+        FxDealRequestDto request = new FxDealRequestDto("DEAL-1", "USD", "EUR", TIMESTAMP, 100.0);
+        DealIdempotencyServiceImpl writer = service(true);
+        writer.execute("key-1", request, save(request));
+        ArgumentCaptor<StoredResponse> stored = ArgumentCaptor.forClass(StoredResponse.class);
+        verify(repository).save(eq("key-1"), stored.capture(), any());
+        when(repository.find("key-1")).thenReturn(Optional.of(stored.getValue()));
+
+        DealIdempotencyService.Outcome replayed = service(true).execute("key-1", request, save(request));
+
+        assertThat(replayed.replayed()).isTrue();
+        assertThat(replayed.response().dealTimestamp()).isEqualTo(TIMESTAMP);
+        assertThat(saves).hasValue(1);
+    }
+}
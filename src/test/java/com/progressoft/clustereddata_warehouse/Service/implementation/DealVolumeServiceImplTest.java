@@ -0,0 +1,102 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.config.DealVolumeProperties;
+import com.progressoft.clustereddata_warehouse.config.ShardingProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.dto.request.VolumeGranularity;
+import com.progressoft.clustereddata_warehouse.dto.response.DealVolumeDto;
+import com.progressoft.clustereddata_warehouse.exception.InvalidDealQueryException;
+import com.progressoft.clustereddata_warehouse.repository.DealVolumeRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealVolumeServiceImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 2, 0, 0);
+
+    @Mock
+    private DealVolumeRepository dealVolumeRepository;
+
+    private DealVolumeServiceImpl dealVolumeService;
+
+    @BeforeEach
+    void setUp() {
+        dealVolumeService = service(List.of());
+    }
+
+    private DealVolumeServiceImpl service(List<ShardingProperties.Shard> shards) {
+        return new DealVolumeServiceImpl(dealVolumeRepository, new DealVolumeProperties(true, Duration.ofSeconds(1), 100),
+                new ShardRouter(new ShardingProperties(true, shards), mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    @DisplayName("Given a day of hourly buckets when find then should answer from the repository")
+    void givenDayOfHourlyBuckets_whenFind_thenShouldAnswerFromRepository() {
+
+        DealSearchCriteria criteria = new DealSearchCriteria("USD", "EUR", FROM, FROM.plusDays(1));
+        List<DealVolumeDto> volumes = List.of(new DealVolumeDto(FROM, "USD", "EUR", 2, new BigDecimal("0.30")));
+        when(dealVolumeRepository.find(VolumeGranularity.HOUR, criteria)).thenReturn(volumes);
+
+        assertThat(dealVolumeService.find(VolumeGranularity.HOUR, criteria)).isEqualTo(volumes);
+    }
+
+    @Test
+    @DisplayName("Given too many buckets or a missing bound when find then should reject the query")
+    void givenTooManyBucketsOrMissingBound_whenFind_thenShouldRejectQuery() {
+
+        DealSearchCriteria year = new DealSearchCriteria(null, null, FROM, FROM.plusYears(1));
+        DealSearchCriteria open = new DealSearchCriteria(null, null, FROM, null);
+
+        assertThatThrownBy(() -> dealVolumeService.find(VolumeGranularity.MINUTE, year))
+                .isInstanceOf(InvalidDealQueryException.class);
+        assertThatThrownBy(() -> dealVolumeService.find(VolumeGranularity.DAY, open))
+                .isInstanceOf(InvalidDealQueryException.class);
+        assertThatCode(() -> dealVolumeService.find(VolumeGranularity.DAY, year)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Given a backlog of deltas when aggregate then should fold batches until a partial one")
+    void givenBacklogOfDeltas_whenAggregate_thenShouldFoldUntilPartialBatch() {
+
+        when(dealVolumeRepository.aggregate(100)).thenReturn(100, 100, 7);
+
+        dealVolumeService.aggregate();
+
+        verify(dealVolumeRepository, times(3)).aggregate(100);
+    }
+
+    @Test
+    @DisplayName("Given two shards when find then should add up each shard's share of the same bucket")
+    void givenTwoShards_whenFind_thenShouldAddUpSharesOfSameBucket() {
+
+        ShardingProperties.Shard shard = new ShardingProperties.Shard("jdbc:postgresql://shard/deals", "user", "secret", 1, List.of());
+        DealSearchCriteria criteria = new DealSearchCriteria(null, null, FROM, FROM.plusDays(1));
+        when(dealVolumeRepository.find(VolumeGranularity.HOUR, criteria)).thenReturn(
+                List.of(new DealVolumeDto(FROM, "USD", "EUR", 2, new BigDecimal("0.30")),
+                        new DealVolumeDto(FROM.plusHours(1), "USD", "EUR", 1, new BigDecimal("5"))),
+                List.of(new DealVolumeDto(FROM, "USD", "EUR", 3, new BigDecimal("1.70")),
+                        new DealVolumeDto(FROM, "USD", "JOD", 1, new BigDecimal("9"))));
+
+        List<DealVolumeDto> volumes = service(List.of(shard, shard)).find(VolumeGranularity.HOUR, criteria);
+
+        assertThat(volumes).containsExactly(
+                new DealVolumeDto(FROM, "USD", "EUR", 5, new BigDecimal("2.00")),
+                new DealVolumeDto(FROM, "USD", "JOD", 1, new BigDecimal("9")),
+                new DealVolumeDto(FROM.plusHours(1), "USD", "EUR", 1, new BigDecimal("5")));
+    }
+}
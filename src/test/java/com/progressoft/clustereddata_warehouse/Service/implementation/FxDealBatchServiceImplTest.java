@@ -0,0 +1,190 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.Service.api.CurrencyVerifier;
+import com.progressoft.clustereddata_warehouse.config.ShardingProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeStatus;
+import com.progressoft.clustereddata_warehouse.entity.FxDeal;
+import com.progressoft.clustereddata_warehouse.exception.CurrencyErrors;
+import com.progressoft.clustereddata_warehouse.mapper.FxDealMapper;
+import com.progressoft.clustereddata_warehouse.repository.FxDealRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardContext;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FxDealBatchServiceImplTest {
+
+    @Mock
+    private FxDealRepository fxDealRepository;
+
+    @Mock
+    private FxDealMapper fxDealMapper;
+
+    @Mock
+    private CurrencyVerifier currencyVerifier;
+
+    private FxDealBatchServiceImpl fxDealBatchService;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        fxDealBatchService = new FxDealBatchServiceImpl(fxDealRepository, fxDealMapper,
+                new DealRequestValidator(validator, currencyVerifier), shardRouter(0),
+                mock(PlatformTransactionManager.class));
+        lenient().when(fxDealRepository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<FxDeal> deals = invocation.getArgument(0);
+            return deals.stream().map(FxDeal::getId).collect(Collectors.toSet());
+        });
+        lenient().when(fxDealMapper.toEntity(any())).thenAnswer(invocation -> {
+            FxDealRequestDto dto = invocation.getArgument(0);
+            FxDeal deal = new FxDeal();
+            deal.setId(dto.id());
+            return deal;
+        });
+    }
+
+    private static ShardRouter shardRouter(int shardCount) {
+        List<ShardingProperties.Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ShardingProperties.Shard("jdbc:postgresql://shard" + i + "/deals", "user", "secret", 1, List.of()));
+        }
+        return new ShardRouter(new ShardingProperties(true, shards), mock(PlatformTransactionManager.class));
+    }
+
+    private FxDealRequestDto deal(String id, String from, String to, Double amount) {
+        return new FxDealRequestDto(id, from, to, LocalDateTime.now(), amount);
+    }
+
+    @Test
+    @DisplayName("Given valid rows when saveAll then should persist all rows in one call")
+    void givenValidRows_whenSaveAll_thenShouldPersistAllRows() {
+
+        BatchDealResponseDto result = fxDealBatchService.saveAll(List.of(
+                deal("DEAL1", "USD", "EUR", 10.0),
+                deal("DEAL2", "USD", "JPY", 20.0),
+                deal("DEAL3", "GBP", "EUR", 30.0)));
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.accepted()).isEqualTo(3);
+        assertThat(result.results()).extracting("status").containsOnly(DealOutcomeStatus.ACCEPTED);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FxDeal>> captor = ArgumentCaptor.forClass(List.class);
+        verify(fxDealRepository).insertAllIfAbsent(captor.capture());
+        assertThat(captor.getValue()).extracting("id").containsExactly("DEAL1", "DEAL2", "DEAL3");
+    }
+
+    @Test
+    @DisplayName("Given an ID already stored when saveAll then should report it as duplicate without a separate query")
+    void givenIdAlreadyStored_whenSaveAll_thenShouldReportItAsDuplicate() {
+
+        when(fxDealRepository.insertAllIfAbsent(anyList())).thenReturn(Set.of("DEAL1"));
+
+        BatchDealResponseDto result = fxDealBatchService.saveAll(List.of(
+                deal("DEAL1", "USD", "EUR", 10.0),
+                deal("DEAL2", "USD", "JPY", 20.0)));
+
+        assertThat(result.accepted()).isEqualTo(1);
+        assertThat(result.duplicates()).isEqualTo(1);
+        assertThat(result.results()).extracting("status")
+                .containsExactly(DealOutcomeStatus.ACCEPTED, DealOutcomeStatus.DUPLICATE);
+        assertThat(result.results().get(1).reason()).isEqualTo("A deal with ID 'DEAL2' already exists.");
+        verify(fxDealRepository).insertAllIfAbsent(anyList());
+        verifyNoMoreInteractions(fxDealRepository);
+    }
+
+    @Test
+    @DisplayName("Given mixed rows when saveAll then should report an outcome per row")
+    void givenMixedRows_whenSaveAll_thenShouldReportOutcomePerRow() {
+
+        when(currencyVerifier.check(anyString(), anyString())).thenAnswer(invocation ->
+                "XYZ".equals(invocation.getArgument(0)) ? CurrencyErrors.FROM_UNKNOWN : CurrencyErrors.NONE);
+        when(fxDealRepository.insertAllIfAbsent(anyList())).thenReturn(Set.of("DEAL1"));
+
+        BatchDealResponseDto result = fxDealBatchService.saveAll(List.of(
+                deal("DEAL1", "USD", "EUR", 10.0),
+                deal("DEAL2", "USD", "EUR", 10.0),
+                deal("DEAL1", "USD", "EUR", 10.0),
+                deal("DEAL4", "XYZ", "EUR", 10.0),
+                deal("DEAL5", "USD", "EUR", -1.0)));
+
+        assertThat(result.accepted()).isEqualTo(1);
+        assertThat(result.duplicates()).isEqualTo(2);
+        assertThat(result.invalid()).isEqualTo(2);
+        assertThat(result.results()).extracting("status").containsExactly(
+                DealOutcomeStatus.ACCEPTED,
+                DealOutcomeStatus.DUPLICATE,
+                DealOutcomeStatus.DUPLICATE,
+                DealOutcomeStatus.INVALID,
+                DealOutcomeStatus.INVALID);
+        assertThat(result.results().get(1).reason()).isEqualTo("A deal with ID 'DEAL2' already exists.");
+        assertThat(result.results().get(3).reason()).isEqualTo("Currency not recognized: XYZ");
+        assertThat(result.results().get(4).reason()).isEqualTo("dealAmount: Deal amount must be a positive number");
+    }
+
+    @Test
+    @DisplayName("Given null row when saveAll then should mark it invalid")
+    void givenNullRow_whenSaveAll_thenShouldMarkItInvalid() {
+
+        BatchDealResponseDto result = fxDealBatchService.saveAll(java.util.Arrays.asList(
+                deal("DEAL1", "USD", "EUR", 10.0), null));
+
+        assertThat(result.accepted()).isEqualTo(1);
+        assertThat(result.invalid()).isEqualTo(1);
+        assertThat(result.results().get(1).reason()).isEqualTo("Deal is required");
+    }
+
+    @Test
+    @DisplayName("Given rows for several shards when saveAll then should persist each shard's rows on that shard")
+    void givenRowsForSeveralShards_whenSaveAll_thenShouldPersistEachShardsRowsOnThatShard() {
+
+        ShardRouter router = shardRouter(3);
+        FxDealBatchServiceImpl shardedService = new FxDealBatchServiceImpl(fxDealRepository, fxDealMapper,
+                new DealRequestValidator(Validation.buildDefaultValidatorFactory().getValidator(), currencyVerifier),
+                router, mock(PlatformTransactionManager.class));
+        Map<Integer, List<String>> persistedByShard = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            List<FxDeal> deals = invocation.getArgument(0);
+            persistedByShard.put(ShardContext.current(), deals.stream().map(FxDeal::getId).toList());
+            return deals.stream().map(FxDeal::getId).collect(Collectors.toSet());
+        }).when(fxDealRepository).insertAllIfAbsent(anyList());
+
+        List<FxDealRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            requests.add(deal("DEAL" + i, "USD", "EUR", 10.0));
+        }
+        BatchDealResponseDto result = shardedService.saveAll(requests);
+
+        assertThat(result.accepted()).isEqualTo(30);
+        assertThat(persistedByShard).hasSizeGreaterThan(1);
+        persistedByShard.forEach((shard, ids) ->
+                assertThat(ids).allSatisfy(id -> assertThat(router.shardOf(id)).isEqualTo(shard)));
+        assertThat(persistedByShard.values().stream().mapToInt(List::size).sum()).isEqualTo(30);
+        router.shutdown();
+    }
+}
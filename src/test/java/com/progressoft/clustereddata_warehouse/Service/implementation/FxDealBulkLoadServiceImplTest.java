@@ -0,0 +1,73 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.CurrencyVerifier;
+import com.progressoft.clustereddata_warehouse.config.ShardingProperties;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionSummaryDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealRejectDto;
+import com.progressoft.clustereddata_warehouse.entity.FxDeal;
+import com.progressoft.clustereddata_warehouse.exception.CurrencyErrors;
+import com.progressoft.clustereddata_warehouse.mapper.FxDealMapperImpl;
+import com.progressoft.clustereddata_warehouse.repository.FxDealBulkLoader;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FxDealBulkLoadServiceImplTest {
+
+    private final FxDealBulkLoader fxDealBulkLoader = mock(FxDealBulkLoader.class);
+    private final FxDealBulkLoader.Session session = mock(FxDealBulkLoader.Session.class);
+    private final CurrencyVerifier currencyVerifier = mock(CurrencyVerifier.class);
+
+    private final FxDealBulkLoadServiceImpl fxDealBulkLoadService = new FxDealBulkLoadServiceImpl(fxDealBulkLoader,
+            new FxDealMapperImpl(),
+            new DealRequestValidator(Validation.buildDefaultValidatorFactory().getValidator(), currencyVerifier),
+            new ObjectMapper().findAndRegisterModules(),
+            new ShardRouter(new ShardingProperties(false, List.of()), mock(PlatformTransactionManager.class)));
+
+    @Test
+    @DisplayName("Given a file with invalid and duplicate rows when loaded then should stage valid rows and merge the counts")
+    void givenInvalidAndDuplicateRows_whenLoaded_thenShouldSummarizeMerge() throws Exception {
+
+        when(fxDealBulkLoader.open()).thenReturn(session);
+        when(currencyVerifier.check(any(), any())).thenAnswer(invocation ->
+                invocation.getArgument(0).toString().contentEquals(invocation.getArgument(1).toString())
+                        ? CurrencyErrors.SAME_CURRENCY : CurrencyErrors.NONE);
+        when(session.finish()).thenReturn(new FxDealBulkLoader.Result(3, 2));
+        byte[] file = """
+                id,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL1,USD,EUR,2025-07-28T10:00:00,10
+                DEAL2,USD,USD,2025-07-28T10:00:00,20
+                DEAL1,USD,EUR,2025-07-28T10:00:00,10
+                DEAL4,USD,EUR,yesterday,40
+                DEAL3,GBP,JPY,2025-07-28T11:00:00,30
+                """.getBytes(StandardCharsets.UTF_8);
+        List<DealRejectDto> rejects = new ArrayList<>();
+
+        DealIngestionSummaryDto summary = fxDealBulkLoadService.load(new ByteArrayInputStream(file),
+                DealFileFormat.CSV, rejects::add);
+
+        assertThat(summary.total()).isEqualTo(5);
+        assertThat(summary.accepted()).isEqualTo(2);
+        assertThat(summary.duplicates()).isEqualTo(1);
+        assertThat(summary.invalid()).isEqualTo(2);
+        assertThat(rejects).extracting(DealRejectDto::line).containsExactly(3L, 5L);
+        ArgumentCaptor<FxDeal> staged = ArgumentCaptor.forClass(FxDeal.class);
+        verify(session, times(3)).add(staged.capture());
+        assertThat(staged.getAllValues()).extracting(FxDeal::getId).containsExactly("DEAL1", "DEAL1", "DEAL3");
+        verify(session).close();
+    }
+}
@@ -0,0 +1,156 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealExportService.DealExport;
+import com.progressoft.clustereddata_warehouse.config.ExportProperties;
+import com.progressoft.clustereddata_warehouse.config.ShardingProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.exception.DatabaseBusyException;
+import com.progressoft.clustereddata_warehouse.repository.FxDealQueryRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardContext;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import com.progressoft.clustereddata_warehouse.utils.DealRecordWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FxDealExportServiceImplTest {
+
+    private static final DealSearchCriteria ALL = new DealSearchCriteria(null, null, null, null);
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 2, 3, 4);
+
+    @Mock
+    private FxDealQueryRepository fxDealQueryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FxDealExportServiceImpl fxDealExportService;
+
+    @BeforeEach
+    void setUp() {
+        fxDealExportService = new FxDealExportServiceImpl(fxDealQueryRepository, new ObjectMapper(),
+                new ExportProperties(1000, 1, Duration.ofMinutes(1), 5),
+                new ShardRouter(new ShardingProperties(false, List.of()), transactionManager), transactionManager);
+    }
+
+    private void streamTwoDeals() {
+        when(fxDealQueryRepository.stream(eq(ALL), any())).thenAnswer(invocation -> {
+            DealRecordWriter writer = invocation.getArgument(1);
+            writer.write("D1", "USD", "JOD", TIMESTAMP, new BigDecimal("1234.50"));
+            writer.write("D2", "EUR", "GBP", TIMESTAMP.plusNanos(1_000), new BigDecimal("10000000.00"));
+            return 2L;
+        });
+    }
+
+    @Test
+    @DisplayName("Given CSV format when exported then should write a header and exact amounts")
+    void givenCsvFormat_whenExported_thenShouldWriteHeaderAndExactAmounts() throws IOException {
+
+        streamTwoDeals();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = fxDealExportService.prepare(ALL, DealFileFormat.CSV).writeTo(out);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                D1,USD,JOD,2025-01-02T03:04:00,1234.50
+                D2,EUR,GBP,2025-01-02T03:04:00.000001,10000000.00
+                """);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Given NDJSON format when exported then should write one object per line")
+    void givenNdjsonFormat_whenExported_thenShouldWriteOneObjectPerLine() throws IOException {
+
+        streamTwoDeals();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        fxDealExportService.prepare(ALL, DealFileFormat.NDJSON).writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                {"id":"D1","fromCurrency":"USD","toCurrency":"JOD","dealTimestamp":"2025-01-02T03:04:00","dealAmount":1234.50}
+                {"id":"D2","fromCurrency":"EUR","toCurrency":"GBP","dealTimestamp":"2025-01-02T03:04:00.000001","dealAmount":10000000.00}
+                """);
+    }
+
+    @Test
+    @DisplayName("Given all export slots taken when prepare then should reject until the running export finishes")
+    void givenAllSlotsTaken_whenPrepare_thenShouldRejectUntilRunningExportFinishes() throws IOException {
+
+        DealExport running = fxDealExportService.prepare(ALL, DealFileFormat.CSV);
+
+        assertThatThrownBy(() -> fxDealExportService.prepare(ALL, DealFileFormat.CSV))
+                .isInstanceOf(DatabaseBusyException.class);
+
+        running.writeTo(new ByteArrayOutputStream());
+
+        assertThatCode(() -> fxDealExportService.prepare(ALL, DealFileFormat.CSV)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Given an export released before it ran when prepare then should free the slot and refuse to run it")
+    void givenExportReleasedBeforeItRan_whenPrepare_thenShouldFreeSlotAndRefuseToRunIt() throws IOException {
+
+        DealExport abandoned = fxDealExportService.prepare(ALL, DealFileFormat.CSV);
+
+        abandoned.release();
+        abandoned.release();
+
+        DealExport next = fxDealExportService.prepare(ALL, DealFileFormat.CSV);
+        assertThatThrownBy(() -> abandoned.writeTo(new ByteArrayOutputStream())).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> fxDealExportService.prepare(ALL, DealFileFormat.CSV))
+                .as("releasing twice must not free a second slot").isInstanceOf(DatabaseBusyException.class);
+        next.writeTo(new ByteArrayOutputStream());
+        next.release();
+        assertThatCode(() -> fxDealExportService.prepare(ALL, DealFileFormat.CSV)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Given deals on two shards when exported then should merge them in timestamp order")
+    void givenDealsOnTwoShards_whenExported_thenShouldMergeThemInTimestampOrder() throws IOException {
+
+        ShardingProperties.Shard shard = new ShardingProperties.Shard("jdbc:postgresql://shard/deals", "user", "secret", 1, List.of());
+        FxDealExportServiceImpl shardedService = new FxDealExportServiceImpl(fxDealQueryRepository, new ObjectMapper(),
+                new ExportProperties(1000, 1, Duration.ofMinutes(1), 5),
+                new ShardRouter(new ShardingProperties(true, List.of(shard, shard)), transactionManager), transactionManager);
+        when(fxDealQueryRepository.stream(eq(ALL), any())).thenAnswer(invocation -> {
+            DealRecordWriter writer = invocation.getArgument(1);
+            int offset = ShardContext.current();
+            for (int minute = offset; minute < 4000; minute += 2) {
+                writer.write("D" + minute, "USD", "JOD", TIMESTAMP.plusMinutes(minute), BigDecimal.ONE);
+            }
+            return 2000L;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = shardedService.prepare(ALL, DealFileFormat.CSV).writeTo(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().skip(1).toList();
+        assertThat(rows).isEqualTo(4000);
+        assertThat(lines).hasSize(4000);
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(lines.get(i)).startsWith("D" + i + ",");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.config.IngestionProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionSummaryDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeStatus;
+import com.progressoft.clustereddata_warehouse.dto.response.DealRejectDto;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FxDealFileIngestionServiceImplTest {
+
+    @Mock
+    private FxDealBatchService fxDealBatchService;
+
+    @Mock
+    private AsyncTaskExecutor ingestionExecutor;
+
+    private final List<List<String>> chunks = new ArrayList<>();
+    private final List<Integer> outstandingWhenAwaited = new ArrayList<>();
+    private int submitted;
+    private int completed;
+
+    /**
+     * Chunks are only persisted once the ingesting thread waits for them, so the number of
+     * chunks submitted by then is exactly what the service let through.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(ingestionExecutor.submit(any(Callable.class))).thenAnswer(invocation -> {
+            Callable<BatchDealResponseDto> task = invocation.getArgument(0);
+            submitted++;
+            return new FutureTask<>(task) {
+                @Override
+                public BatchDealResponseDto get() throws InterruptedException, ExecutionException {
+                    outstandingWhenAwaited.add(submitted - completed);
+                    run();
+                    completed++;
+                    return super.get();
+                }
+            };
+        });
+    }
+
+    private FxDealFileIngestionServiceImpl service(int chunkSize, int maxInFlightChunks) {
+        return new FxDealFileIngestionServiceImpl(fxDealBatchService, new ObjectMapper().findAndRegisterModules(),
+                ingestionExecutor, new IngestionProperties(chunkSize, maxInFlightChunks, 1));
+    }
+
+    private void acceptAllBut(String duplicateId, String invalidId) {
+        when(fxDealBatchService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<FxDealRequestDto> deals = invocation.getArgument(0);
+            chunks.add(deals.stream().map(FxDealRequestDto::id).toList());
+            List<DealOutcomeDto> outcomes = new ArrayList<>(deals.size());
+            for (int i = 0; i < deals.size(); i++) {
+                String id = deals.get(i).id();
+                outcomes.add(id.equals(duplicateId) ? DealOutcomeDto.duplicate(i, id, "exists")
+                        : id.equals(invalidId) ? DealOutcomeDto.invalid(i, id, "bad") : DealOutcomeDto.accepted(i, id));
+            }
+            return BatchDealResponseDto.of(outcomes);
+        });
+    }
+
+    private static ByteArrayInputStream csv(String rows) {
+        return new ByteArrayInputStream(("id,fromCurrency,toCurrency,dealTimestamp,dealAmount\n" + rows)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Given rows spread over several chunks when ingested then should split at chunk size and report absolute reject lines")
+    void givenRowsOverSeveralChunks_whenIngested_thenShouldSplitAtChunkSizeAndReportAbsoluteLines() throws IOException {
+
+        acceptAllBut("DEAL5", "DEAL6");
+        List<DealRejectDto> rejects = new ArrayList<>();
+
+        DealIngestionSummaryDto summary = service(2, 3).ingest(csv("""
+                DEAL1,USD,EUR,2025-07-28T10:00:00,10
+                DEAL2,USD,EUR,2025-07-28T10:00:00,20
+                DEAL3,USD,EUR,yesterday,30
+                DEAL4,USD,EUR,2025-07-28T10:00:00,40
+                DEAL5,USD,EUR,2025-07-28T10:00:00,50
+                DEAL6,USD,EUR,2025-07-28T10:00:00,60
+                """), DealFileFormat.CSV, rejects::add);
+
+        assertThat(chunks).containsExactly(List.of("DEAL1", "DEAL2"), List.of("DEAL4", "DEAL5"), List.of("DEAL6"));
+        assertThat(rejects).extracting(DealRejectDto::line, DealRejectDto::status).containsExactly(
+                tuple(4L, DealOutcomeStatus.INVALID),
+                tuple(6L, DealOutcomeStatus.DUPLICATE),
+                tuple(7L, DealOutcomeStatus.INVALID));
+        assertThat(summary.total()).isEqualTo(6);
+        assertThat(summary.accepted()).isEqualTo(3);
+        assertThat(summary.duplicates()).isEqualTo(1);
+        assertThat(summary.invalid()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given more chunks than max in flight when ingested then should not submit more before the oldest completes")
+    void givenMoreChunksThanMaxInFlight_whenIngested_thenShouldBoundChunksInFlight() throws IOException {
+
+        acceptAllBut(null, null);
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            rows.append("DEAL").append(i).append(",USD,EUR,2025-07-28T10:00:00,10\n");
+        }
+
+        DealIngestionSummaryDto summary = service(2, 3).ingest(csv(rows.toString()), DealFileFormat.CSV, reject -> { });
+
+        assertThat(summary.accepted()).isEqualTo(20);
+        assertThat(chunks).hasSize(10);
+        assertThat(outstandingWhenAwaited).hasSize(10);
+        assertThat(outstandingWhenAwaited.getFirst()).as("chunks submitted before the first completed").isEqualTo(3);
+        assertThat(outstandingWhenAwaited).allSatisfy(outstanding -> assertThat(outstanding).isLessThanOrEqualTo(3));
+    }
+}
@@ -0,0 +1,94 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.config.DealCacheProperties;
+import com.progressoft.clustereddata_warehouse.config.ShardingProperties;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.exception.DealNotFoundException;
+import com.progressoft.clustereddata_warehouse.repository.FxDealQueryRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FxDealLookupServiceImplTest {
+
+    private static final FxDealResponseDto DEAL =
+            new FxDealResponseDto("DEAL123", "USD", "EUR", LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_456_789), 1234.56);
+
+    private final FxDealQueryRepository fxDealQueryRepository = mock(FxDealQueryRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FxDealLookupServiceImpl service(boolean compact) {
+        return new FxDealLookupServiceImpl(fxDealQueryRepository,
+                new ShardRouter(new ShardingProperties(false, List.of()), mock(PlatformTransactionManager.class)),
+                new DealCacheProperties(true, Duration.ofMinutes(10), 100, Duration.ofMinutes(1), 100, compact),
+                meterRegistry);
+    }
+
+    private double gets(String result) {
+        return gets("deals", result);
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tags("cache", cache, "result", result).functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Given a stored deal when looked up twice then should query once and count a miss and a hit")
+    void givenStoredDeal_whenLookedUpTwice_thenShouldQueryOnce() {
+
+        FxDealLookupServiceImpl service = service(false);
+        when(fxDealQueryRepository.findById("DEAL123")).thenReturn(Optional.of(DEAL));
+
+        assertThat(service.findById("DEAL123")).isEqualTo(DEAL);
+        assertThat(service.findById("DEAL123")).isEqualTo(DEAL);
+
+        verify(fxDealQueryRepository, times(1)).findById("DEAL123");
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(gets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given an unknown ID when looked up again then should answer from the negative cache until the deal is saved")
+    void givenUnknownId_whenLookedUpAgain_thenShouldAnswerFromNegativeCacheUntilSaved() {
+
+        FxDealLookupServiceImpl service = service(false);
+        when(fxDealQueryRepository.findById("DEAL123")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.findById("DEAL123")).isInstanceOf(DealNotFoundException.class);
+        assertThatThrownBy(() -> service.findById("DEAL123")).isInstanceOf(DealNotFoundException.class);
+        verify(fxDealQueryRepository, times(1)).findById("DEAL123");
+        assertThat(gets("miss")).as("the negative hit does not reach the deal cache").isEqualTo(1);
+        assertThat(gets("deals.not-found", "hit")).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").tags("cache", "deals").gauge().value()).isZero();
+
+        service.recordSaved(DEAL);
+
+        assertThat(service.findById("DEAL123")).isEqualTo(DEAL);
+        verifyNoMoreInteractions(fxDealQueryRepository);
+    }
+
+    @Test
+    @DisplayName("Given compact values when a saved deal is looked up then should decode every field exactly")
+    void givenCompactValues_whenSavedDealLookedUp_thenShouldDecodeEveryFieldExactly() {
+
+        FxDealLookupServiceImpl service = service(true);
+        service.recordSaved(DEAL);
+
+        FxDealResponseDto found = service.findById("DEAL123");
+
+        assertThat(found).isEqualTo(DEAL);
+        assertThat(found.fromCurrency()).isSameAs(service.findById("DEAL123").fromCurrency());
+        verifyNoInteractions(fxDealQueryRepository);
+    }
+}
@@ -0,0 +1,106 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.config.ShardingProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.DealSearchCriteria;
+import com.progressoft.clustereddata_warehouse.dto.response.DealPageDto;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.exception.InvalidDealQueryException;
+import com.progressoft.clustereddata_warehouse.repository.FxDealQueryRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardContext;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FxDealQueryServiceImplTest {
+
+    private static final DealSearchCriteria ALL = new DealSearchCriteria(null, null, null, null);
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 600_000);
+
+    @Mock
+    private FxDealQueryRepository fxDealQueryRepository;
+
+    private FxDealQueryServiceImpl fxDealQueryService;
+
+    @BeforeEach
+    void setUp() {
+        fxDealQueryService = new FxDealQueryServiceImpl(fxDealQueryRepository,
+                new ShardRouter(new ShardingProperties(false, List.of()), mock(PlatformTransactionManager.class)));
+    }
+
+    private FxDealResponseDto deal(String id) {
+        return new FxDealResponseDto(id, "USD", "EUR", TIMESTAMP, 10.0);
+    }
+
+    @Test
+    @DisplayName("Given more rows than the limit when find then should return a cursor at the last deal of the page")
+    void givenMoreRowsThanLimit_whenFind_thenShouldReturnCursorAtLastDeal() {
+
+        when(fxDealQueryRepository.findPage(ALL, null, null, 3))
+                .thenReturn(List.of(deal("A"), deal("B|1"), deal("C")));
+
+        DealPageDto page = fxDealQueryService.find(ALL, null, 2);
+
+        assertThat(page.deals()).extracting(FxDealResponseDto::id).containsExactly("A", "B|1");
+        assertThat(page.nextCursor()).isEqualTo(FxDealQueryServiceImpl.encode(deal("B|1")));
+    }
+
+    @Test
+    @DisplayName("Given cursor when find then should seek after the encoded position")
+    void givenCursor_whenFind_thenShouldSeekAfterEncodedPosition() {
+
+        String cursor = FxDealQueryServiceImpl.encode(deal("B|1"));
+        when(fxDealQueryRepository.findPage(ALL, TIMESTAMP, "B|1", 101)).thenReturn(List.of(deal("C")));
+
+        DealPageDto page = fxDealQueryService.find(ALL, cursor, null);
+
+        assertThat(page.deals()).extracting(FxDealResponseDto::id).containsExactly("C");
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given malformed cursor or limit when find then should throw InvalidDealQueryException")
+    void givenMalformedCursorOrLimit_whenFind_thenShouldThrowInvalidDealQueryException() {
+
+        assertThatThrownBy(() -> fxDealQueryService.find(ALL, "not a cursor!", null))
+                .isInstanceOf(InvalidDealQueryException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> fxDealQueryService.find(ALL, null, 5000))
+                .isInstanceOf(InvalidDealQueryException.class)
+                .hasMessage("limit must be between 1 and 1000");
+        verify(fxDealQueryRepository, never()).findPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Given timestamp ties across shards when find then should merge IDs in the byte order the shards sort by")
+    void givenTimestampTiesAcrossShards_whenFind_thenShouldMergeIdsInShardByteOrder() {
+
+        ShardingProperties.Shard node = new ShardingProperties.Shard("jdbc:postgresql://shard/deals", "user", "secret", 1, List.of());
+        ShardRouter router = new ShardRouter(new ShardingProperties(true, List.of(node, node)),
+                mock(PlatformTransactionManager.class));
+        FxDealQueryServiceImpl shardedService = new FxDealQueryServiceImpl(fxDealQueryRepository, router);
+        // Each shard returns its rows sorted by id COLLATE "C"; U+FF01 sorts before the emoji there,
+        // while String.compareTo would put the emoji's surrogate pair first
+        when(fxDealQueryRepository.findPage(ALL, null, null, 5)).thenAnswer(invocation -> ShardContext.current() == 0
+                ? List.of(deal("B"), deal("\uFF01"))
+                : List.of(deal("a"), deal("\uD83D\uDE00")));
+
+        DealPageDto page = shardedService.find(ALL, null, 4);
+
+        assertThat(page.deals()).extracting(FxDealResponseDto::id)
+                .containsExactly("B", "a", "\uFF01", "\uD83D\uDE00");
+        router.shutdown();
+    }
+}
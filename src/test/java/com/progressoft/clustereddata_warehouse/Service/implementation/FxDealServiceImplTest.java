@@ -1,23 +1,31 @@
 package com.progressoft.clustereddata_warehouse.Service.implementation;
 
 import com.progressoft.clustereddata_warehouse.Service.api.CurrencyVerifier;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealLookupService;
+import com.progressoft.clustereddata_warehouse.config.ShardingProperties;
 import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
 import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
 import com.progressoft.clustereddata_warehouse.entity.FxDeal;
 import com.progressoft.clustereddata_warehouse.exception.DuplicateDealException;
 import com.progressoft.clustereddata_warehouse.exception.InvalidCurrencyException;
 import com.progressoft.clustereddata_warehouse.mapper.FxDealMapper;
+import com.progressoft.clustereddata_warehouse.metrics.DealMetrics;
+import com.progressoft.clustereddata_warehouse.metrics.DealOutcome;
 import com.progressoft.clustereddata_warehouse.repository.FxDealRepository;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -39,6 +47,18 @@ class FxDealServiceImplTest {
     @Mock
     private CurrencyVerifier currencyVerifier;
 
+    @Mock
+    private DealMetrics dealMetrics;
+
+    @Mock
+    private FxDealLookupService fxDealLookupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(new ShardingProperties(false, List.of()), mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private FxDealServiceImpl fxDealService;
 
@@ -76,9 +96,8 @@ class FxDealServiceImplTest {
     @DisplayName("Given valid request when save then should return response successfully")
     void givenValidRequest_whenSave_thenShouldReturnResponseSuccessfully() {
 
-        when(fxDealRepository.existsById("DEAL123")).thenReturn(false);
         when(fxDealMapper.toEntity(requestDto)).thenReturn(fxDeal);
-        when(fxDealRepository.save(fxDeal)).thenReturn(fxDeal);
+        when(fxDealRepository.insertIfAbsent(fxDeal)).thenReturn(true);
         when(fxDealMapper.toResponseDto(fxDeal)).thenReturn(responseDto);
 
 
@@ -91,10 +110,13 @@ class FxDealServiceImplTest {
         assertThat(result.toCurrency()).isEqualTo("EUR");
 
         verify(currencyVerifier).validate("USD", "EUR");
-        verify(fxDealRepository).existsById("DEAL123");
         verify(fxDealMapper).toEntity(requestDto);
-        verify(fxDealRepository).save(fxDeal);
+        verify(fxDealRepository).insertIfAbsent(fxDeal);
+        verify(fxDealRepository, never()).existsById(anyString());
+        verify(fxDealRepository, never()).save(any());
         verify(fxDealMapper).toResponseDto(fxDeal);
+        verify(fxDealLookupService).recordSaved(responseDto);
+        verify(dealMetrics).outcome(DealOutcome.CREATED, "USD", "EUR");
     }
 
     @Test
@@ -109,17 +131,18 @@ class FxDealServiceImplTest {
                 .withMessage("Invalid currency");
 
         verify(currencyVerifier).validate("USD", "EUR");
-        verify(fxDealRepository, never()).existsById(anyString());
         verify(fxDealMapper, never()).toEntity(any());
-        verify(fxDealRepository, never()).save(any());
+        verify(fxDealRepository, never()).insertIfAbsent(any());
         verify(fxDealMapper, never()).toResponseDto(any());
+        verify(dealMetrics).outcome(DealOutcome.INVALID_CURRENCY, "USD", "EUR");
     }
 
     @Test
     @DisplayName("Given duplicate deal ID when save then should throw DuplicateDealException")
     void givenDuplicateDealId_whenSave_thenShouldThrowDuplicateDealException() {
 
-        when(fxDealRepository.existsById("DEAL123")).thenReturn(true);
+        when(fxDealMapper.toEntity(requestDto)).thenReturn(fxDeal);
+        when(fxDealRepository.insertIfAbsent(fxDeal)).thenReturn(false);
 
 
         assertThatExceptionOfType(DuplicateDealException.class)
@@ -127,19 +150,17 @@ class FxDealServiceImplTest {
                 .withMessage("A deal with ID 'DEAL123' already exists.");
 
         verify(currencyVerifier).validate("USD", "EUR");
-        verify(fxDealRepository).existsById("DEAL123");
-        verify(fxDealMapper, never()).toEntity(any());
-        verify(fxDealRepository, never()).save(any());
+        verify(fxDealRepository).insertIfAbsent(fxDeal);
         verify(fxDealMapper, never()).toResponseDto(any());
+        verify(dealMetrics).outcome(DealOutcome.DUPLICATE, "USD", "EUR");
     }
 
     @Test
     @DisplayName("Given repository exception during save when save then should throw RuntimeException")
     void givenRepositoryExceptionDuringSave_whenSave_thenShouldThrowRuntimeException() {
 
-        when(fxDealRepository.existsById("DEAL123")).thenReturn(false);
         when(fxDealMapper.toEntity(requestDto)).thenReturn(fxDeal);
-        when(fxDealRepository.save(fxDeal)).thenThrow(new RuntimeException("Database error"));
+        when(fxDealRepository.insertIfAbsent(fxDeal)).thenThrow(new RuntimeException("Database error"));
 
 
         assertThatExceptionOfType(RuntimeException.class)
@@ -147,17 +168,17 @@ class FxDealServiceImplTest {
                 .withMessage("Database error");
 
         verify(currencyVerifier).validate("USD", "EUR");
-        verify(fxDealRepository).existsById("DEAL123");
         verify(fxDealMapper).toEntity(requestDto);
-        verify(fxDealRepository).save(fxDeal);
+        verify(fxDealRepository).insertIfAbsent(fxDeal);
         verify(fxDealMapper, never()).toResponseDto(any());
+        verify(transactionManager).rollback(any());
+        verify(dealMetrics).outcome(DealOutcome.ERROR, "USD", "EUR");
     }
 
     @Test
     @DisplayName("Given mapper exception during entity conversion when save then should throw RuntimeException")
     void givenMapperExceptionDuringEntityConversion_whenSave_thenShouldThrowRuntimeException() {
 
-        when(fxDealRepository.existsById("DEAL123")).thenReturn(false);
         when(fxDealMapper.toEntity(requestDto)).thenThrow(new RuntimeException("Mapping error"));
 
 
@@ -166,9 +187,8 @@ class FxDealServiceImplTest {
                 .withMessage("Mapping error");
 
         verify(currencyVerifier).validate("USD", "EUR");
-        verify(fxDealRepository).existsById("DEAL123");
         verify(fxDealMapper).toEntity(requestDto);
-        verify(fxDealRepository, never()).save(any());
+        verify(fxDealRepository, never()).insertIfAbsent(any());
         verify(fxDealMapper, never()).toResponseDto(any());
     }
 
@@ -176,9 +196,8 @@ class FxDealServiceImplTest {
     @DisplayName("Given mapper exception during response conversion when save then should throw RuntimeException")
     void givenMapperExceptionDuringResponseConversion_whenSave_thenShouldThrowRuntimeException() {
 
-        when(fxDealRepository.existsById("DEAL123")).thenReturn(false);
         when(fxDealMapper.toEntity(requestDto)).thenReturn(fxDeal);
-        when(fxDealRepository.save(fxDeal)).thenReturn(fxDeal);
+        when(fxDealRepository.insertIfAbsent(fxDeal)).thenReturn(true);
         when(fxDealMapper.toResponseDto(fxDeal)).thenThrow(new RuntimeException("Response mapping error"));
 
 
@@ -187,9 +206,8 @@ class FxDealServiceImplTest {
                 .withMessage("Response mapping error");
 
         verify(currencyVerifier).validate("USD", "EUR");
-        verify(fxDealRepository).existsById("DEAL123");
         verify(fxDealMapper).toEntity(requestDto);
-        verify(fxDealRepository).save(fxDeal);
+        verify(fxDealRepository).insertIfAbsent(fxDeal);
         verify(fxDealMapper).toResponseDto(fxDeal);
     }
 
@@ -197,7 +215,8 @@ class FxDealServiceImplTest {
     @DisplayName("Given all dependencies when constructor called then should create instance successfully")
     void givenAllDependencies_whenConstructorCalled_thenShouldCreateInstanceSuccessfully() {
 
-        FxDealServiceImpl service = new FxDealServiceImpl(fxDealRepository, fxDealMapper, currencyVerifier);
+        FxDealServiceImpl service = new FxDealServiceImpl(fxDealRepository, fxDealMapper, currencyVerifier,
+                dealMetrics, shardRouter, fxDealLookupService, transactionManager);
 
 
         assertThat(service).isNotNull();
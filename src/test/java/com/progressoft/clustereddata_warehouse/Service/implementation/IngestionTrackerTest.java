@@ -0,0 +1,59 @@
+package com.progressoft.clustereddata_warehouse.Service.implementation;
+
+import com.progressoft.clustereddata_warehouse.config.AsyncIngestionProperties;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionStatusDto;
+import com.progressoft.clustereddata_warehouse.dto.response.IngestionState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IngestionTrackerTest {
+
+    private final IngestionTracker ingestionTracker = new IngestionTracker(new AsyncIngestionProperties(100, 1, 10,
+            Duration.ofMillis(20), Duration.ofMinutes(1), 3, Duration.ofSeconds(1), 1));
+
+    @Test
+    @DisplayName("Given more deals than max statuses when tracked then should keep only the newest statuses")
+    void givenMoreDealsThanMaxStatuses_whenTracked_thenShouldKeepNewest() {
+
+        DealIngestionStatusDto first = ingestionTracker.track("DEAL1");
+        ingestionTracker.update(first.trackingId(), IngestionState.COMMITTED, null);
+        DealIngestionStatusDto second = ingestionTracker.track("DEAL2");
+        DealIngestionStatusDto third = ingestionTracker.track("DEAL3");
+        DealIngestionStatusDto fourth = ingestionTracker.track("DEAL4");
+
+        assertThat(ingestionTracker.size()).isEqualTo(3);
+        assertThat(ingestionTracker.find(first.trackingId())).isEmpty();
+        assertThat(ingestionTracker.find(second.trackingId())).isPresent();
+        assertThat(ingestionTracker.find(third.trackingId())).isPresent();
+        assertThat(ingestionTracker.find(fourth.trackingId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Given a tracked deal when updated then should report the new state")
+    void givenTrackedDeal_whenUpdated_thenShouldReportNewState() {
+
+        DealIngestionStatusDto status = ingestionTracker.track("DEAL1");
+
+        ingestionTracker.update(status.trackingId(), IngestionState.REJECTED, "bad currency");
+
+        assertThat(ingestionTracker.find(status.trackingId())).get()
+                .extracting(DealIngestionStatusDto::state, DealIngestionStatusDto::reason)
+                .containsExactly(IngestionState.REJECTED, "bad currency");
+    }
+
+    @Test
+    @DisplayName("Given a forgotten deal when updated then should not track it again")
+    void givenForgottenDeal_whenUpdated_thenShouldStayUntracked() {
+
+        DealIngestionStatusDto status = ingestionTracker.track("DEAL1");
+        ingestionTracker.forget(status.trackingId());
+
+        ingestionTracker.update(status.trackingId(), IngestionState.COMMITTED, null);
+
+        assertThat(ingestionTracker.find(status.trackingId())).isEmpty();
+    }
+}
@@ -0,0 +1,65 @@
+package com.progressoft.clustereddata_warehouse.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long TARGET = 50_000_000L;
+
+    @Test
+    @DisplayName("Given a full limit when acquiring then should reject until a request is released")
+    void givenFullLimit_whenAcquiring_thenShouldRejectUntilReleased() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, TARGET, 0.5, 0);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(TARGET / 2, false, 0);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given fast then slow requests when released then the limit should rise by one and back off once per window")
+    void givenFastThenSlowRequests_whenReleased_thenLimitShouldRiseAndBackOff() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 2, 10, TARGET, 0.5, 0);
+
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire();
+            limit.release(TARGET / 2, false, TARGET);
+        }
+        assertThat(limit.limit()).isEqualTo(5);
+
+        limit.tryAcquire();
+        limit.release(2 * TARGET, false, 2 * TARGET);
+        limit.tryAcquire();
+        limit.release(0, true, 2 * TARGET + 1);
+        assertThat(limit.limit()).as("one back-off per window").isEqualTo(2);
+
+        limit.tryAcquire();
+        limit.release(0, true, 4 * TARGET);
+        assertThat(limit.limit()).as("never below min-limit").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given requests that never reached the database when released then should free the slot without moving the limit")
+    void givenRequestsWithoutSample_whenReleased_thenShouldFreeSlotWithoutMovingLimit() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, TARGET, 0.5, 0);
+
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.release(AdaptiveConcurrencyLimit.NO_SAMPLE, false, TARGET);
+        }
+
+        assertThat(limit.limit()).isEqualTo(2);
+        assertThat(limit.inFlight()).isZero();
+    }
+}
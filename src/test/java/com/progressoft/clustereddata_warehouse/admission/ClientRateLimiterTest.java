@@ -0,0 +1,41 @@
+package com.progressoft.clustereddata_warehouse.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Given a full bucket when a client exceeds its burst then should reject with the time until the next token")
+    void givenFullBucket_whenClientExceedsBurst_thenShouldRejectWithWait() {
+
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 100);
+
+        assertThat(limiter.tryAcquire("a", 0)).isZero();
+        assertThat(limiter.tryAcquire("a", 0)).isZero();
+        assertThat(limiter.tryAcquire("a", 0)).isZero();
+        assertThat(limiter.tryAcquire("a", 0)).isEqualTo(SECOND / 10);
+        assertThat(limiter.tryAcquire("b", 0)).as("other clients keep their own bucket").isZero();
+        assertThat(limiter.tryAcquire("a", SECOND / 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Given more clients than tracked when they send then the extra ones should share a bucket and idle ones be evicted")
+    void givenMoreClientsThanTracked_whenSending_thenExtraOnesShouldShareBucket() {
+
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 1);
+
+        assertThat(limiter.tryAcquire("a", 0)).isZero();
+        assertThat(limiter.tryAcquire("b", 0)).isZero();
+        assertThat(limiter.tryAcquire("c", 0)).isPositive();
+
+        limiter.evictIdle(2 * SECOND);
+
+        assertThat(limiter.trackedClients()).isZero();
+        assertThat(limiter.tryAcquire("c", 2 * SECOND)).isZero();
+    }
+}
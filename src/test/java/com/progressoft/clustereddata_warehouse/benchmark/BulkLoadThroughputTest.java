@@ -0,0 +1,91 @@
+package com.progressoft.clustereddata_warehouse.benchmark;
+
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBulkLoadService;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionSummaryDto;
+import com.progressoft.clustereddata_warehouse.mapper.FxDealMapper;
+import com.progressoft.clustereddata_warehouse.repository.FxDealRepository;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares the per-deal JPA path (existsById + save, as the single-deal endpoint used to do)
+ * with the COPY-based bulk loader on the same database. Run with
+ * {@code FX_DEALS_BENCH_DB_URL=jdbc:postgresql://localhost:5432/fx_deals mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "FX_DEALS_BENCH_DB_URL", matches = ".+")
+class BulkLoadThroughputTest {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 20_000);
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("FX_DEALS_BENCH_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("FX_DEALS_BENCH_DB_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("FX_DEALS_BENCH_DB_PASSWORD", "password"));
+    }
+
+    @Autowired
+    private FxDealRepository fxDealRepository;
+
+    @Autowired
+    private FxDealMapper fxDealMapper;
+
+    @Autowired
+    private FxDealBulkLoadService fxDealBulkLoadService;
+
+    @Test
+    @DisplayName("Bulk COPY load should outperform per-deal JPA save")
+    void compareBulkLoadWithJpaSave() throws Exception {
+        String runId = UUID.randomUUID().toString();
+        LocalDateTime timestamp = LocalDateTime.now();
+
+        long jpaStart = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            FxDealRequestDto deal = new FxDealRequestDto(runId + "-jpa-" + i, "USD", "EUR", timestamp, 100.0 + i);
+            if (!fxDealRepository.existsById(deal.id())) {
+                fxDealRepository.save(fxDealMapper.toEntity(deal));
+            }
+        }
+        double jpaRowsPerSecond = ROWS / seconds(jpaStart);
+
+        StringBuilder csv = new StringBuilder("id,fromCurrency,toCurrency,dealTimestamp,dealAmount\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(runId).append("-copy-").append(i).append(",USD,EUR,").append(timestamp).append(',')
+                    .append(100.0 + i).append('\n');
+        }
+        byte[] file = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        long copyStart = System.nanoTime();
+        DealIngestionSummaryDto summary = fxDealBulkLoadService.load(new ByteArrayInputStream(file),
+                DealFileFormat.CSV, reject -> { });
+        double copyRowsPerSecond = ROWS / seconds(copyStart);
+
+        System.out.printf("rows=%d jpaSave=%.0f rows/s bulkCopy=%.0f rows/s speedup=%.1fx%n",
+                ROWS, jpaRowsPerSecond, copyRowsPerSecond, copyRowsPerSecond / jpaRowsPerSecond);
+
+        assertThat(summary.accepted()).isEqualTo(ROWS);
+        assertThat(summary.duplicates()).isZero();
+        assertThat(copyRowsPerSecond).isGreaterThan(jpaRowsPerSecond);
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
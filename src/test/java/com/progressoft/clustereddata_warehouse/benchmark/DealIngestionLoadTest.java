@@ -0,0 +1,66 @@
+package com.progressoft.clustereddata_warehouse.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Drives {@code POST /api/v1/deals} over HTTP against the full application and fails when the
+ * latency or throughput SLO is missed. The database is H2 in PostgreSQL mode unless
+ * {@code FX_DEALS_BENCH_DB_URL} names a PostgreSQL database (see {@link LoadTestDatabase}); the
+ * report says which one produced the numbers. The mix is tunable with system properties, e.g.
+ * {@code mvn test -Pload -Dload.concurrency=128 -Dload.duplicateRatio=0.2 -Dload.slo.p99Millis=100}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class DealIngestionLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("load.warmupRequests", 5_000);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 50_000);
+    private static final double DUPLICATE_RATIO = Double.parseDouble(System.getProperty("load.duplicateRatio", "0.1"));
+    private static final double INVALID_RATIO = Double.parseDouble(System.getProperty("load.invalidRatio", "0.05"));
+    private static final long SLO_P99_MILLIS = Long.getLong("load.slo.p99Millis", 250);
+    private static final long SLO_MIN_DEALS_PER_SECOND = Long.getLong("load.slo.minDealsPerSecond", 500);
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        LoadTestDatabase.register(registry);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Deal ingestion should meet the p99 latency and throughput SLOs")
+    void ingestionMeetsSlo() throws Exception {
+        DealLoadDriver driver = new DealLoadDriver(port, CONCURRENCY, DUPLICATE_RATIO, INVALID_RATIO,
+                WARMUP_REQUESTS + REQUESTS);
+        driver.run(WARMUP_REQUESTS);
+
+        DealLoadDriver.Report report = driver.run(REQUESTS);
+
+        System.out.printf("backend: %s%n", LoadTestDatabase.describe(dataSource));
+        System.out.printf("%d requests, concurrency %d, %.1f%% duplicates, %.1f%% invalid%n",
+                REQUESTS, CONCURRENCY, DUPLICATE_RATIO * 100, INVALID_RATIO * 100);
+        report.print();
+
+        assertThat(report.unexpected()).as("responses that did not match the request kind").isZero();
+        assertThat(report.millis(99)).as("p99 latency (ms)").isLessThanOrEqualTo(SLO_P99_MILLIS);
+        assertThat(report.dealsPerSecond()).as("deals/s").isGreaterThanOrEqualTo(SLO_MIN_DEALS_PER_SECOND);
+    }
+}
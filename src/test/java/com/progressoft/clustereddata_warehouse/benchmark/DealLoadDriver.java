@@ -0,0 +1,171 @@
+package com.progressoft.clustereddata_warehouse.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sends a mix of new, duplicate and invalid deals to {@code POST /api/v1/deals} from a fixed
+ * number of concurrent clients, each waiting for its response before sending the next, and
+ * records the latency of every request.
+ */
+final class DealLoadDriver {
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "JOD", "AED", "CHF", "CAD"};
+
+    private final URI endpoint;
+    private final int concurrency;
+    private final double duplicateRatio;
+    private final double invalidRatio;
+    private final HttpClient httpClient;
+    private final String runId = UUID.randomUUID().toString();
+    private final AtomicInteger nextDealId = new AtomicInteger();
+    private final AtomicReferenceArray<String> acceptedIds;
+    private final AtomicInteger acceptedCount = new AtomicInteger();
+
+    DealLoadDriver(int port, int concurrency, double duplicateRatio, double invalidRatio, int maxRequests) {
+        this.endpoint = URI.create("http://localhost:" + port + "/api/v1/deals");
+        this.concurrency = concurrency;
+        this.duplicateRatio = duplicateRatio;
+        this.invalidRatio = invalidRatio;
+        this.acceptedIds = new AtomicReferenceArray<>(maxRequests);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    Report run(int requests) throws Exception {
+        Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        Report report = new Report(requests, latency);
+        AtomicInteger remaining = new AtomicInteger(requests);
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(clients.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        send(report);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private void send(Report report) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double roll = random.nextDouble();
+        Kind kind;
+        String id;
+        String toCurrency;
+        int accepted = acceptedCount.get();
+        String previous = accepted > 0 ? acceptedIds.get(random.nextInt(accepted)) : null;
+        if (roll < invalidRatio) {
+            kind = Kind.INVALID;
+            id = runId + "-" + nextDealId.getAndIncrement();
+            toCurrency = "XYZ";
+        } else if (roll < invalidRatio + duplicateRatio && previous != null) {
+            kind = Kind.DUPLICATE;
+            id = previous;
+            toCurrency = "EUR";
+        } else {
+            kind = Kind.NEW;
+            id = runId + "-" + nextDealId.getAndIncrement();
+            toCurrency = "EUR";
+        }
+        String fromCurrency = CURRENCIES[random.nextInt(CURRENCIES.length)];
+        if (fromCurrency.equals(toCurrency)) {
+            fromCurrency = "USD";
+        }
+
+        String body = String.format(Locale.ROOT,
+                "{\"id\":\"%s\",\"fromCurrency\":\"%s\",\"toCurrency\":\"%s\",\"dealTimestamp\":\"%s\",\"dealAmount\":%.2f}",
+                id, fromCurrency, toCurrency, LocalDateTime.now(), 1 + random.nextDouble(1_000_000));
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        long sent = System.nanoTime();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        report.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent));
+
+        int status = response.statusCode();
+        switch (kind) {
+            case NEW -> {
+                if (status == 201) {
+                    report.accepted.incrementAndGet();
+                    int slot = acceptedCount.getAndIncrement();
+                    if (slot < acceptedIds.length()) {
+                        acceptedIds.set(slot, id);
+                    }
+                } else {
+                    report.unexpected.incrementAndGet();
+                }
+            }
+            case DUPLICATE -> (status == 400 ? report.duplicate : report.unexpected).incrementAndGet();
+            case INVALID -> (status >= 400 ? report.rejected : report.unexpected).incrementAndGet();
+        }
+    }
+
+    private enum Kind {NEW, DUPLICATE, INVALID}
+
+    static final class Report {
+        private final int requests;
+        private final Histogram latency;
+        private final AtomicInteger accepted = new AtomicInteger();
+        private final AtomicInteger duplicate = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger unexpected = new AtomicInteger();
+        private long elapsedNanos;
+
+        private Report(int requests, Histogram latency) {
+            this.requests = requests;
+            this.latency = latency;
+        }
+
+        double dealsPerSecond() {
+            return requests / (elapsedNanos / 1e9);
+        }
+
+        double millis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        int unexpected() {
+            return unexpected.get();
+        }
+
+        void print() {
+            System.out.printf("throughput: %.0f deals/s%n", dealsPerSecond());
+            System.out.printf("latency (ms): p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                    millis(50), millis(90), millis(99), millis(99.9), latency.getMaxValue() / 1000.0);
+            System.out.printf("outcomes: %d accepted, %d duplicate, %d rejected, %d unexpected%n",
+                    accepted.get(), duplicate.get(), rejected.get(), unexpected.get());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.progressoft.clustereddata_warehouse.benchmark;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * Database behind the {@code loadtest} profile. H2 in PostgreSQL mode by default; with
+ * {@code FX_DEALS_BENCH_DB_URL} set, that PostgreSQL database instead, migrated by Flyway and
+ * with partition maintenance and volume rollups running as in production.
+ */
+final class LoadTestDatabase {
+
+    private static final String URL = System.getenv("FX_DEALS_BENCH_DB_URL");
+
+    private LoadTestDatabase() {
+    }
+
+    static void register(DynamicPropertyRegistry registry) {
+        if (URL == null || URL.isBlank()) {
+            return;
+        }
+        registry.add("spring.datasource.url", () -> URL);
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("FX_DEALS_BENCH_DB_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("FX_DEALS_BENCH_DB_PASSWORD", "password"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("fx-deals.partitions.enabled", () -> true);
+        registry.add("fx-deals.volumes.enabled", () -> true);
+    }
+
+    /**
+     * @return the product, version and URL of the database the numbers were measured against
+     */
+    static String describe(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDatabaseProductName() + " " + metaData.getDatabaseProductVersion() + " (" + metaData.getURL() + ")";
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.progressoft.clustereddata_warehouse.benchmark;
+
+import com.progressoft.clustereddata_warehouse.partition.DealPartitionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares inserts and one-day range queries on an unpartitioned heap table (the layout
+ * before {@code V4__partition_deals.sql}, in a scratch schema) with the Flyway-migrated
+ * {@code deals} table, whose daily partitions {@link DealPartitionManager} creates on startup
+ * and whose {@code deal_ids} trigger runs on every insert. Run with
+ * {@code FX_DEALS_BENCH_DB_URL=jdbc:postgresql://localhost:5432/fx_deals?reWriteBatchedInserts=true mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "FX_DEALS_BENCH_DB_URL", matches = ".+")
+class PartitioningBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 500_000);
+    private static final int DAYS = Integer.getInteger("bench.days", 30);
+    private static final int QUERIES = Integer.getInteger("bench.queries", 200);
+    private static final int BATCH = 1_000;
+    private static final LocalDateTime START = LocalDate.now().atStartOfDay();
+    private static final Pattern SCANNED_RELATION = Pattern.compile("(?<!Bitmap Index Scan) on (deals\\w*)");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("FX_DEALS_BENCH_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("FX_DEALS_BENCH_DB_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("FX_DEALS_BENCH_DB_PASSWORD", "password"));
+        registry.add("fx-deals.partitions.interval", () -> "DAILY");
+        registry.add("fx-deals.partitions.ahead", () -> DAYS);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createHeapTable() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS partition_bench CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA partition_bench");
+        jdbcTemplate.execute("""
+                CREATE TABLE partition_bench.heap_deals (
+                    id VARCHAR(255) PRIMARY KEY, from_currency VARCHAR(3) NOT NULL, to_currency VARCHAR(3) NOT NULL,
+                    deal_amount NUMERIC(38, 2) NOT NULL, deal_timestamp TIMESTAMP(6) NOT NULL)""");
+        jdbcTemplate.execute("CREATE INDEX ON partition_bench.heap_deals (deal_timestamp, id)");
+    }
+
+    @AfterEach
+    void dropHeapTable() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS partition_bench CASCADE");
+    }
+
+    @Test
+    @DisplayName("Partitioned deals should prune range queries and still reject duplicate IDs across partitions")
+    void compareHeapWithPartitionedTable() {
+        String runId = UUID.randomUUID().toString();
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime timestamp = START.plusSeconds(random.nextLong(DAYS * 86_400L));
+            rows.add(new Object[]{runId + "-" + i, "USD", "EUR", BigDecimal.valueOf(random.nextLong(1, 100_000_000), 2), timestamp});
+        }
+
+        double heapInsertsPerSecond = insert("partition_bench.heap_deals", rows);
+        double partitionedInsertsPerSecond = insert("deals", rows);
+        jdbcTemplate.execute("ANALYZE partition_bench.heap_deals");
+        jdbcTemplate.execute("ANALYZE deals");
+        double heapQueryMillis = rangeQueries("partition_bench.heap_deals");
+        double partitionedQueryMillis = rangeQueries("deals");
+
+        LocalDateTime day = START.plusDays(DAYS / 2);
+        List<String> holding = jdbcTemplate.queryForList("SELECT DISTINCT tableoid::regclass::text FROM deals"
+                + " WHERE deal_timestamp >= ? AND deal_timestamp < ?", String.class, day, day.plusDays(1));
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT count(*), sum(deal_amount) FROM deals"
+                + " WHERE deal_timestamp >= '" + day + "' AND deal_timestamp < '" + day.plusDays(1) + "'", String.class));
+        Set<String> scanned = new TreeSet<>();
+        for (Matcher matcher = SCANNED_RELATION.matcher(plan); matcher.find(); ) {
+            scanned.add(matcher.group(1));
+        }
+
+        System.out.printf("rows=%d days=%d%n", ROWS, DAYS);
+        System.out.printf("insert: heap=%.0f rows/s partitioned=%.0f rows/s%n", heapInsertsPerSecond, partitionedInsertsPerSecond);
+        System.out.printf("one-day range query: heap=%.2f ms partitioned=%.2f ms%n", heapQueryMillis, partitionedQueryMillis);
+        System.out.printf("one-day plan scans %s%n%s%n", scanned, plan);
+
+        assertThat(holding).as("the day's deals sit in one daily partition").hasSize(1).doesNotContain("deals_default");
+        assertThat(scanned).as("partitions scanned for one day").containsExactlyElementsOf(holding);
+
+        int inserted = jdbcTemplate.update("INSERT INTO deals (id, from_currency, to_currency, deal_amount, deal_timestamp)"
+                        + " VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING",
+                runId + "-0", "USD", "EUR", BigDecimal.ONE, START.plusDays(DAYS).plusHours(1));
+        assertThat(inserted).as("duplicate ID in another partition").isZero();
+    }
+
+    private double insert(String table, List<Object[]> rows) {
+        String sql = "INSERT INTO " + table
+                + " (id, from_currency, to_currency, deal_amount, deal_timestamp) VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+        long start = System.nanoTime();
+        for (int from = 0; from < rows.size(); from += BATCH) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH)));
+        }
+        return rows.size() / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private double rangeQueries(String table) {
+        String sql = "SELECT count(*), sum(deal_amount) FROM " + table
+                + " WHERE deal_timestamp >= ? AND deal_timestamp < ?";
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            LocalDateTime from = START.plusDays(i % DAYS);
+            jdbcTemplate.queryForList(sql, from, from.plusDays(1));
+        }
+        return (System.nanoTime() - start) / 1e6 / QUERIES;
+    }
+}
@@ -0,0 +1,118 @@
+package com.progressoft.clustereddata_warehouse.benchmark;
+
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealService;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.sharding.ShardContext;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares single-deal insert throughput when IDs spread over every shard with the same load
+ * forced onto one shard, which is what an unsharded deployment of the same nodes can do. Run
+ * against {@code docker-compose.shards.yml} with
+ * {@code FX_DEALS_BENCH_SHARD_URLS=jdbc:postgresql://localhost:5433/fx_deals,jdbc:postgresql://localhost:5434/fx_deals,jdbc:postgresql://localhost:5435/fx_deals mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "FX_DEALS_BENCH_SHARD_URLS", matches = ".+")
+class ShardingThroughputTest {
+
+    private static final int DEALS = Integer.getInteger("bench.rows", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 64);
+
+    @DynamicPropertySource
+    static void shards(DynamicPropertyRegistry registry) {
+        String[] urls = System.getenv("FX_DEALS_BENCH_SHARD_URLS").split(",");
+        registry.add("fx-deals.sharding.enabled", () -> "true");
+        for (int i = 0; i < urls.length; i++) {
+            String url = urls[i].trim();
+            registry.add("fx-deals.sharding.shards[" + i + "].url", () -> url);
+            registry.add("fx-deals.sharding.shards[" + i + "].username",
+                    () -> System.getenv().getOrDefault("FX_DEALS_BENCH_DB_USER", "postgres"));
+            registry.add("fx-deals.sharding.shards[" + i + "].password",
+                    () -> System.getenv().getOrDefault("FX_DEALS_BENCH_DB_PASSWORD", "password"));
+        }
+    }
+
+    @Autowired
+    private FxDealService fxDealService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deals spread across shards should insert faster than the same load on one shard")
+    void compareSpreadWithSingleShard() throws Exception {
+        assertThat(shardRouter.shardCount()).as("configured shards").isGreaterThan(1);
+        String runId = UUID.randomUUID().toString();
+
+        List<String> spreadIds = new ArrayList<>(DEALS);
+        List<String> singleShardIds = new ArrayList<>(DEALS);
+        for (int i = 0; spreadIds.size() < DEALS || singleShardIds.size() < DEALS; i++) {
+            String id = runId + "-" + i;
+            if (spreadIds.size() < DEALS) {
+                spreadIds.add(id);
+            } else if (shardRouter.shardOf(id) == 0) {
+                singleShardIds.add(id);
+            }
+        }
+
+        double singleShardPerSecond = insert(singleShardIds);
+        double spreadPerSecond = insert(spreadIds);
+
+        System.out.printf("shards=%d deals=%d concurrency=%d%n", shardRouter.shardCount(), DEALS, CONCURRENCY);
+        System.out.printf("insert: one shard=%.0f deals/s spread=%.0f deals/s (x%.2f)%n",
+                singleShardPerSecond, spreadPerSecond, spreadPerSecond / singleShardPerSecond);
+
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            Long stored = ShardContext.call(shard, () -> jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM deals WHERE id LIKE ?", Long.class, runId + "-%"));
+            assertThat(stored).as("deals on shard %d", shard).isPositive();
+        }
+        assertThat(spreadPerSecond).isGreaterThan(singleShardPerSecond);
+    }
+
+    private double insert(List<String> ids) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        LocalDateTime timestamp = LocalDateTime.now();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>(CONCURRENCY);
+            for (int i = 0; i < CONCURRENCY; i++) {
+                workers.add(clients.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < ids.size()) {
+                        fxDealService.save(new FxDealRequestDto(ids.get(index), "USD", "EUR", timestamp, 100.0));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return ids.size() / ((System.nanoTime() - start) / 1e9);
+    }
+}
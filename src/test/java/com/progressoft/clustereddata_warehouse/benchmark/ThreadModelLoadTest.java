@@ -0,0 +1,104 @@
+package com.progressoft.clustereddata_warehouse.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Starts the full application twice, once on Tomcat's pool of platform threads and once with
+ * {@code spring.threads.virtual.enabled=true}, and drives {@code POST /api/v1/deals} over HTTP
+ * from {@code load.clients} concurrent clients against each. Database access is capped at the
+ * Hikari pool size by {@code fx-deals.db-limiter} in both runs, against H2 or the PostgreSQL
+ * database in {@code FX_DEALS_BENCH_DB_URL} (see {@link LoadTestDatabase}). Throughput and p99
+ * of each run are printed side by side. Run with {@code mvn test -Pload -Dtest='ThreadModelLoadTest*'}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+class ThreadModelLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 500);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("load.warmupRequests", 5_000);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+    private static final double DUPLICATE_RATIO = Double.parseDouble(System.getProperty("load.duplicateRatio", "0.1"));
+    private static final double INVALID_RATIO = Double.parseDouble(System.getProperty("load.invalidRatio", "0.05"));
+
+    private static final Map<String, DealLoadDriver.Report> REPORTS = new LinkedHashMap<>();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        LoadTestDatabase.register(registry);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    void measure(String threadModel) throws Exception {
+        DealLoadDriver driver = new DealLoadDriver(port, CLIENTS, DUPLICATE_RATIO, INVALID_RATIO,
+                WARMUP_REQUESTS + REQUESTS);
+        driver.run(WARMUP_REQUESTS);
+
+        DealLoadDriver.Report report = driver.run(REQUESTS);
+
+        System.out.printf("%s threads: %d requests, %d clients, backend %s%n", threadModel, REQUESTS, CLIENTS,
+                LoadTestDatabase.describe(dataSource));
+        report.print();
+        REPORTS.put(threadModel, report);
+        assertThat(report.unexpected()).as("responses that did not match the request kind").isZero();
+    }
+
+    @AfterAll
+    static void compare() {
+        REPORTS.forEach((threadModel, report) -> System.out.printf("%-8s %8.0f deals/s  p99 %8.2f ms%n",
+                threadModel, report.dealsPerSecond(), report.millis(99)));
+    }
+
+    @Nested
+    @Order(1)
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+    class PlatformThreads {
+
+        @Test
+        @DisplayName("Tomcat's platform thread pool should serve every request")
+        void platformThreads() throws Exception {
+            measure("platform");
+        }
+    }
+
+    @Nested
+    @Order(2)
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+    class VirtualThreads {
+
+        @Test
+        @DisplayName("Virtual threads should serve every request")
+        void virtualThreads() throws Exception {
+            measure("virtual");
+        }
+    }
+}
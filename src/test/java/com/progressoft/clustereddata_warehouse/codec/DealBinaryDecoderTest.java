@@ -0,0 +1,74 @@
+package com.progressoft.clustereddata_warehouse.codec;
+
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.exception.MalformedDealException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DealBinaryDecoderTest {
+
+    private static ByteBuffer encode(FxDealRequestDto... deals) {
+        int size = 0;
+        for (FxDealRequestDto deal : deals) {
+            size += DealBinaryEncoder.encodedLength(deal.id());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (FxDealRequestDto deal : deals) {
+            DealBinaryEncoder.encode(buffer, deal.id(), deal.fromCurrency(), deal.toCurrency(),
+                    deal.dealTimestamp(), deal.dealAmount());
+        }
+        return buffer.flip();
+    }
+
+    @Test
+    @DisplayName("Given encoded deals when decodeAll then should return the same deals")
+    void givenEncodedDeals_whenDecodeAll_thenShouldReturnSameDeals() {
+
+        List<FxDealRequestDto> deals = List.of(
+                new FxDealRequestDto("DEAL-1", "USD", "EUR", LocalDateTime.of(2025, 3, 14, 9, 30, 15, 123_456_000), 1_234_567.89),
+                new FxDealRequestDto("DÉAL-€-2", "GBP", "JPY", LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000), 0.1),
+                new FxDealRequestDto("DEAL-3", "usd", "EUR", LocalDateTime.of(2025, 1, 1, 0, 0), 100.0));
+
+        List<FxDealRequestDto> decoded = DealBinaryDecoder.decodeAll(encode(deals.toArray(FxDealRequestDto[]::new)));
+
+        assertThat(decoded).containsExactlyElementsOf(deals);
+        assertThat(decoded.get(0).fromCurrency()).isSameAs(DealBinaryDecoder.decodeOne(encode(deals.get(0))).fromCurrency());
+    }
+
+    @Test
+    @DisplayName("Given an exact decimal amount when encoded and decoded then should give the nearest double")
+    void givenExactDecimalAmount_whenEncodedAndDecoded_thenShouldGiveNearestDouble() {
+
+        ByteBuffer buffer = ByteBuffer.allocate(DealBinaryEncoder.encodedLength("DEAL-1"));
+        DealBinaryEncoder.encode(buffer, "DEAL-1", "USD", "EUR", LocalDateTime.of(2025, 1, 1, 0, 0),
+                new BigDecimal("1000.1000"));
+
+        assertThat(DealBinaryDecoder.decodeOne(buffer.flip()).dealAmount()).isEqualTo(1000.1);
+    }
+
+    @Test
+    @DisplayName("Given a truncated body when decoding then should report the record and offset")
+    void givenTruncatedBody_whenDecoding_thenShouldReportRecordAndOffset() {
+
+        ByteBuffer body = encode(
+                new FxDealRequestDto("DEAL-1", "USD", "EUR", LocalDateTime.of(2025, 1, 1, 0, 0), 10.0),
+                new FxDealRequestDto("DEAL-2", "USD", "EUR", LocalDateTime.of(2025, 1, 1, 0, 0), 20.0));
+        body.limit(body.limit() - 2);
+
+        assertThatExceptionOfType(MalformedDealException.class)
+                .isThrownBy(() -> DealBinaryDecoder.decodeAll(body))
+                .withMessage("Malformed deal record 2 at byte 33: record of 29 bytes truncated");
+        assertThatExceptionOfType(MalformedDealException.class)
+                .isThrownBy(() -> DealBinaryDecoder.decodeOne(encode(
+                        new FxDealRequestDto("DEAL-1", "USD", "EUR", LocalDateTime.of(2025, 1, 1, 0, 0), 10.0),
+                        new FxDealRequestDto("DEAL-2", "USD", "EUR", LocalDateTime.of(2025, 1, 1, 0, 0), 20.0))))
+                .withMessage("Expected one deal but the body has trailing bytes");
+    }
+}
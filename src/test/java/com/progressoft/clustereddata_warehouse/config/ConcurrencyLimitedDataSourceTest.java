@@ -0,0 +1,70 @@
+package com.progressoft.clustereddata_warehouse.config;
+
+import com.progressoft.clustereddata_warehouse.exception.DatabaseBusyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    @DisplayName("Given all permits taken when getConnection then should throw DatabaseBusyException after the timeout")
+    void givenAllPermitsTaken_whenGetConnection_thenShouldThrowDatabaseBusyException() throws SQLException {
+
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(10), 3);
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(DatabaseBusyException.class)
+                .hasMessage("All 1 database connections are busy")
+                .extracting("retryAfterSeconds").isEqualTo(3);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Given closed connection when getConnection then should reuse the released permit")
+    void givenClosedConnection_whenGetConnection_thenShouldReuseReleasedPermit() throws SQLException {
+
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(10), 1);
+
+        Connection first = dataSource.getConnection();
+        assertThat(dataSource.inUse()).isEqualTo(1);
+        first.close();
+        first.close();
+
+        assertThat(dataSource.inUse()).isZero();
+        assertThatCode(dataSource::getConnection).doesNotThrowAnyException();
+        assertThat(dataSource.inUse()).isEqualTo(1);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Given failing pool when getConnection then should release the permit and rethrow")
+    void givenFailingPool_whenGetConnection_thenShouldReleasePermitAndRethrow() throws SQLException {
+
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(10), 1);
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class).hasMessage("pool exhausted");
+        assertThat(dataSource.inUse()).isZero();
+    }
+}
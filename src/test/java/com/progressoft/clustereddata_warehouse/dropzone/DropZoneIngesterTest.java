@@ -0,0 +1,187 @@
+package com.progressoft.clustereddata_warehouse.dropzone;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.Service.implementation.DealRequestValidator;
+import com.progressoft.clustereddata_warehouse.config.DropZoneProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionSummaryDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeDto;
+import com.progressoft.clustereddata_warehouse.utils.DealFileFormat;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DropZoneIngesterTest {
+
+    @TempDir
+    private Path directory;
+
+    private final FxDealBatchService fxDealBatchService = mock(FxDealBatchService.class);
+    private final DealRequestValidator dealRequestValidator = mock(DealRequestValidator.class);
+    private final Set<String> stored = ConcurrentHashMap.newKeySet();
+    private final ForkJoinPool parsePool = new ForkJoinPool(3);
+    private DropZoneProperties properties;
+    private DropZoneIngester ingester;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new DropZoneProperties(true, directory, Path.of("archive"), Path.of("rejects"),
+                Path.of(".checkpoints"), DataSize.ofBytes(100), 3, Duration.ofSeconds(2), Duration.ofSeconds(5));
+        Files.createDirectories(properties.rejectsDirectory());
+        Files.createDirectories(properties.checkpointDirectory());
+        ingester = new DropZoneIngester(fxDealBatchService, dealRequestValidator, new ObjectMapper(),
+                new SimpleAsyncTaskExecutor(), parsePool, properties, 2);
+
+        when(dealRequestValidator.validate(any())).thenAnswer(invocation -> {
+            FxDealRequestDto deal = invocation.getArgument(0);
+            return deal.fromCurrency().equals(deal.toCurrency()) ? "same currency" : null;
+        });
+        when(fxDealBatchService.saveValidated(any())).thenAnswer(invocation -> store(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        parsePool.shutdownNow();
+    }
+
+    private BatchDealResponseDto store(List<FxDealRequestDto> deals) {
+        List<DealOutcomeDto> outcomes = new ArrayList<>(deals.size());
+        for (int i = 0; i < deals.size(); i++) {
+            String id = deals.get(i).id();
+            outcomes.add(stored.add(id) ? DealOutcomeDto.accepted(i, id) : DealOutcomeDto.duplicate(i, id, "exists"));
+        }
+        return BatchDealResponseDto.of(outcomes);
+    }
+
+    /**
+     * Header, then 30 deals where every 10th line is blank, every 7th malformed and every 11th
+     * has the same currency on both sides.
+     */
+    private Path dealFile() throws IOException {
+        StringBuilder csv = new StringBuilder("id,fromCurrency,toCurrency,dealTimestamp,dealAmount\r\n");
+        for (int i = 1; i <= 30; i++) {
+            if (i % 10 == 0) {
+                csv.append("\r\n");
+            } else if (i % 7 == 0) {
+                csv.append("D").append(i).append(",USD\r\n");
+            } else {
+                csv.append("D").append(i).append(",USD,").append(i % 11 == 0 ? "USD" : "EUR")
+                        .append(",2025-01-02T03:04:05,").append(i).append("\r\n");
+            }
+        }
+        return Files.writeString(directory.resolve("deals.csv"), csv);
+    }
+
+    @Test
+    @DisplayName("Given a file spanning many chunks when ingested then should persist every valid deal and report rejects by file line")
+    void givenFileSpanningManyChunks_whenIngested_thenShouldPersistValidDealsAndReportRejects() throws IOException {
+
+        DealIngestionSummaryDto summary = ingester.ingest(dealFile(), DealFileFormat.CSV);
+
+        assertThat(summary.total()).isEqualTo(27);
+        assertThat(summary.accepted()).isEqualTo(21);
+        assertThat(summary.invalid()).isEqualTo(6);
+        assertThat(stored).hasSize(21).contains("D1", "D29").doesNotContain("D7", "D11", "D22");
+        assertThat(Files.readAllLines(properties.rejectsDirectory()
+                .resolve("deals.csv" + DropZoneIngester.REJECTS_SUFFIX + DropZoneIngester.IN_PROGRESS_SUFFIX)))
+                .hasSize(6)
+                .anySatisfy(line -> assertThat(line).contains("\"line\":8").contains("Malformed record"))
+                .anySatisfy(line -> assertThat(line).contains("\"line\":12").contains("\"id\":\"D11\""));
+        assertThat(properties.checkpointDirectory().resolve("deals.csv" + DropZoneIngester.CHECKPOINT_SUFFIX)).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Given a failure mid-file when ingested again then should resume at the checkpoint without resending stored chunks")
+    void givenFailureMidFile_whenIngestedAgain_thenShouldResumeAtCheckpoint() throws IOException {
+
+        Path file = dealFile();
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 5) {
+                throw new IllegalStateException("database down");
+            }
+            return store(invocation.getArgument(0));
+        }).when(fxDealBatchService).saveValidated(any());
+
+        assertThatThrownBy(() -> ingester.ingest(file, DealFileFormat.CSV)).hasMessage("database down");
+        DropZoneCheckpoint checkpoint = DropZoneCheckpoint.read(
+                properties.checkpointDirectory().resolve("deals.csv" + DropZoneIngester.CHECKPOINT_SUFFIX));
+        assertThat(checkpoint.offset()).isPositive().isLessThan(Files.size(file));
+
+        DealIngestionSummaryDto summary = ingester.ingest(file, DealFileFormat.CSV);
+
+        assertThat(summary.total()).isEqualTo(27);
+        assertThat(summary.accepted() + summary.duplicates()).isEqualTo(21);
+        assertThat(stored).hasSize(21);
+    }
+
+    @Test
+    @DisplayName("Given two files with the same name when their rejects are published then should keep both reports")
+    void givenTwoFilesWithSameName_whenRejectsPublished_thenShouldKeepBothReports() throws IOException {
+
+        Path first = dealFile();
+        ingester.ingest(first, DealFileFormat.CSV);
+        ingester.publishRejects(first, properties.archiveDirectory().resolve("deals.csv"));
+        Path second = dealFile();
+        ingester.ingest(second, DealFileFormat.CSV);
+        ingester.publishRejects(second, properties.archiveDirectory().resolve("deals.csv.1700000000000"));
+
+        assertThat(Files.readAllLines(properties.rejectsDirectory().resolve("deals.csv" + DropZoneIngester.REJECTS_SUFFIX)))
+                .hasSize(6);
+        assertThat(Files.readAllLines(properties.rejectsDirectory()
+                .resolve("deals.csv.1700000000000" + DropZoneIngester.REJECTS_SUFFIX))).hasSize(27);
+    }
+
+    @Test
+    @DisplayName("Given an ID repeated within a chunk when ingested then should send it once and report the repeat as duplicate")
+    void givenIdRepeatedWithinChunk_whenIngested_thenShouldSendItOnceAndReportRepeat() throws IOException {
+
+        properties = new DropZoneProperties(true, directory, Path.of("archive"), Path.of("rejects"),
+                Path.of(".checkpoints"), DataSize.ofKilobytes(1), 3, Duration.ofSeconds(2), Duration.ofSeconds(5));
+        ingester = new DropZoneIngester(fxDealBatchService, dealRequestValidator, new ObjectMapper(),
+                new SimpleAsyncTaskExecutor(), parsePool, properties, 2);
+        List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<FxDealRequestDto> batch = invocation.getArgument(0);
+            batch.forEach(deal -> sent.add(deal.id()));
+            return store(batch);
+        }).when(fxDealBatchService).saveValidated(any());
+        Path file = Files.writeString(directory.resolve("repeats.csv"), """
+                D1,USD,EUR,2025-01-02T03:04:05,1
+                D2,USD,EUR,2025-01-02T03:04:05,2
+                D1,USD,EUR,2025-01-02T03:04:05,3
+                """);
+
+        DealIngestionSummaryDto summary = ingester.ingest(file, DealFileFormat.CSV);
+
+        assertThat(summary.accepted()).isEqualTo(2);
+        assertThat(summary.duplicates()).isEqualTo(1);
+        assertThat(sent).containsExactlyInAnyOrder("D1", "D2");
+        assertThat(Files.readAllLines(properties.rejectsDirectory()
+                .resolve("repeats.csv" + DropZoneIngester.REJECTS_SUFFIX + DropZoneIngester.IN_PROGRESS_SUFFIX)))
+                .singleElement(as(InstanceOfAssertFactories.STRING)).contains("\"line\":3").contains("repeated within the file");
+    }
+}
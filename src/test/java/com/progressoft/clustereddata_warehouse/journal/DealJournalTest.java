@@ -0,0 +1,117 @@
+package com.progressoft.clustereddata_warehouse.journal;
+
+import com.progressoft.clustereddata_warehouse.config.JournalProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DealJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    private DealJournal open() throws IOException {
+        DealJournal journal = new DealJournal(new JournalProperties(true, directory, 4, FsyncPolicy.ALWAYS,
+                Duration.ofMillis(10), 10, Duration.ofMillis(1), Duration.ofMillis(10)));
+        journal.open();
+        return journal;
+    }
+
+    private FxDealRequestDto deal(String id) {
+        return new FxDealRequestDto(id, "USD", "JOD", LocalDateTime.of(2025, 1, 2, 3, 4, 5, 600), 1234.56);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Given appended deals when read then should return them in order with all fields intact")
+    void givenAppendedDeals_whenRead_thenShouldReturnThemInOrder() throws IOException {
+
+        DealJournal journal = open();
+        String trackingId = UUID.randomUUID().toString();
+
+        for (int i = 1; i <= 6; i++) {
+            journal.append(trackingId, deal("DEAL" + i));
+        }
+        List<JournalRecord> records = journal.read(1, 10);
+
+        assertThat(records).extracting(JournalRecord::sequence).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(records.getFirst().deal()).isEqualTo(deal("DEAL1"));
+        assertThat(records.getFirst().trackingId()).isEqualTo(trackingId);
+        assertThat(segmentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given unapplied deals when reopened then should replay from the checkpoint and keep appending")
+    void givenUnappliedDeals_whenReopened_thenShouldReplayFromCheckpoint() throws IOException {
+
+        DealJournal journal = open();
+        for (int i = 1; i <= 5; i++) {
+            journal.append(UUID.randomUUID().toString(), deal("DEAL" + i));
+        }
+        journal.markApplied(2);
+        journal.close();
+
+        DealJournal reopened = open();
+
+        assertThat(reopened.appliedSequence()).isEqualTo(2);
+        assertThat(reopened.pending()).isEqualTo(3);
+        assertThat(reopened.read(3, 10)).extracting(record -> record.deal().id())
+                .containsExactly("DEAL3", "DEAL4", "DEAL5");
+        assertThat(reopened.append(UUID.randomUUID().toString(), deal("DEAL6"))).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Given torn record at the tail when reopened then should resume appending at the torn slot")
+    void givenTornRecord_whenReopened_thenShouldResumeAtTornSlot() throws IOException {
+
+        DealJournal journal = open();
+        journal.append(UUID.randomUUID().toString(), deal("DEAL1"));
+        journal.append(UUID.randomUUID().toString(), deal("DEAL2"));
+        journal.close();
+        Path segment = directory.resolve("journal-%020d.seg".formatted(1));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), JournalRecordCodec.RECORD_SIZE + 100);
+        }
+
+        DealJournal reopened = open();
+
+        assertThat(reopened.pending()).isEqualTo(1);
+        assertThat(reopened.append(UUID.randomUUID().toString(), deal("DEAL2"))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given fully applied segments when markApplied then should delete them")
+    void givenFullyAppliedSegments_whenMarkApplied_thenShouldDeleteThem() throws IOException {
+
+        DealJournal journal = open();
+        for (int i = 1; i <= 9; i++) {
+            journal.append(UUID.randomUUID().toString(), deal("DEAL" + i));
+        }
+        assertThat(segmentCount()).isEqualTo(3);
+
+        journal.markApplied(8);
+
+        assertThat(segmentCount()).isEqualTo(1);
+        assertThat(journal.read(9, 10)).extracting(record -> record.deal().id()).containsExactly("DEAL9");
+    }
+}
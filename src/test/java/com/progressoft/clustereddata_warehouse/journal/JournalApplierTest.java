@@ -0,0 +1,127 @@
+package com.progressoft.clustereddata_warehouse.journal;
+
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealBatchService;
+import com.progressoft.clustereddata_warehouse.Service.api.FxDealLookupService;
+import com.progressoft.clustereddata_warehouse.Service.implementation.IngestionTracker;
+import com.progressoft.clustereddata_warehouse.config.AsyncIngestionProperties;
+import com.progressoft.clustereddata_warehouse.config.JournalProperties;
+import com.progressoft.clustereddata_warehouse.dto.request.FxDealRequestDto;
+import com.progressoft.clustereddata_warehouse.dto.response.BatchDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealIngestionStatusDto;
+import com.progressoft.clustereddata_warehouse.dto.response.DealOutcomeDto;
+import com.progressoft.clustereddata_warehouse.dto.response.FxDealResponseDto;
+import com.progressoft.clustereddata_warehouse.dto.response.IngestionState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JournalApplierTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 600);
+
+    @TempDir
+    private Path directory;
+
+    private final FxDealBatchService fxDealBatchService = mock(FxDealBatchService.class);
+    private final FxDealLookupService fxDealLookupService = mock(FxDealLookupService.class);
+    private final IngestionTracker ingestionTracker = new IngestionTracker(
+            new AsyncIngestionProperties(100, 1, 10, Duration.ofMillis(20), Duration.ofMinutes(1), 100, Duration.ofSeconds(1), 1));
+
+    private DealJournal open() throws IOException {
+        DealJournal journal = new DealJournal(new JournalProperties(true, directory, 4, FsyncPolicy.NONE,
+                Duration.ofMillis(10), 10, Duration.ofMillis(1), Duration.ofMillis(10)));
+        journal.open();
+        return journal;
+    }
+
+    private FxDealRequestDto deal(String id, double amount) {
+        return new FxDealRequestDto(id, "USD", "JOD", TIMESTAMP, amount);
+    }
+
+    private IngestionState stateOf(String trackingId) {
+        return ingestionTracker.find(trackingId).map(DealIngestionStatusDto::state).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Given deals committed before a crash when replayed then should report them committed, not duplicate")
+    void givenDealsCommittedBeforeCrash_whenReplayed_thenShouldReportCommitted() throws IOException {
+
+        String committed = UUID.randomUUID().toString();
+        String resent = UUID.randomUUID().toString();
+        String conflicting = UUID.randomUUID().toString();
+        DealJournal journal = open();
+        journal.append(committed, deal("DEAL1", 100.0));
+        journal.append(resent, deal("DEAL1", 100.0));
+        journal.append(conflicting, deal("DEAL2", 200.0));
+        journal.close();
+
+        DealJournal reopened = open();
+        when(fxDealBatchService.saveAll(anyList())).thenReturn(BatchDealResponseDto.of(List.of(
+                DealOutcomeDto.duplicate(0, "DEAL1", "exists"),
+                DealOutcomeDto.duplicate(1, "DEAL1", "exists"),
+                DealOutcomeDto.duplicate(2, "DEAL2", "exists"))));
+        when(fxDealLookupService.findById("DEAL1")).thenReturn(new FxDealResponseDto("DEAL1", "USD", "JOD", TIMESTAMP, 100.0));
+        when(fxDealLookupService.findById("DEAL2")).thenReturn(new FxDealResponseDto("DEAL2", "USD", "JOD", TIMESTAMP, 999.0));
+        JournalApplier applier = new JournalApplier(reopened, fxDealBatchService, fxDealLookupService, ingestionTracker,
+                null, null);
+
+        applier.apply(reopened.read(1, 10));
+
+        assertThat(stateOf(committed)).isEqualTo(IngestionState.COMMITTED);
+        assertThat(stateOf(resent)).as("second record of the same ID").isEqualTo(IngestionState.DUPLICATE);
+        assertThat(stateOf(conflicting)).as("stored deal differs").isEqualTo(IngestionState.DUPLICATE);
+        assertThat(reopened.appliedSequence()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Given deals journaled in this run when reported duplicate then should keep them duplicate without a lookup")
+    void givenDealsJournaledInThisRun_whenDuplicate_thenShouldNotLookUp() throws IOException {
+
+        String trackingId = UUID.randomUUID().toString();
+        DealJournal journal = open();
+        journal.append(trackingId, deal("DEAL1", 100.0));
+        when(fxDealBatchService.saveAll(anyList())).thenReturn(BatchDealResponseDto.of(List.of(
+                DealOutcomeDto.duplicate(0, "DEAL1", "exists"))));
+        JournalApplier applier = new JournalApplier(journal, fxDealBatchService, fxDealLookupService, ingestionTracker,
+                null, null);
+
+        applier.apply(journal.read(1, 10));
+
+        assertThat(stateOf(trackingId)).isEqualTo(IngestionState.DUPLICATE);
+        verifyNoInteractions(fxDealLookupService);
+    }
+
+    @Test
+    @DisplayName("Given a corrupt record when read by the applier then should mark the journal corrupt and keep the thread alive")
+    void givenCorruptRecord_whenRead_thenShouldMarkCorruptAndKeepApplying() throws Exception {
+
+        DealJournal journal = mock(DealJournal.class);
+        JournalRecord record = new JournalRecord(1, UUID.randomUUID().toString(), deal("DEAL1", 100.0));
+        CorruptJournalException corrupt = new CorruptJournalException(1);
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.read(anyLong(), anyInt())).thenThrow(corrupt).thenReturn(List.of(record)).thenReturn(List.of());
+        when(fxDealBatchService.saveAll(anyList())).thenReturn(BatchDealResponseDto.of(List.of(
+                DealOutcomeDto.accepted(0, "DEAL1"))));
+        JournalApplier applier = new JournalApplier(journal, fxDealBatchService, fxDealLookupService, ingestionTracker,
+                new JournalProperties(true, directory, 4, FsyncPolicy.NONE, Duration.ofMillis(10), 10,
+                        Duration.ofMillis(1), Duration.ofMillis(10)),
+                new AsyncIngestionProperties(100, 1, 10, Duration.ofMillis(20), Duration.ofMinutes(1), 100, Duration.ofSeconds(1), 1));
+
+        applier.start();
+        verify(journal, timeout(5_000)).markApplied(1);
+        applier.stop();
+
+        verify(journal).markCorrupt(corrupt);
+    }
+}
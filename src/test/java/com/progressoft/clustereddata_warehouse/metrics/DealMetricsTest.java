@@ -0,0 +1,76 @@
+package com.progressoft.clustereddata_warehouse.metrics;
+
+import com.progressoft.clustereddata_warehouse.config.DealMetricsProperties;
+import com.progressoft.clustereddata_warehouse.utils.CurrencyValidatorImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DealMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private DealMetrics dealMetrics(int maxCurrencyPairs) {
+        return new DealMetrics(registry, new CurrencyValidatorImpl(() -> Set.of("USD", "EUR", "GBP", "JPY")),
+                new DealMetricsProperties(maxCurrencyPairs));
+    }
+
+    private double outcomes(String result, String pair) {
+        return registry.get("fxdeals.deal.outcome").tags("result", result, "pair", pair).counter().count();
+    }
+
+    @Test
+    @DisplayName("Given more pairs than the limit when outcome then should tag the overflow as other")
+    void givenMorePairsThanLimit_whenOutcome_thenShouldTagOverflowAsOther() {
+
+        DealMetrics dealMetrics = dealMetrics(1);
+
+        dealMetrics.outcome(DealOutcome.CREATED, "USD", "EUR");
+        dealMetrics.outcome(DealOutcome.DUPLICATE, "USD", "EUR");
+        dealMetrics.outcome(DealOutcome.CREATED, "GBP", "JPY");
+
+        assertThat(outcomes("created", "USD/EUR")).isEqualTo(1);
+        assertThat(outcomes("duplicate", "USD/EUR")).isEqualTo(1);
+        assertThat(outcomes("created", "other")).isEqualTo(1);
+        assertThat(registry.find("fxdeals.deal.outcome").tag("pair", "GBP/JPY").counters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given unknown or malformed currency when outcome then should not create a pair tag")
+    void givenUnknownOrMalformedCurrency_whenOutcome_thenShouldNotCreatePairTag() {
+
+        DealMetrics dealMetrics = dealMetrics(10);
+
+        dealMetrics.outcome(DealOutcome.UNKNOWN_CURRENCY, "USD", "XYZ");
+        dealMetrics.outcome(DealOutcome.INVALID_CURRENCY, "usd", "EUR");
+        dealMetrics.outcome(DealOutcome.INVALID, null, "EUR");
+
+        assertThat(outcomes("unknown_currency", "other")).isEqualTo(1);
+        assertThat(outcomes("invalid_currency", "other")).isEqualTo(1);
+        assertThat(outcomes("invalid", "other")).isEqualTo(1);
+        assertThat(registry.find("fxdeals.deal.outcome").counters())
+                .extracting(counter -> counter.getId().getTag("pair"))
+                .containsOnly("other");
+    }
+
+    @Test
+    @DisplayName("Given chained stages when record then should time each stage from the previous end")
+    void givenChainedStages_whenRecord_thenShouldTimeEachStage() {
+
+        DealMetrics dealMetrics = dealMetrics(10);
+
+        long start = System.nanoTime();
+        long validated = dealMetrics.record(DealStage.CURRENCY, start);
+        dealMetrics.record(DealStage.MAPPING, validated);
+
+        assertThat(validated).isGreaterThanOrEqualTo(start);
+        assertThat(registry.get("fxdeals.deal.stage").tag("stage", "currency").timer().count()).isEqualTo(1);
+        assertThat(registry.get("fxdeals.deal.stage").tag("stage", "mapping").timer().totalTime(TimeUnit.NANOSECONDS))
+                .isGreaterThanOrEqualTo(0);
+    }
+}
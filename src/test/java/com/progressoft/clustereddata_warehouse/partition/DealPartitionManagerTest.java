@@ -0,0 +1,97 @@
+package com.progressoft.clustereddata_warehouse.partition;
+
+import com.progressoft.clustereddata_warehouse.config.DealPartitionProperties;
+import com.progressoft.clustereddata_warehouse.config.ShardingProperties;
+import com.progressoft.clustereddata_warehouse.sharding.ShardRouter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DealPartitionManagerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 30, 15, 45);
+
+    private DealPartitionManager manager(PartitionInterval interval, Duration retention) {
+        return manager(mock(JdbcTemplate.class), interval, retention);
+    }
+
+    private DealPartitionManager manager(JdbcTemplate jdbcTemplate, PartitionInterval interval, Duration retention) {
+        return new DealPartitionManager(jdbcTemplate,
+                new DealPartitionProperties(true, interval, 2, retention, Duration.ofHours(1)),
+                new ShardRouter(new ShardingProperties(false, List.of()), mock(PlatformTransactionManager.class)),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @DisplayName("Given daily interval when missing then should return the current and upcoming days not yet covered")
+    void givenDailyInterval_whenMissing_thenShouldReturnUncoveredDays() {
+
+        List<DealPartition> existing = List.of(
+                new DealPartition("deals_p20250330", NOW.toLocalDate().atStartOfDay(), LocalDateTime.of(2025, 3, 31, 0, 0)));
+
+        List<DealPartition> missing = manager(PartitionInterval.DAILY, null).missing(NOW, existing);
+
+        assertThat(missing).containsExactly(
+                new DealPartition("deals_p20250331", LocalDateTime.of(2025, 3, 31, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0)),
+                new DealPartition("deals_p20250401", LocalDateTime.of(2025, 4, 1, 0, 0), LocalDateTime.of(2025, 4, 2, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Given a monthly partition covering today when switched to daily then should only add days after it")
+    void givenMonthlyPartitionCoveringToday_whenSwitchedToDaily_thenShouldOnlyAddLaterDays() {
+
+        List<DealPartition> existing = List.of(
+                new DealPartition("deals_p202503", LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0)));
+
+        List<DealPartition> missing = manager(PartitionInterval.DAILY, null).missing(NOW, existing);
+
+        assertThat(missing).extracting(DealPartition::name).containsExactly("deals_p20250401");
+    }
+
+    @Test
+    @DisplayName("Given retention when expired then should return only partitions ending before the cutoff")
+    void givenRetention_whenExpired_thenShouldReturnPartitionsEndingBeforeCutoff() {
+
+        DealPartition january = new DealPartition("deals_p202501", LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+        DealPartition february = new DealPartition("deals_p202502", LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 3, 1, 0, 0));
+
+        assertThat(manager(PartitionInterval.MONTHLY, Duration.ofDays(40)).expired(NOW, List.of(january, february)))
+                .containsExactly(january);
+        assertThat(manager(PartitionInterval.MONTHLY, null).expired(NOW, List.of(january, february))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given partition bounds from the catalog when parsed then should skip the default partition")
+    void givenCatalogBounds_whenParsed_thenShouldSkipDefaultPartition() {
+
+        assertThat(DealPartitionManager.parse("deals_p202501",
+                "FOR VALUES FROM ('2025-01-01 00:00:00') TO ('2025-02-01 00:00:00')"))
+                .isEqualTo(new DealPartition("deals_p202501", LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0)));
+        assertThat(DealPartitionManager.parse("deals_default", "DEFAULT")).isNull();
+    }
+
+    @Test
+    @DisplayName("Given several instances when maintaining then should take the advisory lock before listing partitions")
+    void givenSeveralInstances_whenMaintaining_thenShouldLockBeforeListingPartitions() {
+
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of());
+
+        manager(jdbcTemplate, PartitionInterval.DAILY, null).maintain(NOW);
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("SELECT pg_advisory_xact_lock(" + DealPartitionManager.MAINTENANCE_LOCK + ")");
+        inOrder.verify(jdbcTemplate).query(anyString(), any(RowMapper.class));
+        inOrder.verify(jdbcTemplate).execute("CREATE TABLE deals_p20250330 (LIKE deals INCLUDING DEFAULTS)");
+    }
+}
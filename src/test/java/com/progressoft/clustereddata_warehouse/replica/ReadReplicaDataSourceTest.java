@@ -0,0 +1,117 @@
+package com.progressoft.clustereddata_warehouse.replica;
+
+import com.progressoft.clustereddata_warehouse.config.ReadReplicaProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReadReplicaDataSourceTest {
+
+    private static ReadReplicaProperties properties(ReplicaSelection selection) {
+        return new ReadReplicaProperties(true, selection, Duration.ofSeconds(5), Duration.ofSeconds(1), List.of());
+    }
+
+    private static DataSource database(String node) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + node + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE served_by (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO served_by VALUES (?)", node);
+        return dataSource;
+    }
+
+    private static String nodeServing(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM served_by", String.class));
+    }
+
+    private static String nodeOf(Connection connection) throws SQLException {
+        try (connection; var rs = connection.createStatement().executeQuery("SELECT name FROM served_by")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Given a replica within the lag limit when transactions run then read-only ones should go to the replica")
+    void givenReplicaWithinLagLimit_whenTransactionsRun_thenReadOnlyOnesShouldGoToReplica() {
+
+        DataSource primary = database("primary");
+        ReadReplicaDataSource reads = new ReadReplicaDataSource("test", primary,
+                List.of(new ReadReplicaDataSource.Replica("replica-0", database("replica"), () -> 0)),
+                properties(ReplicaSelection.ROUND_ROBIN), replica -> Duration.ZERO);
+        reads.checkLag();
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, reads);
+
+        assertThat(nodeServing(routing, true)).isEqualTo("replica");
+        assertThat(nodeServing(routing, false)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Given a lagging or unchecked replica when a read-only transaction runs then should fall back to the primary")
+    void givenLaggingReplica_whenReadOnlyTransactionRuns_thenShouldFallBackToPrimary() {
+
+        DataSource primary = database("primary");
+        ReadReplicaDataSource reads = new ReadReplicaDataSource("test", primary,
+                List.of(new ReadReplicaDataSource.Replica("replica-0", database("replica"), () -> 0)),
+                properties(ReplicaSelection.ROUND_ROBIN), replica -> Duration.ofSeconds(30));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, reads);
+
+        assertThat(nodeServing(routing, true)).as("before the first lag check").isEqualTo("primary");
+        reads.checkLag();
+        assertThat(nodeServing(routing, true)).isEqualTo("primary");
+        assertThat(reads.replicas().getFirst().lag()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Given an unreachable replica when getConnection then should serve the primary and take the replica out of rotation")
+    void givenUnreachableReplica_whenGetConnection_thenShouldServePrimary() throws SQLException {
+
+        ReadReplicaDataSource reads = new ReadReplicaDataSource("test", database("primary"),
+                List.of(new ReadReplicaDataSource.Replica("replica-0", new DriverManagerDataSource("jdbc:unknown:replica"), () -> 0)),
+                properties(ReplicaSelection.ROUND_ROBIN), replica -> Duration.ZERO);
+        reads.checkLag();
+
+        assertThat(nodeOf(reads.getConnection())).isEqualTo("primary");
+        assertThat(reads.replicas().getFirst().healthy()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given two healthy replicas when selecting then round robin should alternate and least loaded should pick the idler one")
+    void givenTwoHealthyReplicas_whenSelecting_thenShouldFollowSelectionPolicy() {
+
+        List<ReadReplicaDataSource.Replica> replicas = List.of(
+                new ReadReplicaDataSource.Replica("replica-0", database("replica-0"), () -> 3),
+                new ReadReplicaDataSource.Replica("replica-1", database("replica-1"), () -> 1));
+        ReadReplicaDataSource roundRobin = new ReadReplicaDataSource("test", database("primary"), replicas,
+                properties(ReplicaSelection.ROUND_ROBIN), replica -> Duration.ZERO);
+        ReadReplicaDataSource leastLoaded = new ReadReplicaDataSource("test", database("primary"), replicas,
+                properties(ReplicaSelection.LEAST_LOADED), replica -> Duration.ZERO);
+        roundRobin.checkLag();
+
+        List<String> roundRobinPicks = new ArrayList<>();
+        List<String> leastLoadedPicks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            roundRobinPicks.add(roundRobin.select().name());
+            leastLoadedPicks.add(leastLoaded.select().name());
+        }
+
+        assertThat(roundRobinPicks).containsExactly("replica-0", "replica-1", "replica-0", "replica-1");
+        assertThat(leastLoadedPicks).containsOnly("replica-1");
+    }
+}
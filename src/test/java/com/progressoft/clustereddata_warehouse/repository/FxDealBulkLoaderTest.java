@@ -0,0 +1,105 @@
+package com.progressoft.clustereddata_warehouse.repository;
+
+import com.progressoft.clustereddata_warehouse.entity.FxDeal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FxDealBulkLoaderTest {
+
+    private final Connection connection = mock(Connection.class);
+    private final Statement statement = mock(Statement.class);
+    private final CopyIn copyIn = mock(CopyIn.class);
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+
+    private FxDealBulkLoader loader;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        doAnswer(invocation -> {
+            copied.write(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        loader = new FxDealBulkLoader(dataSource);
+    }
+
+    private FxDeal deal(String id, String amount) {
+        return new FxDeal(id, "USD", "EUR", new BigDecimal(amount), LocalDateTime.of(2025, 1, 2, 3, 4, 5, 600_000));
+    }
+
+    @Test
+    @DisplayName("Given IDs with quotes and commas when added then should write quoted CSV rows with plain amounts")
+    void givenIdsWithQuotesAndCommas_whenAdded_thenShouldWriteQuotedCsvRows() throws SQLException {
+
+        try (FxDealBulkLoader.Session session = loader.open()) {
+            session.add(deal("DEAL1", "10.50"));
+            session.add(deal("say \"hi\", then", "1E+3"));
+            session.finish();
+        }
+
+        assertThat(copied.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                "DEAL1",USD,EUR,10.50,2025-01-02T03:04:05.000600
+                "say ""hi"", then",USD,EUR,1000,2025-01-02T03:04:05.000600
+                """);
+    }
+
+    @Test
+    @DisplayName("Given staged rows with duplicates when finished then should count the rows not inserted as duplicates")
+    void givenStagedDuplicates_whenFinished_thenShouldCountDuplicates() throws SQLException {
+
+        when(statement.executeUpdate(anyString())).thenReturn(2);
+        when(copyIn.endCopy()).thenReturn(4L);
+
+        FxDealBulkLoader.Result result;
+        try (FxDealBulkLoader.Session session = loader.open()) {
+            result = session.finish();
+        }
+
+        assertThat(result.staged()).isEqualTo(4);
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.duplicates()).isEqualTo(2);
+        verify(connection).commit();
+        verify(connection, never()).rollback();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Given an unfinished session when closed then should cancel the copy and roll back")
+    void givenUnfinishedSession_whenClosed_thenShouldCancelCopyAndRollBack() throws SQLException {
+
+        when(copyIn.isActive()).thenReturn(true);
+
+        try (FxDealBulkLoader.Session session = loader.open()) {
+            session.add(deal("DEAL1", "10.50"));
+        }
+
+        verify(copyIn).cancelCopy();
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).close();
+    }
+}
@@ -0,0 +1,49 @@
+package com.progressoft.clustereddata_warehouse.repository;
+
+import com.progressoft.clustereddata_warehouse.entity.FxDeal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FxDealRepositoryCustomImplTest {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final Query query = mock(Query.class, RETURNS_SELF);
+
+    private List<FxDeal> deals(int count) {
+        List<FxDeal> deals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            deals.add(new FxDeal("DEAL" + i, "USD", "EUR", BigDecimal.TEN, LocalDateTime.of(2025, 1, 2, 3, 4)));
+        }
+        return deals;
+    }
+
+    @Test
+    @DisplayName("Given a batch size above the bind parameter limit when inserting then should cap rows per statement")
+    void givenBatchSizeAboveParameterLimit_whenInsertAll_thenShouldCapRowsPerStatement() {
+
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+        FxDealRepositoryCustomImpl repository = new FxDealRepositoryCustomImpl(entityManager, 10_000);
+
+        repository.insertAllIfAbsent(deals(10_000));
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(entityManager, times(2)).createNativeQuery(statements.capture());
+        assertThat(statements.getAllValues())
+                .extracting(sql -> sql.chars().filter(c -> c == '?').count())
+                .containsExactly(6553L * 5, (10_000L - 6553) * 5)
+                .allSatisfy(parameters -> assertThat(parameters).isLessThanOrEqualTo(32767));
+    }
+}
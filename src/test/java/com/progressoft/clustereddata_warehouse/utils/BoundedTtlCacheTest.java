@@ -0,0 +1,139 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    @DisplayName("Given concurrent lookups of one key when the load is slow then should run the loader once")
+    void givenConcurrentLookupsOfOneKey_whenLoadIsSlow_thenShouldRunLoaderOnce() throws Exception {
+
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(Duration.ofMinutes(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = clients.submit(() -> cache.get("key", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "response";
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> second = clients.submit(() -> cache.get("key", () -> "second " + loads.incrementAndGet()));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Given put and invalidate when reading then getIfPresent and the counters should follow")
+    void givenPutAndInvalidate_whenReading_thenGetIfPresentAndCountersShouldFollow() {
+
+        AtomicLong now = new AtomicLong();
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(Duration.ofSeconds(10), 1, now::get);
+
+        assertThat(cache.getIfPresent("a")).isNull();
+        cache.put("a", "first");
+        assertThat(cache.getIfPresent("a")).isEqualTo("first");
+        assertThat(cache.get("a", () -> "loaded")).isEqualTo("first");
+
+        cache.put("b", "second");
+        assertThat(cache.getIfPresent("a")).as("evicted to stay within one entry").isNull();
+        cache.invalidate("b");
+        assertThat(cache.getIfPresent("b")).isNull();
+
+        assertThat(cache.hits()).isEqualTo(2);
+        assertThat(cache.misses()).isEqualTo(3);
+        assertThat(cache.evictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given an entry past its TTL when get then should load again")
+    void givenEntryPastTtl_whenGet_thenShouldLoadAgain() {
+
+        AtomicLong now = new AtomicLong();
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(Duration.ofSeconds(10), 10, now::get);
+
+        cache.get("key", () -> "first");
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.get("key", () -> "second")).isEqualTo("first");
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertThat(cache.get("key", () -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    @DisplayName("Given a full cache when a new key is added then should evict the oldest entry")
+    void givenFullCache_whenNewKeyAdded_thenShouldEvictOldestEntry() {
+
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(Duration.ofMinutes(1), 3);
+
+        for (int i = 0; i < 4; i++) {
+            int key = i;
+            cache.get(key, () -> "value-" + key);
+        }
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get(0, () -> "reloaded")).isEqualTo("reloaded");
+        assertThat(cache.get(3, () -> "reloaded")).isEqualTo("value-3");
+    }
+
+    @Test
+    @DisplayName("Given a failing load when get then should rethrow and not cache the failure")
+    void givenFailingLoad_whenGet_thenShouldRethrowAndNotCacheFailure() {
+
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(Duration.ofMinutes(1), 10);
+
+        assertThatThrownBy(() -> cache.get("key", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database down");
+
+        assertThat(cache.get("key", () -> "response")).isEqualTo("response");
+    }
+
+    @Test
+    @DisplayName("Given failing loads and replaced entries behind a live head when get then should keep the queue bounded")
+    void givenFailingLoadsAndReplacedEntriesBehindLiveHead_whenGet_thenShouldKeepQueueBounded() {
+
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(Duration.ofHours(24), 10);
+        cache.put("head", "live");
+
+        for (int i = 0; i < 10_000; i++) {
+            String key = "failing-" + i;
+            assertThatThrownBy(() -> cache.get(key, () -> {
+                throw new IllegalStateException("database down");
+            })).isInstanceOf(IllegalStateException.class);
+            cache.put("replaced", "value-" + i);
+        }
+
+        assertThat(cache.queuedNodes()).isLessThanOrEqualTo(2 * 10 + 1);
+        assertThat(cache.getIfPresent("head")).isEqualTo("live");
+        assertThat(cache.getIfPresent("replaced")).isEqualTo("value-9999");
+        assertThat(cache.evictions()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CsvDealRecordReaderTest {
+
+    private DealRecordReader reader(String content) {
+        return new CsvDealRecordReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Given CSV with header when next then should skip header and parse rows")
+    void givenCsvWithHeader_whenNext_thenShouldSkipHeaderAndParseRows() throws IOException {
+
+        try (DealRecordReader reader = reader("""
+                id,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL1,USD,EUR,2025-07-28T10:00:00,1000.5
+
+                DEAL2,GBP,JPY,2025-07-28T11:00:00,20
+                """)) {
+
+            ParsedDealRecord first = reader.next();
+            ParsedDealRecord second = reader.next();
+
+            assertThat(first.isParsed()).isTrue();
+            assertThat(first.lineNumber()).isEqualTo(2);
+            assertThat(first.deal().id()).isEqualTo("DEAL1");
+            assertThat(first.deal().dealTimestamp()).isEqualTo(LocalDateTime.of(2025, 7, 28, 10, 0));
+            assertThat(first.deal().dealAmount()).isEqualTo(1000.5);
+            assertThat(second.lineNumber()).isEqualTo(4);
+            assertThat(second.deal().toCurrency()).isEqualTo("JPY");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Given malformed row when next then should return failed record and continue")
+    void givenMalformedRow_whenNext_thenShouldReturnFailedRecordAndContinue() throws IOException {
+
+        try (DealRecordReader reader = reader("""
+                DEAL1,USD,EUR
+                DEAL2,USD,EUR,not-a-date,10
+                DEAL3,USD,EUR,2025-07-28T10:00:00,
+                """)) {
+
+            ParsedDealRecord missingColumns = reader.next();
+            ParsedDealRecord badTimestamp = reader.next();
+            ParsedDealRecord missingAmount = reader.next();
+
+            assertThat(missingColumns.isParsed()).isFalse();
+            assertThat(missingColumns.error()).isEqualTo("Malformed record: expected 5 columns but found 3");
+            assertThat(badTimestamp.isParsed()).isFalse();
+            assertThat(missingAmount.isParsed()).isTrue();
+            assertThat(missingAmount.deal().dealAmount()).isNull();
+        }
+    }
+}
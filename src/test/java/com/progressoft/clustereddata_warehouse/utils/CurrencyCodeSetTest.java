@@ -0,0 +1,44 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CurrencyCodeSetTest {
+
+    @Test
+    @DisplayName("Given three uppercase letters when pack then should round trip")
+    void givenThreeUppercaseLetters_whenPack_thenShouldRoundTrip() {
+
+        assertThat(CurrencyCodes.pack("AAA")).isZero();
+        assertThat(CurrencyCodes.pack("ZZZ")).isEqualTo(25 << 10 | 25 << 5 | 25);
+        assertThat(CurrencyCodes.unpack(CurrencyCodes.pack("USD"))).isEqualTo("USD");
+    }
+
+    @Test
+    @DisplayName("Given malformed codes when pack then should return INVALID")
+    void givenMalformedCodes_whenPack_thenShouldReturnInvalid() {
+
+        assertThat(CurrencyCodes.pack(null)).isEqualTo(CurrencyCodes.INVALID);
+        assertThat(CurrencyCodes.pack("US")).isEqualTo(CurrencyCodes.INVALID);
+        assertThat(CurrencyCodes.pack("usd")).isEqualTo(CurrencyCodes.INVALID);
+        assertThat(CurrencyCodes.pack("U1D")).isEqualTo(CurrencyCodes.INVALID);
+        assertThat(CurrencyCodes.pack("EURO")).isEqualTo(CurrencyCodes.INVALID);
+    }
+
+    @Test
+    @DisplayName("Given loaded codes when contains then should match only those codes")
+    void givenLoadedCodes_whenContains_thenShouldMatchOnlyThoseCodes() {
+
+        CurrencyCodeSet set = CurrencyCodeSet.of(List.of("USD", "EUR", "USD", "bad"));
+
+        assertThat(set.size()).isEqualTo(2);
+        assertThat(set.contains(CurrencyCodes.pack("USD"))).isTrue();
+        assertThat(set.contains(CurrencyCodes.pack("EUR"))).isTrue();
+        assertThat(set.contains(CurrencyCodes.pack("GBP"))).isFalse();
+        assertThat(set.contains(CurrencyCodes.INVALID)).isFalse();
+    }
+}
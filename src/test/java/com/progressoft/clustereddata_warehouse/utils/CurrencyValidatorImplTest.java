@@ -0,0 +1,51 @@
+package com.progressoft.clustereddata_warehouse.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CurrencyValidatorImplTest {
+
+    @Test
+    @DisplayName("Given changed currency file when reload then should accept the new codes")
+    void givenChangedCurrencyFile_whenReload_thenShouldAcceptNewCodes() {
+
+        AtomicReference<Set<String>> codes = new AtomicReference<>(Set.of("USD", "EUR"));
+        CurrencyValidatorImpl validator = new CurrencyValidatorImpl(codes::get);
+
+        codes.set(Set.of("USD", "EUR", "CNH"));
+        boolean reloaded = validator.reload();
+
+        assertThat(reloaded).isTrue();
+        assertThat(validator.size()).isEqualTo(3);
+        assertThat(validator.isValid("CNH")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given broken currency file when reload then should keep the previous codes")
+    void givenBrokenCurrencyFile_whenReload_thenShouldKeepPreviousCodes() {
+
+        AtomicReference<Set<String>> codes = new AtomicReference<>(Set.of("USD", "EUR"));
+        CurrencyValidatorImpl validator = new CurrencyValidatorImpl(codes::get);
+
+        codes.set(Set.of());
+        boolean reloaded = validator.reload();
+
+        assertThat(reloaded).isFalse();
+        assertThat(validator.size()).isEqualTo(2);
+        assertThat(validator.isValid("USD")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given empty currency list when constructed then should fail fast")
+    void givenEmptyCurrencyList_whenConstructed_thenShouldFailFast() {
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> new CurrencyValidatorImpl(Set::of))
+                .withMessage("Currency list is empty.");
+    }
+}